@@ -0,0 +1,74 @@
+package com.sushi.api.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-capacity open-addressing map from product id to a {@link LongAdder}, safe for concurrent
+ * increments without locks. Slots are claimed with a CAS on the key and never freed, so a table
+ * is meant to live for one time bucket and then be dropped whole. Product ids must be positive.
+ */
+public final class ProductCounterTable {
+    private static final long EMPTY = 0;
+
+    private final AtomicLongArray keys;
+    private final AtomicReferenceArray<LongAdder> counts;
+    private final int mask;
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long productId, long count);
+    }
+
+    public ProductCounterTable(int maxProducts) {
+        // At most half full, so probe sequences stay short.
+        int capacity = Integer.highestOneBit(Math.max(2, maxProducts) * 4 - 1);
+        this.keys = new AtomicLongArray(capacity);
+        this.counts = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /** Returns false when the table has no room left for a new product. */
+    public boolean add(long productId, long quantity) {
+        if (productId <= EMPTY) {
+            throw new IllegalArgumentException("Product ids must be positive: " + productId);
+        }
+        int slot = spread(productId) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long key = keys.get(slot);
+            if (key == EMPTY) {
+                key = keys.compareAndSet(slot, EMPTY, productId) ? productId : keys.get(slot);
+            }
+            if (key == productId) {
+                counter(slot).add(quantity);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int slot = 0; slot <= mask; slot++) {
+            LongAdder count = counts.get(slot);
+            if (count != null) {
+                visitor.visit(keys.get(slot), count.sum());
+            }
+        }
+    }
+
+    private LongAdder counter(int slot) {
+        LongAdder count = counts.get(slot);
+        if (count == null) {
+            counts.compareAndSet(slot, null, new LongAdder());
+            count = counts.get(slot);
+        }
+        return count;
+    }
+
+    private static int spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
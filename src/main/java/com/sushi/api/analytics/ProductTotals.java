@@ -0,0 +1,107 @@
+package com.sushi.api.analytics;
+
+/**
+ * Single-threaded scratch map that sums the per-bucket counts of a window and picks the top K
+ * with a bounded min-heap, all on primitive arrays.
+ */
+public final class ProductTotals implements ProductCounterTable.Visitor {
+    private final long[] ids;
+    private final long[] totals;
+    private final int mask;
+    private int size;
+
+    public ProductTotals(int maxProducts) {
+        int capacity = Integer.highestOneBit(Math.max(2, maxProducts) * 4 - 1);
+        this.ids = new long[capacity];
+        this.totals = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public void visit(long productId, long count) {
+        int slot = (int) ((productId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (ids[slot] != 0 && ids[slot] != productId) {
+            slot = (slot + 1) & mask;
+        }
+        if (ids[slot] == 0) {
+            if (size * 2 >= ids.length) {
+                return;
+            }
+            ids[slot] = productId;
+            size++;
+        }
+        totals[slot] += count;
+    }
+
+    /** Product ids and totals of the {@code k} best sellers, best first, as [id, total] pairs. */
+    public long[][] top(int k) {
+        long[] heapIds = new long[k];
+        long[] heapTotals = new long[k];
+        int heapSize = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (ids[slot] == 0 || totals[slot] <= 0) {
+                continue;
+            }
+            if (heapSize < k) {
+                heapIds[heapSize] = ids[slot];
+                heapTotals[heapSize] = totals[slot];
+                siftUp(heapIds, heapTotals, heapSize++);
+            } else if (isBefore(ids[slot], totals[slot], heapIds[0], heapTotals[0])) {
+                heapIds[0] = ids[slot];
+                heapTotals[0] = totals[slot];
+                siftDown(heapIds, heapTotals, heapSize);
+            }
+        }
+
+        long[][] result = new long[heapSize][];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = new long[]{heapIds[0], heapTotals[0]};
+            heapIds[0] = heapIds[i];
+            heapTotals[0] = heapTotals[i];
+            siftDown(heapIds, heapTotals, i);
+        }
+        return result;
+    }
+
+    // Higher totals rank first; ties go to the lower product id so results are stable.
+    private static boolean isBefore(long id, long total, long otherId, long otherTotal) {
+        return total > otherTotal || (total == otherTotal && id < otherId);
+    }
+
+    private static void siftUp(long[] ids, long[] totals, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!isBefore(ids[parent], totals[parent], ids[i], totals[i])) {
+                break;
+            }
+            swap(ids, totals, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] ids, long[] totals, int size) {
+        int i = 0;
+        while (true) {
+            int worst = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (isBefore(ids[worst], totals[worst], ids[child], totals[child])) {
+                    worst = child;
+                }
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(ids, totals, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(long[] ids, long[] totals, int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        long total = totals[a];
+        totals[a] = totals[b];
+        totals[b] = total;
+    }
+}
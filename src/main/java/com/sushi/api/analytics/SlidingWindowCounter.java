@@ -0,0 +1,53 @@
+package com.sushi.api.analytics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-product counts over the last {@code buckets} time buckets, kept in a ring. Callers pass the
+ * bucket number (time divided by the bucket width); the first write to a new bucket swaps a fresh
+ * table into its ring slot, which drops the counts that fell out of the window. Negative quantities
+ * only correct a bucket that exists; they never start one.
+ */
+public final class SlidingWindowCounter {
+    private final AtomicReferenceArray<Bucket> ring;
+    private final int maxProducts;
+
+    private record Bucket(long number, ProductCounterTable counts) {}
+
+    public SlidingWindowCounter(int buckets, int maxProducts) {
+        this.ring = new AtomicReferenceArray<>(buckets);
+        this.maxProducts = maxProducts;
+    }
+
+    /**
+     * Returns false when the bucket has already expired, has no room for a new product or, for a
+     * negative quantity, does not exist.
+     */
+    public boolean add(long bucketNumber, long productId, long quantity) {
+        int slot = (int) Math.floorMod(bucketNumber, (long) ring.length());
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.number() == bucketNumber) {
+                return bucket.counts().add(productId, quantity);
+            }
+            if (bucket != null && bucket.number() > bucketNumber || quantity < 0) {
+                return false;
+            }
+            Bucket fresh = new Bucket(bucketNumber, new ProductCounterTable(maxProducts));
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh.counts().add(productId, quantity);
+            }
+        }
+    }
+
+    /** Visits the counts of every bucket inside the window ending at {@code currentBucket}. */
+    public void forEach(long currentBucket, ProductCounterTable.Visitor visitor) {
+        long oldest = currentBucket - ring.length() + 1;
+        for (int slot = 0; slot < ring.length(); slot++) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.number() >= oldest && bucket.number() <= currentBucket) {
+                bucket.counts().forEach(visitor);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.sushi.api.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ArchivedOrder(long id, LocalDateTime orderDate, UUID customerId, long deliveryAddressId, long totalAmount,
+                            long version, String status, List<ArchivedOrderItem> items) {}
@@ -0,0 +1,3 @@
+package com.sushi.api.archive;
+
+public record ArchivedOrderItem(long id, long productId, String productName, int quantity, long price, long totalPrice) {}
@@ -0,0 +1,470 @@
+package com.sushi.api.archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Columnar file holding one month of archived orders, written as a sequence of row groups of at
+ * most {@link #ROW_GROUP_ORDERS} orders followed by a footer index. The writer only ever holds one
+ * row group in memory, so a month of any size is exported in bounded memory.
+ *
+ * <p>The footer carries, per row group, its position, row counts, the min/max of order id, order
+ * date and customer id, and a bloom filter of the customer ids, since a month's customers span
+ * nearly the whole id range and the min/max alone would rule out almost nothing. A lookup reads the
+ * footer once and decompresses only the row groups that can match. Each row group is
+ * gzip-compressed and stores each column contiguously; ids and dates are delta-encoded as
+ * variable-length integers, which is what makes the sorted columns compress well. Items are stored
+ * in order id order, grouped by order.
+ *
+ * <p>Layout: magic, row groups, footer, footer offset, magic.
+ */
+public final class OrderArchiveFile {
+    public static final int ROW_GROUP_ORDERS = 10_000;
+    private static final int MAGIC = 0x534F4131; // "SOA1"
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int FILTER_BITS_PER_CUSTOMER = 10;
+    private static final int FILTER_HASHES = 7;
+
+    public record RowGroup(long offset, int length, int orders, int items, long minOrderId, long maxOrderId,
+                           LocalDateTime minOrderDate, LocalDateTime maxOrderDate, UUID minCustomer, UUID maxCustomer,
+                           long[] customerFilter) {
+
+        public boolean mayContainOrder(long orderId) {
+            return orderId >= minOrderId && orderId <= maxOrderId;
+        }
+
+        public boolean mayContainCustomer(UUID customerId) {
+            return customerId.compareTo(minCustomer) >= 0 && customerId.compareTo(maxCustomer) <= 0
+                    && filterContains(customerFilter, customerId);
+        }
+    }
+
+    public record Index(List<RowGroup> rowGroups) {
+
+        public int orders() {
+            return rowGroups.stream().mapToInt(RowGroup::orders).sum();
+        }
+
+        public boolean mayContainOrder(long orderId) {
+            return rowGroups.stream().anyMatch(group -> group.mayContainOrder(orderId));
+        }
+
+        public boolean mayContainCustomer(UUID customerId) {
+            return rowGroups.stream().anyMatch(group -> group.mayContainCustomer(customerId));
+        }
+
+        /**
+         * Earliest order date in the file, or null when it holds no orders.
+         */
+        public LocalDateTime minOrderDate() {
+            return rowGroups.stream().map(RowGroup::minOrderDate).min(Comparator.naturalOrder()).orElse(null);
+        }
+    }
+
+    /**
+     * Appends orders to a file one row group at a time. Closing it writes the last row group and
+     * the footer; a file whose writer was not closed has no footer and cannot be read.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final int rowGroupOrders;
+        private final List<ArchivedOrder> pending = new ArrayList<>();
+        private final List<RowGroup> rowGroups = new ArrayList<>();
+        private long position;
+        private int orders;
+
+        private Writer(Path file, int rowGroupOrders) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            this.rowGroupOrders = rowGroupOrders;
+            out.writeInt(MAGIC);
+            position = Integer.BYTES;
+        }
+
+        public void add(ArchivedOrder order) throws IOException {
+            pending.add(order);
+            orders++;
+            if (pending.size() >= rowGroupOrders) {
+                flushRowGroup();
+            }
+        }
+
+        public int orders() {
+            return orders;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (out) {
+                flushRowGroup();
+                long footerOffset = position;
+                out.writeInt(rowGroups.size());
+                for (RowGroup group : rowGroups) {
+                    writeRowGroup(out, group);
+                }
+                out.writeLong(footerOffset);
+                out.writeInt(MAGIC);
+            }
+        }
+
+        private void flushRowGroup() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (DataOutputStream body = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(buffer)))) {
+                writeColumns(body, pending);
+            }
+            rowGroups.add(describe(position, buffer.size(), pending));
+            buffer.writeTo(out);
+            position += buffer.size();
+            pending.clear();
+        }
+    }
+
+    private OrderArchiveFile() {}
+
+    public static Writer writer(Path file) throws IOException {
+        return new Writer(file, ROW_GROUP_ORDERS);
+    }
+
+    public static Writer writer(Path file, int rowGroupOrders) throws IOException {
+        return new Writer(file, rowGroupOrders);
+    }
+
+    public static void write(Path file, List<ArchivedOrder> orders) throws IOException {
+        List<ArchivedOrder> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparingLong(ArchivedOrder::id));
+        try (Writer writer = writer(file)) {
+            for (ArchivedOrder order : sorted) {
+                writer.add(order);
+            }
+        }
+    }
+
+    public static Index readIndex(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER_BYTES || readBytes(channel, 0, Integer.BYTES).getInt() != MAGIC) {
+                throw new IOException("Not an order archive file");
+            }
+            ByteBuffer trailer = readBytes(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < Integer.BYTES || footerOffset > size - TRAILER_BYTES) {
+                throw new IOException("Order archive file has no footer");
+            }
+            ByteBuffer footer = readBytes(channel, footerOffset, (int) (size - TRAILER_BYTES - footerOffset));
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer.array()));
+            RowGroup[] rowGroups = new RowGroup[in.readInt()];
+            for (int i = 0; i < rowGroups.length; i++) {
+                rowGroups[i] = readRowGroup(in);
+            }
+            return new Index(List.of(rowGroups));
+        }
+    }
+
+    public static List<ArchivedOrder> read(Path file) throws IOException {
+        return read(file, readIndex(file), group -> true);
+    }
+
+    /**
+     * Orders of the row groups the predicate accepts; the other row groups are not decompressed.
+     */
+    public static List<ArchivedOrder> read(Path file, Index index, Predicate<RowGroup> rowGroups) throws IOException {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (RowGroup group : index.rowGroups()) {
+                if (rowGroups.test(group)) {
+                    ByteBuffer bytes = readBytes(channel, group.offset(), group.length());
+                    InputStream body = new GZIPInputStream(new ByteArrayInputStream(bytes.array()));
+                    orders.addAll(readColumns(new DataInputStream(new BufferedInputStream(body)), group));
+                }
+            }
+        }
+        return orders;
+    }
+
+    private static ByteBuffer readBytes(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Order archive file is truncated");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static RowGroup describe(long offset, int length, List<ArchivedOrder> orders) {
+        int items = 0;
+        long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE;
+        LocalDateTime minDate = null, maxDate = null;
+        UUID minCustomer = null, maxCustomer = null;
+        Set<UUID> customers = new HashSet<>();
+        for (ArchivedOrder order : orders) {
+            items += order.items().size();
+            minId = Math.min(minId, order.id());
+            maxId = Math.max(maxId, order.id());
+            if (minDate == null || order.orderDate().isBefore(minDate)) minDate = order.orderDate();
+            if (maxDate == null || order.orderDate().isAfter(maxDate)) maxDate = order.orderDate();
+            if (minCustomer == null || order.customerId().compareTo(minCustomer) < 0) minCustomer = order.customerId();
+            if (maxCustomer == null || order.customerId().compareTo(maxCustomer) > 0) maxCustomer = order.customerId();
+            customers.add(order.customerId());
+        }
+        long[] filter = new long[Math.max(1, (customers.size() * FILTER_BITS_PER_CUSTOMER + 63) / 64)];
+        for (UUID customer : customers) {
+            for (int i = 0; i < FILTER_HASHES; i++) {
+                long bit = filterBit(customer, i, filter.length * 64L);
+                filter[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+        return new RowGroup(offset, length, orders.size(), items, minId, maxId, minDate, maxDate,
+                minCustomer, maxCustomer, filter);
+    }
+
+    private static void writeRowGroup(DataOutputStream out, RowGroup group) throws IOException {
+        out.writeLong(group.offset());
+        out.writeInt(group.length());
+        out.writeInt(group.orders());
+        out.writeInt(group.items());
+        out.writeLong(group.minOrderId());
+        out.writeLong(group.maxOrderId());
+        out.writeLong(toMicros(group.minOrderDate()));
+        out.writeLong(toMicros(group.maxOrderDate()));
+        writeUuid(out, group.minCustomer());
+        writeUuid(out, group.maxCustomer());
+        out.writeInt(group.customerFilter().length);
+        for (long word : group.customerFilter()) {
+            out.writeLong(word);
+        }
+    }
+
+    private static RowGroup readRowGroup(DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        int length = in.readInt(), orders = in.readInt(), items = in.readInt();
+        long minOrderId = in.readLong(), maxOrderId = in.readLong();
+        LocalDateTime minOrderDate = fromMicros(in.readLong()), maxOrderDate = fromMicros(in.readLong());
+        UUID minCustomer = readUuid(in), maxCustomer = readUuid(in);
+        long[] filter = new long[in.readInt()];
+        for (int i = 0; i < filter.length; i++) {
+            filter[i] = in.readLong();
+        }
+        return new RowGroup(offset, length, orders, items, minOrderId, maxOrderId, minOrderDate, maxOrderDate,
+                minCustomer, maxCustomer, filter);
+    }
+
+    private static boolean filterContains(long[] filter, UUID customer) {
+        for (int i = 0; i < FILTER_HASHES; i++) {
+            long bit = filterBit(customer, i, filter.length * 64L);
+            if ((filter[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Double hashing: the i-th probe is h1 + i * h2, which behaves like independent hash functions.
+    private static long filterBit(UUID customer, int i, long bits) {
+        long h1 = mix(customer.getMostSignificantBits());
+        long h2 = mix(customer.getLeastSignificantBits()) | 1;
+        return Math.floorMod(h1 + i * h2, bits);
+    }
+
+    // Finalizer of SplitMix64; random UUIDs are already well mixed, but ids from other sources may not be.
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static void writeColumns(DataOutputStream out, List<ArchivedOrder> orders) throws IOException {
+        long previous = 0;
+        for (ArchivedOrder order : orders) {
+            writeVarLong(out, order.id() - previous);
+            previous = order.id();
+        }
+        previous = 0;
+        for (ArchivedOrder order : orders) {
+            long date = toMicros(order.orderDate());
+            writeVarLong(out, date - previous);
+            previous = date;
+        }
+        for (ArchivedOrder order : orders) {
+            writeUuid(out, order.customerId());
+        }
+        for (ArchivedOrder order : orders) {
+            writeVarLong(out, order.deliveryAddressId());
+        }
+        for (ArchivedOrder order : orders) {
+            writeVarLong(out, order.totalAmount());
+        }
+        for (ArchivedOrder order : orders) {
+            writeVarLong(out, order.version());
+        }
+        // Statuses repeat a handful of values, so they are stored as indexes into a dictionary.
+        List<String> dictionary = orders.stream().map(ArchivedOrder::status).distinct().toList();
+        out.writeByte(dictionary.size());
+        for (String status : dictionary) {
+            out.writeUTF(status);
+        }
+        for (ArchivedOrder order : orders) {
+            out.writeByte(dictionary.indexOf(order.status()));
+        }
+        for (ArchivedOrder order : orders) {
+            writeVarLong(out, order.items().size());
+        }
+
+        previous = 0;
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                writeVarLong(out, item.id() - previous);
+                previous = item.id();
+            }
+        }
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                writeVarLong(out, item.productId());
+            }
+        }
+        // Product names repeat across a menu's worth of products, so they get a dictionary too;
+        // -1 stands for a product that was gone when the month was exported.
+        Map<String, Integer> names = new LinkedHashMap<>();
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                if (item.productName() != null) {
+                    names.putIfAbsent(item.productName(), names.size());
+                }
+            }
+        }
+        writeVarLong(out, names.size());
+        for (String name : names.keySet()) {
+            out.writeUTF(name);
+        }
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                writeVarLong(out, item.productName() != null ? names.get(item.productName()) : -1);
+            }
+        }
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                writeVarLong(out, item.quantity());
+            }
+        }
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                writeVarLong(out, item.price());
+            }
+        }
+        for (ArchivedOrder order : orders) {
+            for (ArchivedOrderItem item : order.items()) {
+                writeVarLong(out, item.totalPrice());
+            }
+        }
+    }
+
+    private static List<ArchivedOrder> readColumns(DataInputStream in, RowGroup group) throws IOException {
+        int n = group.orders();
+        long[] ids = new long[n];
+        long[] dates = new long[n];
+        UUID[] customers = new UUID[n];
+        long[] addresses = new long[n];
+        long[] totals = new long[n];
+        long[] versions = new long[n];
+        String[] statuses = new String[n];
+        int[] itemCounts = new int[n];
+
+        long previous = 0;
+        for (int i = 0; i < n; i++) ids[i] = previous += readVarLong(in);
+        previous = 0;
+        for (int i = 0; i < n; i++) dates[i] = previous += readVarLong(in);
+        for (int i = 0; i < n; i++) customers[i] = readUuid(in);
+        for (int i = 0; i < n; i++) addresses[i] = readVarLong(in);
+        for (int i = 0; i < n; i++) totals[i] = readVarLong(in);
+        for (int i = 0; i < n; i++) versions[i] = readVarLong(in);
+        String[] dictionary = new String[in.readUnsignedByte()];
+        for (int i = 0; i < dictionary.length; i++) dictionary[i] = in.readUTF();
+        for (int i = 0; i < n; i++) statuses[i] = dictionary[in.readUnsignedByte()];
+        for (int i = 0; i < n; i++) itemCounts[i] = (int) readVarLong(in);
+
+        int m = group.items();
+        long[] itemIds = new long[m];
+        long[] products = new long[m];
+        String[] productNames = new String[m];
+        int[] quantities = new int[m];
+        long[] prices = new long[m];
+        long[] itemTotals = new long[m];
+        previous = 0;
+        for (int i = 0; i < m; i++) itemIds[i] = previous += readVarLong(in);
+        for (int i = 0; i < m; i++) products[i] = readVarLong(in);
+        String[] names = new String[(int) readVarLong(in)];
+        for (int i = 0; i < names.length; i++) names[i] = in.readUTF();
+        for (int i = 0; i < m; i++) {
+            int name = (int) readVarLong(in);
+            productNames[i] = name >= 0 ? names[name] : null;
+        }
+        for (int i = 0; i < m; i++) quantities[i] = (int) readVarLong(in);
+        for (int i = 0; i < m; i++) prices[i] = readVarLong(in);
+        for (int i = 0; i < m; i++) itemTotals[i] = readVarLong(in);
+
+        List<ArchivedOrder> orders = new ArrayList<>(n);
+        int item = 0;
+        for (int i = 0; i < n; i++) {
+            List<ArchivedOrderItem> items = new ArrayList<>(itemCounts[i]);
+            for (int j = 0; j < itemCounts[i]; j++, item++) {
+                items.add(new ArchivedOrderItem(itemIds[item], products[item], productNames[item], quantities[item],
+                        prices[item], itemTotals[item]));
+            }
+            orders.add(new ArchivedOrder(ids[i], fromMicros(dates[i]), customers[i], addresses[i], totals[i],
+                    versions[i], statuses[i], items));
+        }
+        return orders;
+    }
+
+    // Zigzag varint: small deltas of either sign take one or two bytes instead of eight.
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
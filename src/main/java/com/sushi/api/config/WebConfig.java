@@ -1,18 +1,35 @@
 package com.sushi.api.config;
 
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     @Value("${cors.allowed.origins}")
     private String[] allowedOrigins;
 
+    @Value("${streaming.async.timeout:2h}")
+    private Duration streamingTimeout;
+
+    @Value("${streaming.executor.threads:8}")
+    private int streamingThreads;
+
+    @Value("${streaming.executor.queue-capacity:32}")
+    private int streamingQueueCapacity;
+
+    // Deliberately not a bean: any Executor bean would replace Boot's applicationTaskExecutor.
+    private ThreadPoolTaskExecutor streamingExecutor;
+
     @Override
     public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
         configurer.favorParameter(true)
@@ -21,7 +38,30 @@ public class WebConfig implements WebMvcConfigurer {
                 .useRegisteredExtensionsOnly(false)
                 .defaultContentType(MediaType.APPLICATION_JSON)
                 .mediaType("json", MediaType.APPLICATION_JSON)
-                .mediaType("xml", MediaType.APPLICATION_XML);
+                .mediaType("xml", MediaType.APPLICATION_XML)
+                .mediaType("ndjson", MediaType.APPLICATION_NDJSON);
+    }
+
+    // The only async handlers are the StreamingResponseBody ones (CSV export, /list and NDJSON). They
+    // take as long as the data does to write, well past the container's 30 s default, and run on their
+    // own bounded pool so a few long exports cannot starve the application's task executor.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        streamingExecutor = new ThreadPoolTaskExecutor();
+        streamingExecutor.setThreadNamePrefix("streaming-");
+        streamingExecutor.setCorePoolSize(streamingThreads);
+        streamingExecutor.setMaxPoolSize(streamingThreads);
+        streamingExecutor.setQueueCapacity(streamingQueueCapacity);
+        streamingExecutor.initialize();
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(streamingTimeout.toMillis());
+    }
+
+    @PreDestroy
+    public void shutdownStreamingExecutor() {
+        if (streamingExecutor != null) {
+            streamingExecutor.shutdown();
+        }
     }
 
     @Override
@@ -0,0 +1,36 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.dto.analytics.SalesWindow;
+import com.sushi.api.model.dto.analytics.TopProductDTO;
+import com.sushi.api.services.TopProductsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/analytics", produces = {"application/json"})
+public class AnalyticsController {
+    @Autowired
+    private TopProductsService topProductsService;
+
+    @Operation(summary = "Get the best-selling products right now",
+            description = "Returns the products with the most items sold in the window, from in-memory counters. Counts restart with the application.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/top-products")
+    public ResponseEntity<List<TopProductDTO>> findTopProducts(@RequestParam(defaultValue = "LAST_HOUR") SalesWindow window,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(topProductsService.findTopProducts(window, limit));
+    }
+}
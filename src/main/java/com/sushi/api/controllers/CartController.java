@@ -0,0 +1,98 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.cart.CartCheckoutDTO;
+import com.sushi.api.model.dto.cart.CartDTO;
+import com.sushi.api.model.dto.cart.CartItemUpdateDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.services.CartService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/api/carts", produces = {"application/json"})
+public class CartController {
+    @Autowired
+    private CartService cartService;
+
+    @Operation(summary = "Get a customer's cart",
+            description = "Returns the customer's cart. Carts expire after a period without use.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cart retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Cart not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{customerId}")
+    public ResponseEntity<CartDTO> findCart(@PathVariable UUID customerId) {
+        return ResponseEntity.ok(cartService.findCart(customerId));
+    }
+
+    @Operation(summary = "Add an item to a cart",
+            description = "Adds the quantity to the product's line, creating the cart or the line when needed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item added successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or cart full"),
+            @ApiResponse(responseCode = "404", description = "Customer or product not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/{customerId}/items")
+    public ResponseEntity<CartDTO> addItem(@PathVariable UUID customerId, @Valid @RequestBody OrderItemRequestDTO dto) {
+        return ResponseEntity.ok(cartService.addItem(customerId, dto.productId(), dto.quantity()));
+    }
+
+    @Operation(summary = "Change the quantity of a cart item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Cart or item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/{customerId}/items/{productId}")
+    public ResponseEntity<CartDTO> updateItem(@PathVariable UUID customerId, @PathVariable Long productId,
+                                              @Valid @RequestBody CartItemUpdateDTO dto) {
+        return ResponseEntity.ok(cartService.updateItem(customerId, productId, dto.quantity()));
+    }
+
+    @Operation(summary = "Remove an item from a cart")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item removed successfully"),
+            @ApiResponse(responseCode = "404", description = "Cart or item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping("/{customerId}/items/{productId}")
+    public ResponseEntity<CartDTO> removeItem(@PathVariable UUID customerId, @PathVariable Long productId) {
+        return ResponseEntity.ok(cartService.removeItem(customerId, productId));
+    }
+
+    @Operation(summary = "Discard a cart")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cart discarded successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping("/{customerId}")
+    public ResponseEntity<Void> deleteCart(@PathVariable UUID customerId) {
+        cartService.deleteCart(customerId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Check out a cart",
+            description = "Places the cart as an order and removes it. The cart is kept when the order cannot be created.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Order created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or empty cart"),
+            @ApiResponse(responseCode = "404", description = "Cart, address or product not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/{customerId}/checkout")
+    public ResponseEntity<Order> checkout(@PathVariable UUID customerId, @Valid @RequestBody CartCheckoutDTO dto) {
+        return new ResponseEntity<>(cartService.checkout(customerId, dto.deliveryAddressId()), HttpStatus.CREATED);
+    }
+}
@@ -1,8 +1,10 @@
 package com.sushi.api.controllers;
 
 import com.sushi.api.model.Category;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.category.CategoryRequestDTO;
 import com.sushi.api.model.dto.category.CategoryUpdateDTO;
+import com.sushi.api.services.MenuCacheService;
 import com.sushi.api.services.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,6 +27,8 @@ import java.util.List;
 public class CategoryController {
     @Autowired
     private CategoryService categoryService;
+    @Autowired
+    private MenuCacheService menuCacheService;
 
     @Operation(summary = "Get all categories (non-pageable)",
             description = "Returns a list of all categories without pagination.")
@@ -34,7 +39,20 @@ public class CategoryController {
     })
     @GetMapping(value = "/list", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
     public ResponseEntity<List<Category>> listAllNonPageable() {
-        return new ResponseEntity<>(categoryService.listAllNonPageable(), HttpStatus.OK);
+        return new ResponseEntity<>(menuCacheService.listCategories(Pageable.unpaged()), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get all categories as NDJSON",
+            description = "Streams every category as newline-delimited JSON, one category per line. Selected with mediaType=ndjson.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> listAllNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(categoryService::writeAllNdjson);
     }
 
     @Operation(summary = "Get all categories (pageable)",
@@ -46,7 +64,20 @@ public class CategoryController {
     })
     @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
     public ResponseEntity<List<Category>> listAllPageable(Pageable pageable) {
-        return new ResponseEntity<>(categoryService.listAllPageable(pageable).getContent(), HttpStatus.OK);
+        return new ResponseEntity<>(menuCacheService.listCategories(pageable), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get all categories (cursor)",
+            description = "Returns categories in id order, one page at a time. Pass nextCursor from the previous page as cursor to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<Category>> scroll(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(categoryService.scroll(cursor, size));
     }
 
     @Operation(summary = "Get category by ID",
@@ -59,7 +90,7 @@ public class CategoryController {
     })
     @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
     public ResponseEntity<Category> findCategoryById(@PathVariable Long id) {
-        Category category = categoryService.findCategoryById(id);
+        Category category = menuCacheService.findCategory(id);
         return ResponseEntity.ok(category);
     }
 
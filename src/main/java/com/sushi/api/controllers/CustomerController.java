@@ -1,20 +1,26 @@
 package com.sushi.api.controllers;
 
 import com.sushi.api.model.Customer;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
+import com.sushi.api.model.dto.order.OrderHistoryDTO;
 import com.sushi.api.services.CustomerService;
+import com.sushi.api.services.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,6 +29,8 @@ import java.util.UUID;
 public class CustomerController {
     @Autowired
     private CustomerService customerService;
+    @Autowired
+    private OrderService orderService;
 
     @Operation(summary = "Get all customers (pageable)",
             description = "Returns a paginated list of customers.")
@@ -35,6 +43,19 @@ public class CustomerController {
         return new ResponseEntity<>(customerService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get all customers (cursor)",
+            description = "Returns customers in id order, one page at a time. Pass nextCursor from the previous page as cursor to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<Customer>> scroll(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(customerService.scroll(cursor, size));
+    }
+
     @Operation(summary = "Get all customers (non-pageable)",
             description = "Returns a list of all customers without pagination.")
     @ApiResponses(value = {
@@ -46,6 +67,19 @@ public class CustomerController {
         return new ResponseEntity<>(customerService.listAllNonPageable(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get all customers as NDJSON",
+            description = "Streams every customer as newline-delimited JSON, one customer per line. Selected with mediaType=ndjson.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> listAllNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(customerService::writeAllNdjson);
+    }
+
     @Operation(summary = "Get customer by ID",
             description = "Returns a customer by its ID.")
     @ApiResponses(value = {
@@ -59,6 +93,22 @@ public class CustomerController {
         return ResponseEntity.ok(customer);
     }
 
+    @Operation(summary = "Get a customer's order history",
+            description = "Returns the customer's orders, newest first. Pass nextBefore and nextBeforeId from the previous page to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/{id}/orders")
+    public ResponseEntity<OrderHistoryDTO> findCustomerOrders(@PathVariable UUID id,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                                              @RequestParam(required = false) Long beforeId,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.findCustomerOrders(id, before, beforeId, size));
+    }
+
     @Operation(summary = "Find customers by name",
             description = "Returns a list of customers matching the given name.")
     @ApiResponses(value = {
@@ -101,6 +151,7 @@ public class CustomerController {
             @ApiResponse(responseCode = "204", description = "Customer updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer changed since the given version, the body carries its current state"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping
@@ -0,0 +1,58 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.dto.dispatch.DeliveryTripDTO;
+import com.sushi.api.model.dto.dispatch.NeighborhoodQueueDTO;
+import com.sushi.api.services.DispatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/dispatch", produces = {"application/json"})
+public class DispatchController {
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Operation(summary = "List neighborhoods with orders waiting",
+            description = "Returns every neighborhood with READY orders waiting for a courier, longest waiting first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Neighborhoods retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/neighborhoods")
+    public ResponseEntity<List<NeighborhoodQueueDTO>> listNeighborhoods() {
+        return ResponseEntity.ok(dispatchService.listNeighborhoods());
+    }
+
+    @Operation(summary = "Take the next delivery trip",
+            description = "Hands a courier the orders of the next neighborhood whose batch is full or whose oldest order waited for the batching window, and moves them to OUT_FOR_DELIVERY.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trip taken successfully"),
+            @ApiResponse(responseCode = "204", description = "No batch is due yet"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/trips")
+    public ResponseEntity<DeliveryTripDTO> takeTrip() {
+        return dispatchService.dispatch()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @Operation(summary = "Complete a delivery trip",
+            description = "Marks every order of the trip as DELIVERED.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Trip completed successfully"),
+            @ApiResponse(responseCode = "404", description = "Trip not open"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/trips/{tripId}/complete")
+    public ResponseEntity<Void> completeTrip(@PathVariable Long tripId) {
+        dispatchService.complete(tripId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.sushi.api.controllers;
 
 import com.sushi.api.model.Employee;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.employee.EmployeeRequestDTO;
 import com.sushi.api.model.dto.employee.EmployeeUpdateDTO;
 import com.sushi.api.services.EmployeeService;
@@ -11,8 +12,10 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +38,19 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.listAllPageable(pageable).getContent(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get all employees (cursor)",
+            description = "Returns employees in id order, one page at a time. Pass nextCursor from the previous page as cursor to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<Employee>> scroll(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(employeeService.scroll(cursor, size));
+    }
+
     @Operation(summary = "Get all employees (non-pageable)",
             description = "Returns a list of all employees without pagination.")
     @ApiResponses(value = {
@@ -46,6 +62,19 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.listAllNonPageable(), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get all employees as NDJSON",
+            description = "Streams every employee as newline-delimited JSON, one employee per line. Selected with mediaType=ndjson.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> listAllNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeService::writeAllNdjson);
+    }
+
     @Operation(summary = "Get employee by ID",
             description = "Returns an employee by their ID.")
     @ApiResponses(value = {
@@ -0,0 +1,59 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.dto.kitchen.KitchenStationDTO;
+import com.sushi.api.model.dto.kitchen.KitchenTicketDTO;
+import com.sushi.api.services.KitchenScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/kitchen", produces = {"application/json"})
+public class KitchenController {
+    @Autowired
+    private KitchenScheduler kitchenScheduler;
+
+    @Operation(summary = "List kitchen stations",
+            description = "Returns every kitchen station with the number of tickets waiting for it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stations retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/stations")
+    public ResponseEntity<List<KitchenStationDTO>> listStations() {
+        return ResponseEntity.ok(kitchenScheduler.listStations());
+    }
+
+    @Operation(summary = "Claim the next ticket for a station",
+            description = "Returns the oldest waiting ticket for the station, taking one from a busier station of the same kind when its own queue is empty.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket claimed successfully"),
+            @ApiResponse(responseCode = "204", description = "No tickets waiting"),
+            @ApiResponse(responseCode = "404", description = "Station not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/stations/{station}/claim")
+    public ResponseEntity<KitchenTicketDTO> claimTicket(@PathVariable String station) {
+        return kitchenScheduler.claim(station)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @Operation(summary = "Complete a claimed ticket",
+            description = "Marks a claimed ticket as prepared. Completing the last ticket of an order moves it to READY.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Ticket completed successfully"),
+            @ApiResponse(responseCode = "404", description = "Ticket not claimed"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/tickets/{ticketId}/complete")
+    public ResponseEntity<Void> completeTicket(@PathVariable Long ticketId) {
+        kitchenScheduler.complete(ticketId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,48 +1,146 @@
 package com.sushi.api.controllers;
 
 import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.CursorPageDTO;
+import com.sushi.api.model.dto.order.OrderBatchResponseDTO;
+import com.sushi.api.model.dto.order.OrderHandleDTO;
+import com.sushi.api.model.dto.order.OrderPurgeDTO;
+import com.sushi.api.model.dto.order.OrderPurgeRequestDTO;
+import com.sushi.api.model.dto.order.OrderQuoteDTO;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order.OrderStatusUpdateDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.services.IdempotencyService;
+import com.sushi.api.services.OrderBatchService;
+import com.sushi.api.services.OrderDocumentService;
+import com.sushi.api.services.OrderExportService;
+import com.sushi.api.services.OrderPipelineService;
+import com.sushi.api.services.OrderPurgeService;
 import com.sushi.api.services.OrderService;
+import com.sushi.api.services.QuoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping(value = "/api/orders", produces = {"application/json"})
 public class OrderController {
     @Autowired
     private OrderService orderService;
+    @Autowired
+    private OrderBatchService orderBatchService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private OrderPipelineService orderPipelineService;
+    @Autowired
+    private OrderDocumentService orderDocumentService;
+    @Autowired
+    private QuoteService quoteService;
+    @Autowired
+    private OrderPurgeService orderPurgeService;
+    @Autowired
+    private OrderExportService orderExportService;
 
     @Operation(summary = "Get all orders (non-pageable)",
-            description = "Returns a list of all orders without pagination.")
+            description = "Returns a list of all orders without pagination, streamed from the stored order documents.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping(value = "/list")
-    public ResponseEntity<List<Order>> listAllNonPageable() {
-        return new ResponseEntity<>(orderService.listAllNonPageable(), HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> listAllNonPageable() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(orderDocumentService::writeAll);
+    }
+
+    @Operation(summary = "Get all orders as NDJSON",
+            description = "Streams every stored order document as newline-delimited JSON, one order per line. Selected with mediaType=ndjson.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> listAllNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderDocumentService::writeAllNdjson);
+    }
+
+    @Operation(summary = "Export orders as CSV",
+            description = "Streams one CSV line per order item for orders placed in [from, to), gzip-compressed when the client accepts it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders exported successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        orderExportService.validateRange(from, to);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders-" + from.toLocalDate() + "-" + to.toLocalDate() + ".csv\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            return response.body(out -> orderExportService.writeCsv(from, to, out));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                    orderExportService.writeCsv(from, to, gzip);
+                    gzip.finish();
+                });
     }
 
     @Operation(summary = "Get all orders (pageable)",
-            description = "Returns a paginated list of orders.")
+            description = "Returns a paginated list of orders, read from the stored order documents. "
+                    + "Orders can be sorted by id or orderDate.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort property"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<Order>> listAllPageable(Pageable pageable) {
-        return new ResponseEntity<>(orderService.listAllPageable(pageable).getContent(), HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> listAllPageable(Pageable pageable) {
+        Pageable documentPage = orderDocumentService.documentPage(pageable);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> orderDocumentService.writePage(documentPage, out));
+    }
+
+    @Operation(summary = "Get all orders (cursor)",
+            description = "Returns orders in id order, one page at a time. Pass nextCursor from the previous page as cursor to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<Order>> scroll(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.scroll(cursor, size));
     }
 
     @Operation(summary = "Get order by ID",
@@ -59,15 +157,72 @@ public class OrderController {
     }
 
     @Operation(summary = "Create a new order",
-            description = "Create a new order with the provided details.")
+            description = "Create a new order with the provided details. Requests repeated with the same Idempotency-Key header return the order created by the first one.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody OrderRequestDTO dto) {
-        return new ResponseEntity<>(orderService.createOrder(dto), HttpStatus.CREATED);
+    public ResponseEntity<Order> createOrder(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                             @Valid @RequestBody OrderRequestDTO dto) {
+        Order order = idempotencyKey == null
+                ? orderService.createOrder(dto)
+                : idempotencyService.createOrder(idempotencyKey, dto);
+        return new ResponseEntity<>(order, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Price an order without placing it",
+            description = "Returns the line totals and the order total at current prices, read from memory. Quotes are not binding; orders are priced again when placed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order priced successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/quote")
+    public ResponseEntity<OrderQuoteDTO> quoteOrder(@Valid @RequestBody OrderRequestDTO dto) {
+        return ResponseEntity.ok(quoteService.quote(dto));
+    }
+
+    @Operation(summary = "Accept an order for asynchronous processing",
+            description = "Queue a new order and return a handle that can be polled until the order is created.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Order accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "503", description = "Order intake is full, retry later"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/async")
+    public ResponseEntity<OrderHandleDTO> acceptOrder(@Valid @RequestBody OrderRequestDTO dto) {
+        OrderHandleDTO handle = orderPipelineService.accept(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/async/" + handle.handle()))
+                .body(handle);
+    }
+
+    @Operation(summary = "Get an asynchronously processed order by handle",
+            description = "Returns the progress of an order accepted for asynchronous processing.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order handle retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Order handle not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/async/{handle}")
+    public ResponseEntity<OrderHandleDTO> findOrderHandle(@PathVariable UUID handle) {
+        return ResponseEntity.ok(orderPipelineService.findOrderHandle(handle));
+    }
+
+    @Operation(summary = "Import a batch of orders",
+            description = "Create orders from a JSON array or newline-delimited JSON body, returning the result of each order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-order results"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/batch", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<OrderBatchResponseDTO> createOrders(InputStream body) throws IOException {
+        return ResponseEntity.ok(orderBatchService.importOrders(body));
     }
 
     @Operation(summary = "Update an existing order",
@@ -76,6 +231,7 @@ public class OrderController {
             @ApiResponse(responseCode = "200", description = "Order updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "409", description = "Order changed since the given version, the body carries its current state"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping
@@ -84,6 +240,19 @@ public class OrderController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Update the status of an order",
+            description = "Move an order forward through RECEIVED, PREPARING, READY, OUT_FOR_DELIVERY and DELIVERED.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order status updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or the order cannot move back to that status"),
+            @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/status")
+    public ResponseEntity<Order> updateOrderStatus(@Valid @RequestBody OrderStatusUpdateDTO dto) {
+        return ResponseEntity.ok(orderService.updateStatus(dto.id(), dto.status()));
+    }
+
     @Operation(summary = "Delete an order by ID",
             description = "Delete an order by its ID.")
     @ApiResponses(value = {
@@ -96,4 +265,31 @@ public class OrderController {
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Purge orders in bulk",
+            description = "Start deleting every order matching all given criteria (ID list, customer, date range) in chunks, returning a handle to poll for progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Purge started"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or no criteria given"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/purge")
+    public ResponseEntity<OrderPurgeDTO> purgeOrders(@Valid @RequestBody OrderPurgeRequestDTO dto) {
+        OrderPurgeDTO purge = orderPurgeService.startPurge(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/purge/" + purge.handle()))
+                .body(purge);
+    }
+
+    @Operation(summary = "Get the progress of an order purge",
+            description = "Returns how many orders a purge matched and has deleted so far.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purge retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Purge not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/purge/{handle}")
+    public ResponseEntity<OrderPurgeDTO> findPurge(@PathVariable UUID handle) {
+        return ResponseEntity.ok(orderPurgeService.findPurge(handle));
+    }
 }
\ No newline at end of file
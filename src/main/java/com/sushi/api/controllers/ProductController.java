@@ -2,8 +2,10 @@ package com.sushi.api.controllers;
 
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.product.ProductRequestDTO;
 import com.sushi.api.model.dto.product.ProductUpdateDTO;
+import com.sushi.api.services.MenuCacheService;
 import com.sushi.api.services.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,6 +26,8 @@ import java.util.List;
 public class ProductController {
     @Autowired
     private ProductService productService;
+    @Autowired
+    private MenuCacheService menuCacheService;
 
     @Operation(summary = "Get all products (non-pageable)",
             description = "Retrieve a list of all products without pagination.")
@@ -32,7 +37,20 @@ public class ProductController {
     })
     @GetMapping(value = "/list")
     public ResponseEntity<List<Product>> listAllNonPageable() {
-        return new ResponseEntity<>(productService.listAllNonPageable(), HttpStatus.OK);
+        return new ResponseEntity<>(menuCacheService.listProducts(Pageable.unpaged()), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get all products as NDJSON",
+            description = "Streams every product as newline-delimited JSON, one product per line. Selected with mediaType=ndjson.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/list", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> listAllNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productService::writeAllNdjson);
     }
 
     @Operation(summary = "Get all products (pageable)",
@@ -43,7 +61,20 @@ public class ProductController {
     })
     @GetMapping
     public ResponseEntity<List<Product>> listAllPageable(Pageable pageable) {
-        return new ResponseEntity<>(productService.listAllPageable(pageable).getContent(), HttpStatus.OK);
+        return new ResponseEntity<>(menuCacheService.listProducts(pageable), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get all products (cursor)",
+            description = "Returns products in id order, one page at a time. Pass nextCursor from the previous page as cursor to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<Product>> scroll(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.scroll(cursor, size));
     }
 
     @Operation(summary = "Get product by ID",
@@ -55,7 +86,7 @@ public class ProductController {
     })
     @GetMapping(value = "/{id}")
     public ResponseEntity<Product> findProductById(@PathVariable Long id) {
-        Product product = productService.findProductById(id);
+        Product product = menuCacheService.findProduct(id);
         return ResponseEntity.ok(product);
     }
 
@@ -88,6 +119,7 @@ public class ProductController {
             @ApiResponse(responseCode = "200", description = "Product updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "409", description = "Product changed since the given version, the body carries its current state"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping
@@ -0,0 +1,69 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.dto.report.CategorySalesDTO;
+import com.sushi.api.model.dto.report.ProductSalesDTO;
+import com.sushi.api.model.dto.report.SalesBucketDTO;
+import com.sushi.api.model.dto.report.SalesPeriod;
+import com.sushi.api.services.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/reports", produces = {"application/json"})
+public class ReportController {
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Operation(summary = "Get revenue over time",
+            description = "Returns revenue, order count and items sold per hour or day in [from, to), read from the sales rollups.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sales retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesBucketDTO>> findSales(@RequestParam(defaultValue = "DAY") SalesPeriod period,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesRollupService.findSales(period, from, to));
+    }
+
+    @Operation(summary = "Get sales per product",
+            description = "Returns revenue and items sold per product in [from, to), best sellers first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sales retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/sales/products")
+    public ResponseEntity<List<ProductSalesDTO>> findProductSales(@RequestParam(defaultValue = "DAY") SalesPeriod period,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesRollupService.findProductSales(period, from, to));
+    }
+
+    @Operation(summary = "Get sales per category",
+            description = "Returns revenue and items sold per category in [from, to). A product in several categories counts towards each.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sales retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/sales/categories")
+    public ResponseEntity<List<CategorySalesDTO>> findCategorySales(@RequestParam(defaultValue = "DAY") SalesPeriod period,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesRollupService.findCategorySales(period, from, to));
+    }
+}
@@ -0,0 +1,3 @@
+package com.sushi.api.events;
+
+public record CategoryChangedEvent(Long categoryId) {}
@@ -0,0 +1,5 @@
+package com.sushi.api.events;
+
+import java.util.UUID;
+
+public record CustomerChangedEvent(UUID customerId) {}
@@ -0,0 +1,32 @@
+package com.sushi.api.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Posts each batch as a JSON array to a webhook. Any non-2xx answer throws, which keeps the batch
+ * in the outbox for the next poll.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+    private final RestClient restClient;
+
+    public HttpOutboxSink(RestClient.Builder restClientBuilder, @Value("${orders.outbox.http.url}") String url) {
+        this.restClient = restClientBuilder.baseUrl(url).build();
+    }
+
+    @Override
+    public void publish(List<OrderEventMessage> messages) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
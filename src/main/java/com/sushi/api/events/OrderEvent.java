@@ -0,0 +1,13 @@
+package com.sushi.api.events;
+
+import com.sushi.api.model.Order;
+
+/**
+ * A change to an order. {@code previous} is only set for {@link OrderEventType#UPDATED} and holds
+ * the order as it was before the replace.
+ */
+public record OrderEvent(OrderEventType type, Order order, OrderSnapshot previous) {
+    public OrderEvent(OrderEventType type, Order order) {
+        this(type, order, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sushi.api.events;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+public record OrderEventMessage(Long id, OrderEventType type, Long orderId, LocalDateTime occurredAt,
+                                @JsonRawValue String payload) {}
@@ -0,0 +1,8 @@
+package com.sushi.api.events;
+
+public enum OrderEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,26 @@
+package com.sushi.api.events;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The sales-relevant state of an order at one point in time. Items are changed in place when an
+ * order is replaced, so the state before the change has to be copied out first.
+ */
+public record OrderSnapshot(LocalDateTime orderDate, long totalAmount, List<Line> lines) {
+    public record Line(Long itemId, Long productId, int quantity, long totalPrice) {}
+
+    public static OrderSnapshot of(Order order) {
+        List<Line> lines = order.getItems().stream()
+                .map(OrderSnapshot::line)
+                .toList();
+        return new OrderSnapshot(order.getOrderDate(), order.getTotalAmount(), lines);
+    }
+
+    private static Line line(OrderItem item) {
+        return new Line(item.getId(), item.getProduct().getId(), item.getQuantity(), item.getTotalPrice());
+    }
+}
@@ -0,0 +1,10 @@
+package com.sushi.api.events;
+
+import java.util.List;
+
+/**
+ * Orders deleted by one chunk of a bulk purge, which publishes this instead of an
+ * {@link OrderEvent} per order. {@code recent} holds the orders placed within the last day, the
+ * ones in-memory sales figures may still count.
+ */
+public record OrdersPurgedEvent(List<Long> orderIds, List<OrderSnapshot> recent) {}
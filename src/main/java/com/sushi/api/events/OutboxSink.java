@@ -0,0 +1,13 @@
+package com.sushi.api.events;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the order events drained from the outbox. A batch is removed from the outbox
+ * only when {@link #publish} returns, so an implementation must throw if any message was not
+ * delivered; the whole batch is then retried and consumers may see a message more than once.
+ */
+public interface OutboxSink {
+    void publish(List<OrderEventMessage> messages) throws IOException;
+}
@@ -0,0 +1,5 @@
+package com.sushi.api.events;
+
+import com.sushi.api.model.Product;
+
+public record ProductChangedEvent(Product product, boolean deleted) {}
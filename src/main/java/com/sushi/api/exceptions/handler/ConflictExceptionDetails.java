@@ -0,0 +1,16 @@
+package com.sushi.api.exceptions.handler;
+
+import java.time.LocalDateTime;
+
+public class ConflictExceptionDetails extends ExceptionResponse {
+    private final Object current;
+
+    public ConflictExceptionDetails(String title, int status, String details, String developerMessage, LocalDateTime timestamp, Object current) {
+        super(title, status, details, developerMessage, timestamp);
+        this.current = current;
+    }
+
+    public Object getCurrent() {
+        return current;
+    }
+}
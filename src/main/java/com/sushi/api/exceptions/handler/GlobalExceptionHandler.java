@@ -1,8 +1,13 @@
 package com.sushi.api.exceptions.handler;
 
 import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.exceptions.ServiceUnavailableException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -40,6 +45,55 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ConflictExceptionDetails> handlerConflictException(ConflictException ex) {
+        ConflictExceptionDetails response = new ConflictExceptionDetails(
+                "Conflict Exception",
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                ex.getClass().getName(),
+                LocalDateTime.now(),
+                ex.getCurrent());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(UnprocessableEntityException.class)
+    public ResponseEntity<ExceptionResponse> handlerUnprocessableEntityException(UnprocessableEntityException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Unprocessable Entity Exception",
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                ex.getClass().getName(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> handlerServiceUnavailableException(ServiceUnavailableException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Service Unavailable Exception",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                ex.getClass().getName(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ExceptionResponse> handlerTaskRejectedException(TaskRejectedException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Service Unavailable Exception",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Too many streaming requests are in progress, try again shortly.",
+                ex.getClass().getName(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ExceptionResponse> handlerMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
         ExceptionResponse response = new ExceptionResponse(
@@ -0,0 +1,55 @@
+package com.sushi.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a tracked
+ * transaction is running and records the total in the {@code orders.write.queries} summary
+ * once the transaction completes, so the flush on commit is included in the count.
+ */
+@Component
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInspector(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    public void track(String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || COUNTER.get() != null) {
+            return;
+        }
+
+        int[] counter = new int[1];
+        COUNTER.set(counter);
+
+        DistributionSummary summary = DistributionSummary.builder("orders.write.queries")
+                .description("SQL statements issued per order write transaction")
+                .tag("operation", operation)
+                .register(meterRegistry);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                COUNTER.remove();
+                summary.record(counter[0]);
+            }
+        });
+    }
+}
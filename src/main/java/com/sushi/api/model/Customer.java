@@ -24,6 +24,8 @@ public class Customer implements Serializable {
     @JsonIgnore
     @Column(nullable = false)
     private String password;
+    @Version
+    private Long version;
 
     @OneToOne(mappedBy = "customer", cascade = CascadeType.ALL)
     @JsonManagedReference
@@ -102,6 +104,14 @@ public class Customer implements Serializable {
         this.password = password;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -0,0 +1,115 @@
+package com.sushi.api.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey implements Persistable<IdempotencyKey.Key> {
+
+    // Scoped to the customer, so clients choosing keys independently cannot collide.
+    @Embeddable
+    public record Key(@Column(name = "customer_id") UUID customerId,
+                      @Column(name = "idempotency_key") String key) implements Serializable {}
+
+    @EmbeddedId
+    private Key key;
+    // SHA-256 of the request body.
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Keys are assigned by the client, so save() must always INSERT: a duplicate key has to
+    // fail on the primary key instead of being merged over the order it already points to.
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyKey() {}
+
+    public IdempotencyKey(Key key, String requestHash, Long orderId, LocalDateTime orderDate, LocalDateTime createdAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+        this.orderDate = orderDate;
+        this.createdAt = createdAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Key getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public void setKey(Key key) {
+        this.key = key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        IdempotencyKey that = (IdempotencyKey) object;
+        return Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+}
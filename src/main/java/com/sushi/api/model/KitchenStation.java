@@ -0,0 +1,7 @@
+package com.sushi.api.model;
+
+public enum KitchenStation {
+    SUSHI_BAR,
+    HOT_KITCHEN,
+    FRYER
+}
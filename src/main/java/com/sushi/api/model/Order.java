@@ -2,6 +2,7 @@ package com.sushi.api.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 
 import java.io.Serial;
@@ -13,19 +14,28 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "orders")
+@IdClass(OrderKey.class)
 public class Order implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
+    @Id
     @JsonFormat(pattern = "dd/MM/yyyy hh:mm")
-    @Column(name = "order_date", nullable = false)
+    @Column(name = "order_date", nullable = false, updatable = false)
     private LocalDateTime orderDate;
+    @JsonSerialize(using = Money.Serializer.class)
     @Column(name = "total_amount", nullable = false)
-    private Double totalAmount;
+    private long totalAmount;
+    @Version
+    private Long version;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status = OrderStatus.RECEIVED;
 
     @JsonIgnore
     @ManyToOne
@@ -34,7 +44,7 @@ public class Order implements Serializable {
     @ManyToOne
     @JoinColumn(name = "delivery_address_id", nullable = false)
     private Address deliveryAddress;
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<OrderItem> items = new ArrayList<>();
 
     public Order() {}
@@ -47,9 +57,12 @@ public class Order implements Serializable {
     }
 
     public void calculateTotalAmount() {
-        this.totalAmount = this.items.stream()
-                .mapToDouble(OrderItem::getTotalPrice)
-                .sum();
+        long total = 0;
+        // Indexed loop over primitive cents: no iterator, stream or boxing per call.
+        for (int i = 0, size = items.size(); i < size; i++) {
+            total = Math.addExact(total, items.get(i).getTotalPrice());
+        }
+        this.totalAmount = total;
     }
 
     public Long getId() {
@@ -92,14 +105,30 @@ public class Order implements Serializable {
         this.items = items;
     }
 
-    public Double getTotalAmount() {
+    public long getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(Double totalAmount) {
+    public void setTotalAmount(long totalAmount) {
         this.totalAmount = totalAmount;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
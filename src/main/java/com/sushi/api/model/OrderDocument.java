@@ -0,0 +1,55 @@
+package com.sushi.api.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "order_documents")
+public class OrderDocument {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private String document;
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public OrderDocument() {}
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public String getDocument() {
+        return document;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        OrderDocument that = (OrderDocument) object;
+        return Objects.equals(orderId, that.orderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId);
+    }
+}
@@ -1,9 +1,11 @@
 package com.sushi.api.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
@@ -11,37 +13,58 @@ import java.util.Objects;
 public class OrderItem implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id_seq")
+    @SequenceGenerator(name = "order_item_id_seq", sequenceName = "order_item_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Integer quantity;
+    @JsonSerialize(using = Money.Serializer.class)
     @Column(nullable = false)
-    private Double price;
+    private long price;
+    @JsonSerialize(using = Money.Serializer.class)
     @Column(nullable = false)
-    private Double totalPrice;
+    private long totalPrice;
 
     @JsonIgnore
     @ManyToOne
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Joined on the primary key of orders, (id, order_date), so loading an order's items is pruned
+    // to the order's month instead of probing the order_id index of every order_item partition.
     @JsonIgnore
     @ManyToOne
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumns({
+            @JoinColumn(name = "order_id", referencedColumnName = "id", nullable = false, updatable = false),
+            @JoinColumn(name = "order_date", referencedColumnName = "order_date", nullable = false, updatable = false)
+    })
     private Order order;
+    // Partition key of order_item, written through the order association above.
+    @JsonIgnore
+    @Column(name = "order_date", insertable = false, updatable = false)
+    private LocalDateTime orderDate;
+    // Written by the kitchen alone, so a replace of the order never overwrites it.
+    @JsonIgnore
+    @Column(name = "prepared_at", insertable = false, updatable = false)
+    private LocalDateTime preparedAt;
 
     public OrderItem() {}
 
-    public OrderItem(Long id, Integer quantity, Double price) {
+    public OrderItem(Long id, Integer quantity, long price) {
         this.id = id;
         this.quantity = quantity;
         this.price = price;
     }
 
+    @PrePersist
+    void copyOrderDate() {
+        this.orderDate = order.getOrderDate();
+    }
+
     public void calculateTotalPrice() {
-        if (price != null && quantity != null) {
-            this.totalPrice = price * quantity;
+        if (quantity != null) {
+            this.totalPrice = Math.multiplyExact(price, quantity.longValue());
         }
     }
 
@@ -61,13 +84,13 @@ public class OrderItem implements Serializable {
         this.quantity = quantity;
     }
 
-    public Double getPrice() {
+    public long getPrice() {
         return price;
     }
 
-    public void setPrice(Double price) {
-        if (price == null) {
-            throw new IllegalArgumentException("Price cannot be null");
+    public void setPrice(long price) {
+        if (price < 0) {
+            throw new IllegalArgumentException("Price cannot be negative");
         }
         this.price = price;
     }
@@ -88,11 +111,23 @@ public class OrderItem implements Serializable {
         this.order = order;
     }
 
-    public Double getTotalPrice() {
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public LocalDateTime getPreparedAt() {
+        return preparedAt;
+    }
+
+    public void setPreparedAt(LocalDateTime preparedAt) {
+        this.preparedAt = preparedAt;
+    }
+
+    public long getTotalPrice() {
         return totalPrice;
     }
 
-    public void setTotalPrice(Double totalPrice) {
+    public void setTotalPrice(long totalPrice) {
         this.totalPrice = totalPrice;
     }
 
@@ -0,0 +1,10 @@
+package com.sushi.api.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Primary key of {@link Order}. orders is partitioned by order date, so the date is part of the
+ * key and a lookup that carries it touches only the order's month.
+ */
+public record OrderKey(Long id, LocalDateTime orderDate) implements Serializable {}
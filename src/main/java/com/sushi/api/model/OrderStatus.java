@@ -0,0 +1,13 @@
+package com.sushi.api.model;
+
+public enum OrderStatus {
+    RECEIVED,
+    PREPARING,
+    READY,
+    OUT_FOR_DELIVERY,
+    DELIVERED;
+
+    public boolean canAdvanceTo(OrderStatus next) {
+        return next.ordinal() > ordinal();
+    }
+}
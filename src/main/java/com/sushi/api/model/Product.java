@@ -1,6 +1,7 @@
 package com.sushi.api.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
@@ -20,14 +21,20 @@ public class Product implements Serializable {
     private String name;
     @Column(nullable = false)
     private String description;
+    @JsonSerialize(using = Money.Serializer.class)
     @Column(nullable = false)
-    private Double price;
+    private long price;
     @Column(nullable = false)
     private Integer portionQuantity;
     @Column(nullable = false)
     private String portionUnit;
     @Column(name = "url_image", nullable = false)
     private String urlImage;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private KitchenStation station = KitchenStation.HOT_KITCHEN;
+    @Version
+    private Long version;
 
     @JsonIgnore
     @ManyToMany
@@ -49,7 +56,7 @@ public class Product implements Serializable {
         this.description = description;
     }
 
-    public Product(Long id, String name, String description, Double price, Integer portionQuantity, String portionUnit, String urlImage) {
+    public Product(Long id, String name, String description, long price, Integer portionQuantity, String portionUnit, String urlImage) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -59,7 +66,7 @@ public class Product implements Serializable {
         this.urlImage = urlImage;
     }
 
-    public Product(Long id, String name, String description, Double price, Integer portionQuantity, String portionUnit, String urlImage, Set<Category> categories) {
+    public Product(Long id, String name, String description, long price, Integer portionQuantity, String portionUnit, String urlImage, Set<Category> categories) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -94,11 +101,11 @@ public class Product implements Serializable {
         this.description = description;
     }
 
-    public Double getPrice() {
+    public long getPrice() {
         return price;
     }
 
-    public void setPrice(Double price) {
+    public void setPrice(long price) {
         this.price = price;
     }
 
@@ -126,6 +133,22 @@ public class Product implements Serializable {
         this.urlImage = urlImage;
     }
 
+    public KitchenStation getStation() {
+        return station;
+    }
+
+    public void setStation(KitchenStation station) {
+        this.station = station;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Category> getCategories() {
         return categories;
     }
@@ -0,0 +1,14 @@
+package com.sushi.api.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Cursor Page DTO", description = "One page of a cursor-paginated list")
+public record CursorPageDTO<T>(
+        @Schema(description = "Items of this page, in ascending id order")
+        List<T> content,
+
+        @Schema(description = "Opaque token to pass as 'cursor' for the next page (null on the last page)", example = "MTIwMQ")
+        String nextCursor
+) {}
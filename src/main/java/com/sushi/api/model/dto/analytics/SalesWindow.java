@@ -0,0 +1,7 @@
+package com.sushi.api.model.dto.analytics;
+
+public enum SalesWindow {
+    LAST_5_MINUTES,
+    LAST_HOUR,
+    TODAY
+}
@@ -0,0 +1,3 @@
+package com.sushi.api.model.dto.analytics;
+
+public record TopProductDTO(Long productId, String name, long quantity) {}
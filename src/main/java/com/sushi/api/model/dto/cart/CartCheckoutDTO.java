@@ -0,0 +1,11 @@
+package com.sushi.api.model.dto.cart;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(name = "Cart Checkout DTO", description = "DTO for turning a cart into an order")
+public record CartCheckoutDTO(
+        @Schema(description = "ID of the delivery address", example = "123")
+        @NotNull(message = "Delivery Address ID cannot be null")
+        Long deliveryAddressId
+) {}
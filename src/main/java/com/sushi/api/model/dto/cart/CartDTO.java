@@ -0,0 +1,7 @@
+package com.sushi.api.model.dto.cart;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record CartDTO(UUID customerId, List<CartItemDTO> items, LocalDateTime updatedAt) {}
@@ -0,0 +1,3 @@
+package com.sushi.api.model.dto.cart;
+
+public record CartItemDTO(Long productId, Integer quantity) {}
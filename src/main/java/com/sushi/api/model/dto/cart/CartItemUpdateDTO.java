@@ -0,0 +1,13 @@
+package com.sushi.api.model.dto.cart;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+@Schema(name = "Cart Item Update DTO", description = "DTO for changing the quantity of a cart item")
+public record CartItemUpdateDTO(
+        @Schema(description = "The new quantity of the product", example = "3")
+        @NotNull(message = "Quantity cannot be null")
+        @Positive(message = "Quantity must be greater than zero")
+        Integer quantity
+) {}
@@ -30,5 +30,8 @@ public record CustomerUpdateDTO(
         PhoneDTO phone,
         @Schema(description = "The customer's address")
         @NotNull(message = "Address cannot be null")
-        Set<@Valid AddressDTO> addresses
+        Set<@Valid AddressDTO> addresses,
+        @Schema(description = "Version of the customer the client last read; the update is rejected if the customer has changed since", example = "3")
+        @NotNull(message = "Version cannot be null")
+        Long version
 ) {}
\ No newline at end of file
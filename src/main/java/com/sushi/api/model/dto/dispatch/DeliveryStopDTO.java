@@ -0,0 +1,15 @@
+package com.sushi.api.model.dto.dispatch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Delivery Stop DTO", description = "An order delivered on a courier trip")
+public record DeliveryStopDTO(
+        @Schema(description = "Order ID", example = "1")
+        Long orderId,
+
+        @Schema(description = "Street of the delivery address", example = "Rua das Flores")
+        String street,
+
+        @Schema(description = "Number of the delivery address", example = "120")
+        String number
+) {}
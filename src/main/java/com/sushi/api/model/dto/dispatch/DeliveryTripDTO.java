@@ -0,0 +1,23 @@
+package com.sushi.api.model.dto.dispatch;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(name = "Delivery Trip DTO", description = "Orders of one neighborhood handed to a courier together")
+public record DeliveryTripDTO(
+        @Schema(description = "Trip ID", example = "7")
+        Long tripId,
+
+        @Schema(description = "Neighborhood the trip delivers to", example = "Centro")
+        String neighborhood,
+
+        @Schema(description = "Orders to deliver, oldest first")
+        List<DeliveryStopDTO> stops,
+
+        @Schema(description = "When the courier took the trip")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime dispatchedAt
+) {}
@@ -0,0 +1,19 @@
+package com.sushi.api.model.dto.dispatch;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(name = "Neighborhood Queue DTO", description = "READY orders waiting for a courier in one neighborhood")
+public record NeighborhoodQueueDTO(
+        @Schema(description = "Neighborhood", example = "Centro")
+        String neighborhood,
+
+        @Schema(description = "Orders waiting for a courier", example = "2")
+        int waiting,
+
+        @Schema(description = "When the oldest waiting order became READY")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime oldestReadyAt
+) {}
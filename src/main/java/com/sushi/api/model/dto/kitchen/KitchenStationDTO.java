@@ -0,0 +1,16 @@
+package com.sushi.api.model.dto.kitchen;
+
+import com.sushi.api.model.KitchenStation;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Kitchen Station DTO", description = "A kitchen station and the tickets waiting for it")
+public record KitchenStationDTO(
+        @Schema(description = "Station ID", example = "sushi-bar-1")
+        String id,
+
+        @Schema(description = "Kind of station", example = "SUSHI_BAR")
+        KitchenStation type,
+
+        @Schema(description = "Tickets waiting to be claimed", example = "4")
+        int backlog
+) {}
@@ -0,0 +1,28 @@
+package com.sushi.api.model.dto.kitchen;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(name = "Kitchen Ticket DTO", description = "An order item claimed by a kitchen station")
+public record KitchenTicketDTO(
+        @Schema(description = "Ticket ID, equal to the order item ID", example = "12")
+        Long ticketId,
+
+        @Schema(description = "ID of the order the item belongs to", example = "1")
+        Long orderId,
+
+        @Schema(description = "Name of the product to prepare", example = "California Roll")
+        String product,
+
+        @Schema(description = "Quantity to prepare", example = "2")
+        Integer quantity,
+
+        @Schema(description = "Station that claimed the ticket", example = "sushi-bar-1")
+        String station,
+
+        @Schema(description = "When the order was placed")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime orderDate
+) {}
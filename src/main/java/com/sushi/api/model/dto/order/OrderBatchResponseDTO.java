@@ -0,0 +1,20 @@
+package com.sushi.api.model.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Order Batch Response DTO", description = "Summary of a batch order import")
+public record OrderBatchResponseDTO(
+        @Schema(description = "Number of orders read from the request body", example = "250")
+        int received,
+
+        @Schema(description = "Number of orders created", example = "248")
+        int created,
+
+        @Schema(description = "Number of orders rejected", example = "2")
+        int failed,
+
+        @Schema(description = "Per-order results, in submission order")
+        List<OrderBatchResultDTO> results
+) {}
@@ -0,0 +1,26 @@
+package com.sushi.api.model.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Order Batch Result DTO", description = "Outcome of one order of a batch import")
+public record OrderBatchResultDTO(
+        @Schema(description = "Position of the order in the submitted batch, starting at zero", example = "0")
+        Integer index,
+
+        @Schema(description = "Whether the order was created or rejected", example = "CREATED")
+        OrderBatchStatus status,
+
+        @Schema(description = "ID of the created order (null when rejected)", example = "1")
+        Long orderId,
+
+        @Schema(description = "Reason the order was rejected (null when created)", example = "Customer not found with this id.")
+        String message
+) {
+    public static OrderBatchResultDTO created(Integer index, Long orderId) {
+        return new OrderBatchResultDTO(index, OrderBatchStatus.CREATED, orderId, null);
+    }
+
+    public static OrderBatchResultDTO failed(Integer index, String message) {
+        return new OrderBatchResultDTO(index, OrderBatchStatus.FAILED, null, message);
+    }
+}
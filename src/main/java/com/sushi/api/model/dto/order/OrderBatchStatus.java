@@ -0,0 +1,6 @@
+package com.sushi.api.model.dto.order;
+
+public enum OrderBatchStatus {
+    CREATED,
+    FAILED
+}
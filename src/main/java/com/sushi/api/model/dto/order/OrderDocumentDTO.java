@@ -0,0 +1,30 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Money;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The JSON stored in order_documents: the order as the API returns it, plus the product of every
+ * line as it was when the order was last written.
+ */
+public record OrderDocumentDTO(Long id,
+                               @JsonFormat(pattern = "dd/MM/yyyy hh:mm") LocalDateTime orderDate,
+                               @JsonSerialize(using = Money.Serializer.class) long totalAmount,
+                               Long version,
+                               OrderStatus status,
+                               Address deliveryAddress,
+                               List<OrderDocumentItemDTO> items) {
+
+    public static OrderDocumentDTO of(Order order) {
+        return new OrderDocumentDTO(order.getId(), order.getOrderDate(), order.getTotalAmount(), order.getVersion(),
+                order.getStatus(), order.getDeliveryAddress(),
+                order.getItems().stream().map(OrderDocumentItemDTO::of).toList());
+    }
+}
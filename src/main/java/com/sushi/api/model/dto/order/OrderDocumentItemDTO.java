@@ -0,0 +1,15 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sushi.api.model.Money;
+import com.sushi.api.model.OrderItem;
+
+public record OrderDocumentItemDTO(Long id, Long productId, String productName, Integer quantity,
+                                   @JsonSerialize(using = Money.Serializer.class) long price,
+                                   @JsonSerialize(using = Money.Serializer.class) long totalPrice) {
+
+    public static OrderDocumentItemDTO of(OrderItem item) {
+        return new OrderDocumentItemDTO(item.getId(), item.getProduct().getId(), item.getProduct().getName(),
+                item.getQuantity(), item.getPrice(), item.getTotalPrice());
+    }
+}
@@ -0,0 +1,26 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(name = "Order Handle DTO", description = "Progress of an order accepted for asynchronous processing")
+public record OrderHandleDTO(
+        @Schema(description = "Handle used to poll the order", example = "7b0e4c7e-52a4-4b1f-9d1e-6a1d2d8c9f10")
+        UUID handle,
+
+        @Schema(description = "Current stage of the order", example = "COMPLETED")
+        OrderPipelineStatus status,
+
+        @Schema(description = "ID of the created order, once persisted", example = "1")
+        Long orderId,
+
+        @Schema(description = "Reason the order was rejected (null unless FAILED)", example = "Customer not found with this id.")
+        String message,
+
+        @Schema(description = "When the order was accepted")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime acceptedAt
+) {}
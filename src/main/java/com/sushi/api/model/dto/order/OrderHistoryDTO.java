@@ -0,0 +1,19 @@
+package com.sushi.api.model.dto.order;
+
+import com.sushi.api.model.Order;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(name = "Order History DTO", description = "One page of a customer's orders, newest first")
+public record OrderHistoryDTO(
+        @Schema(description = "Orders of this page")
+        List<Order> orders,
+
+        @Schema(description = "Pass as 'before' to fetch the next page (null on the last page)", example = "2024-06-01T19:42:10.123456")
+        LocalDateTime nextBefore,
+
+        @Schema(description = "Pass as 'beforeId' to fetch the next page (null on the last page)", example = "1201")
+        Long nextBeforeId
+) {}
@@ -0,0 +1,10 @@
+package com.sushi.api.model.dto.order;
+
+public enum OrderPipelineStatus {
+    ACCEPTED,
+    VALIDATED,
+    PRICED,
+    PERSISTED,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,33 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(name = "Order Purge DTO", description = "Progress of a bulk order deletion")
+public record OrderPurgeDTO(
+        @Schema(description = "Handle used to poll the purge", example = "7b0e4c7e-52a4-4b1f-9d1e-6a1d2d8c9f10")
+        UUID handle,
+
+        @Schema(description = "Current state of the purge", example = "RUNNING")
+        OrderPurgeStatus status,
+
+        @Schema(description = "Orders matching the criteria when the purge started", example = "25000")
+        long matched,
+
+        @Schema(description = "Orders deleted so far", example = "12000")
+        long deleted,
+
+        @Schema(description = "Reason the purge stopped (null unless FAILED)")
+        String message,
+
+        @Schema(description = "When the purge started")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime startedAt,
+
+        @Schema(description = "When the purge finished (null while RUNNING)")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime finishedAt
+) {}
@@ -0,0 +1,24 @@
+package com.sushi.api.model.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(name = "Order Purge Request DTO", description = "Orders to delete in bulk; every given criterion must match")
+public record OrderPurgeRequestDTO(
+        @Schema(description = "IDs of the orders to delete", example = "[1, 2, 3]")
+        @Size(max = 10000, message = "At most 10000 order IDs can be purged at once")
+        List<Long> ids,
+
+        @Schema(description = "Only delete orders of this customer", example = "7b0e4c7e-52a4-4b1f-9d1e-6a1d2d8c9f10")
+        UUID customerId,
+
+        @Schema(description = "Only delete orders placed at or after this time", example = "2024-01-01T00:00:00")
+        LocalDateTime from,
+
+        @Schema(description = "Only delete orders placed before this time", example = "2024-02-01T00:00:00")
+        LocalDateTime to
+) {}
@@ -0,0 +1,7 @@
+package com.sushi.api.model.dto.order;
+
+public enum OrderPurgeStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
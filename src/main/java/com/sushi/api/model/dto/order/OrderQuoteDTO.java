@@ -0,0 +1,8 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sushi.api.model.Money;
+
+import java.util.List;
+
+public record OrderQuoteDTO(List<OrderQuoteLineDTO> items, @JsonSerialize(using = Money.Serializer.class) long totalAmount) {}
@@ -0,0 +1,8 @@
+package com.sushi.api.model.dto.order;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sushi.api.model.Money;
+
+public record OrderQuoteLineDTO(Long productId, String name, int quantity,
+                                @JsonSerialize(using = Money.Serializer.class) long price,
+                                @JsonSerialize(using = Money.Serializer.class) long totalPrice) {}
@@ -0,0 +1,16 @@
+package com.sushi.api.model.dto.order;
+
+import com.sushi.api.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(name = "Order Status Update DTO", description = "DTO for moving an order to a later status")
+public record OrderStatusUpdateDTO(
+        @Schema(description = "The unique identifier of the order", example = "1")
+        @NotNull(message = "Order ID cannot be null")
+        Long id,
+
+        @Schema(description = "The new status of the order", example = "OUT_FOR_DELIVERY")
+        @NotNull(message = "Status cannot be null")
+        OrderStatus status
+) {}
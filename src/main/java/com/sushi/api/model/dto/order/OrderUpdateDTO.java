@@ -19,5 +19,9 @@ public record OrderUpdateDTO(
 
         @Schema(description = "Order items")
         @NotNull(message = "Order items cannot be null")
-        List<@Valid OrderItemUpdateDTO> items
+        List<@Valid OrderItemUpdateDTO> items,
+
+        @Schema(description = "Version of the order the client last read; the update is rejected if the order has changed since", example = "3")
+        @NotNull(message = "Version cannot be null")
+        Long version
 ) {}
\ No newline at end of file
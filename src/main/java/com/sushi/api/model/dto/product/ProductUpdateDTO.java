@@ -1,10 +1,13 @@
 package com.sushi.api.model.dto.product;
 
+import com.sushi.api.model.KitchenStation;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
+import java.math.BigDecimal;
 import java.util.Set;
 
 @Schema(name = "Product Update DTO", description = "DTO for updating a product")
@@ -24,7 +27,8 @@ public record ProductUpdateDTO(
         @Schema(description = "The price of the product", example = "8.99")
         @NotNull(message = "Price cannot be null")
         @Positive(message = "Price must be greater than zero")
-        Double price,
+        @Digits(integer = 10, fraction = 2, message = "Price must have at most 2 decimal places")
+        BigDecimal price,
 
         @Schema(description = "The quantity of portions in the product", example = "20")
         @NotNull(message = "Quantity of portions cannot be null")
@@ -39,6 +43,13 @@ public record ProductUpdateDTO(
         String urlImage,
 
         @Schema(description = "A set of category IDs associated with the product (it can be null)", example = "[]")
-        Set<Long> categoriesId
+        Set<Long> categoriesId,
+
+        @Schema(description = "Kitchen station that prepares the product (defaults to HOT_KITCHEN)", example = "SUSHI_BAR")
+        KitchenStation station,
+
+        @Schema(description = "Version of the product the client last read; the update is rejected if the product has changed since", example = "3")
+        @NotNull(message = "Version cannot be null")
+        Long version
 ) {
 }
\ No newline at end of file
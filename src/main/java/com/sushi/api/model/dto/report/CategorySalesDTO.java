@@ -0,0 +1,7 @@
+package com.sushi.api.model.dto.report;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sushi.api.model.Money;
+
+public record CategorySalesDTO(Long categoryId, String name, @JsonSerialize(using = Money.Serializer.class) long revenue,
+                               long itemsSold) {}
@@ -0,0 +1,9 @@
+package com.sushi.api.model.dto.report;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sushi.api.model.Money;
+
+import java.time.LocalDateTime;
+
+public record SalesBucketDTO(LocalDateTime bucket, @JsonSerialize(using = Money.Serializer.class) long revenue,
+                             long orderCount, long itemsSold) {}
@@ -4,8 +4,11 @@ import com.sushi.api.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
-}
\ No newline at end of file
+    List<Address> findByCustomerIdIn(Collection<UUID> customerIds);
+}
@@ -3,17 +3,34 @@ package com.sushi.api.repositories;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Phone;
 import com.sushi.api.model.dto.phone.PhoneDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     List<Customer> findByNameContainingIgnoreCase(String name);
     Optional<Customer> findByEmail(String email);
-}
\ No newline at end of file
+
+    Slice<Customer> findAllBy(Pageable pageable);
+
+    Slice<Customer> findByIdGreaterThan(UUID id, Pageable pageable);
+
+    // The phone is fetched in the same row; addresses are loaded per customer as it is written.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.phone ORDER BY c.id")
+    Stream<Customer> streamAll();
+}
@@ -0,0 +1,45 @@
+package com.sushi.api.repositories;
+
+import com.sushi.api.model.OrderDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderDocumentRepository extends JpaRepository<OrderDocument, Long> {
+    // Native statements make Hibernate flush the pending order first, so the foreign key holds.
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_documents (order_id, order_date, document, updated_at)
+            VALUES (:orderId, :orderDate, CAST(:document AS jsonb), now())
+            ON CONFLICT (order_id) DO UPDATE SET document = EXCLUDED.document, updated_at = EXCLUDED.updated_at""",
+            nativeQuery = true)
+    void upsert(@Param("orderId") Long orderId, @Param("orderDate") LocalDateTime orderDate,
+                @Param("document") String document);
+
+    @Query("SELECT CAST(d.document AS String) FROM OrderDocument d")
+    List<String> findPage(Pageable pageable);
+
+    @Query(value = """
+            SELECT order_id AS orderId, CAST(document AS text) AS document FROM order_documents
+            WHERE order_id > :afterId ORDER BY order_id LIMIT :limit""", nativeQuery = true)
+    List<DocumentRow> findAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT o.id FROM orders o
+            WHERE NOT EXISTS (SELECT 1 FROM order_documents d WHERE d.order_id = o.id)
+            ORDER BY o.id LIMIT :limit""", nativeQuery = true)
+    List<Long> findOrderIdsWithoutDocument(@Param("limit") int limit);
+
+    interface DocumentRow {
+        Long getOrderId();
+
+        String getDocument();
+    }
+}
@@ -2,8 +2,19 @@ package com.sushi.api.repositories;
 
 import com.sushi.api.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE order_item SET prepared_at = now() WHERE id = :id AND order_date = :orderDate AND prepared_at IS NULL",
+            nativeQuery = true)
+    int markPrepared(@Param("id") Long id, @Param("orderDate") LocalDateTime orderDate);
+}
@@ -1,9 +1,61 @@
 package com.sushi.api.repositories;
 
 import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderKey;
+import com.sushi.api.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+public interface OrderRepository extends JpaRepository<Order, OrderKey> {
+    // The order date comes from the order's document, a primary key lookup on an unpartitioned
+    // table, so only the order's month is probed instead of the id index of every partition.
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.id = :id
+              AND o.orderDate = (SELECT d.orderDate FROM OrderDocument d WHERE d.orderId = :id)""")
+    Optional<Order> findByOrderId(@Param("id") Long id);
+
+    // For orders whose document has not been rendered yet; probes every month.
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByOrderIdInAnyMonth(@Param("id") Long id);
+
+    List<Order> findByIdIn(Collection<Long> ids);
+
+    List<Order> findByStatusIn(Collection<OrderStatus> statuses);
+
+    // Keyset pages over idx_orders_customer_date. Only ids are selected so the limit applies to
+    // orders, not to order/item join rows; the orders themselves are loaded by findHistoryByIdIn.
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findHistoryIds(@Param("customerId") UUID customerId, Pageable pageable);
+
+    // A row-value comparison, which Postgres turns into an index range start where the OR form
+    // it replaced was only a filter. The redundant date bound prunes the later month partitions.
+    @Query("""
+            SELECT o.id FROM Order o
+            WHERE o.customer.id = :customerId
+              AND o.orderDate <= :before
+              AND (o.orderDate, o.id) < (:before, :beforeId)
+            ORDER BY o.orderDate DESC, o.id DESC""")
+    List<Long> findHistoryIdsBefore(@Param("customerId") UUID customerId, @Param("before") LocalDateTime before,
+                                    @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"items", "items.product", "deliveryAddress"})
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findHistoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    Slice<Order> findAllBy(Pageable pageable);
+
+    Slice<Order> findByIdGreaterThan(Long id, Pageable pageable);
+}
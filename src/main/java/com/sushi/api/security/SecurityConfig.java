@@ -27,23 +27,32 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/auth/customers/login", "/api/auth/customers/register").permitAll()
                         .requestMatchers("/api/auth/employees/login", "/api/auth/employees/register").permitAll()
 
-                        .requestMatchers(HttpMethod.GET, "/api/categories", "api/categories/list", "/api/categories/find/by-name").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/products", "api/products/list", "/api/products/find/by-name").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/categories", "api/categories/list", "/api/categories/scroll", "/api/categories/find/by-name").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/products", "api/products/list", "/api/products/scroll", "/api/products/find/by-name").permitAll()
 
-                        .requestMatchers(HttpMethod.GET, "/api/categories/{id}", "/api/products/{id}", "/api/orders/{id}").hasAnyAuthority("USER", "ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/customers", "/api/orders").hasAnyAuthority("USER", "ADMIN")
+                        // Listed before /api/orders/{id}, which would otherwise let any user list, scroll or export all
+                        // orders, or move any order through its lifecycle.
+                        .requestMatchers(HttpMethod.GET, "/api/orders/list", "/api/orders/scroll", "/api/orders/export").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/orders/status").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/categories/{id}", "/api/products/{id}", "/api/orders/{id}", "/api/orders/async/{handle}", "/api/customers/{id}/orders").hasAnyAuthority("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/customers", "/api/orders", "/api/orders/async", "/api/orders/quote").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/customers/{id}", "/api/orders/{id}").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/orders/{id}").hasAnyAuthority("USER", "ADMIN")
+                        .requestMatchers("/api/carts/**").hasAnyAuthority("USER", "ADMIN")
 
-                        .requestMatchers(HttpMethod.GET, "/api/employees", "/api/employees/list", "/api/employees/find/by-email").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/customers", "/api/customers/{id}", "/api/customers/find/by-name", "/api/customers/find/by-email").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/orders", "/api/orders/list").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/categories", "/api/products", "/api/employees").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/employees", "/api/employees/list", "/api/employees/scroll", "/api/employees/find/by-email").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/customers", "/api/customers/scroll", "/api/customers/{id}", "/api/customers/find/by-name", "/api/customers/find/by-email").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/orders", "/api/orders/purge/{handle}").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/categories", "/api/products", "/api/employees", "/api/orders/batch", "/api/orders/purge").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/categories", "/api/products", "/api/orders", "/api/employees", "/api/customers").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/categories/{id}", "/api/products/{id}", "/api/employees/{id}").hasAuthority("ADMIN")
+                        .requestMatchers("/api/kitchen/**", "/api/dispatch/**").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/reports/**", "/api/analytics/**").hasAuthority("ADMIN")
 
                         .anyRequest().authenticated()
                 )
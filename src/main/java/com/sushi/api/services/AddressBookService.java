@@ -0,0 +1,81 @@
+package com.sushi.api.services;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.sushi.api.events.CustomerChangedEvent;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Address;
+import com.sushi.api.repositories.AddressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Each customer's delivery addresses, cached so orders can resolve and check their address
+ * without a query. An address is only accepted for the customer it belongs to. Entries are
+ * dropped once a customer change commits; the TTL bounds staleness when another instance made
+ * the change.
+ */
+@Service
+public class AddressBookService {
+    private final AddressRepository addressRepository;
+    private final LoadingCache<UUID, Map<Long, Address>> addressBooks;
+
+    public AddressBookService(AddressRepository addressRepository, MeterRegistry meterRegistry,
+                              @Value("${customers.address-cache.max-entries:10000}") long maxEntries,
+                              @Value("${customers.address-cache.ttl:10m}") Duration ttl) {
+        this.addressRepository = addressRepository;
+        this.addressBooks = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Map<Long, Address> load(UUID customerId) {
+                        return loadAll(Set.of(customerId)).get(customerId);
+                    }
+
+                    @Override
+                    public Map<UUID, Map<Long, Address>> loadAll(Set<? extends UUID> customerIds) {
+                        return loadAddressBooks(customerIds);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, addressBooks, "customers.addresses");
+    }
+
+    public Address findAddress(UUID customerId, Long addressId) {
+        Address address = addressBooks.get(customerId).get(addressId);
+        if (address == null) {
+            throw new ResourceNotFoundException("Address not found for this customer.");
+        }
+        return address;
+    }
+
+    /** Address books of several customers, loading the missing ones with a single query. */
+    public Map<UUID, Map<Long, Address>> findAddresses(Collection<UUID> customerIds) {
+        return addressBooks.getAll(customerIds);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        addressBooks.invalidate(event.customerId());
+    }
+
+    private Map<UUID, Map<Long, Address>> loadAddressBooks(Set<? extends UUID> customerIds) {
+        Map<UUID, Map<Long, Address>> books = addressRepository.findByCustomerIdIn(new ArrayList<>(customerIds)).stream()
+                .collect(Collectors.groupingBy(address -> address.getCustomer().getId(),
+                        Collectors.collectingAndThen(Collectors.toMap(Address::getId, Function.identity()), Map::copyOf)));
+        // Customers without addresses are cached too, so they are not queried again on every order.
+        Map<UUID, Map<Long, Address>> result = new HashMap<>();
+        customerIds.forEach(customerId -> result.put(customerId, books.getOrDefault(customerId, Map.of())));
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+package com.sushi.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.cart.CartDTO;
+import com.sushi.api.model.dto.cart.CartItemDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.repositories.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Server-side carts, one per customer so every device sees the same cart. Carts live in memory
+ * only: a cart nobody touched for the TTL expires, and when the estimated footprint of all carts
+ * exceeds the limit the least recently used ones are evicted first. Each change replaces the
+ * customer's immutable cart atomically. The cart count is exported as cache.size{cache=carts} and
+ * the estimated footprint as carts.memory.
+ */
+@Service
+public class CartService {
+    // Rough heap cost of a cart and of each line, used to bound the cache by memory.
+    private static final int CART_BYTES = 256;
+    private static final int ITEM_BYTES = 96;
+
+    private final OrderService orderService;
+    private final QuoteService quoteService;
+    private final CustomerRepository customerRepository;
+    private final int maxItems;
+    private final Cache<UUID, CartDTO> carts;
+
+    public CartService(OrderService orderService, QuoteService quoteService, CustomerRepository customerRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${carts.ttl:2h}") Duration ttl,
+                       @Value("${carts.max-memory:64MB}") DataSize maxMemory,
+                       @Value("${carts.max-items:50}") int maxItems) {
+        this.orderService = orderService;
+        this.quoteService = quoteService;
+        this.customerRepository = customerRepository;
+        this.maxItems = maxItems;
+        this.carts = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((UUID customerId, CartDTO cart) -> CART_BYTES + ITEM_BYTES * cart.items().size())
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, carts, "carts");
+        Gauge.builder("carts.memory", carts, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Estimated heap held by carts")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public CartDTO findCart(UUID customerId) {
+        CartDTO cart = carts.getIfPresent(customerId);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart not found for this customer.");
+        }
+        return cart;
+    }
+
+    public CartDTO addItem(UUID customerId, Long productId, int quantity) {
+        if (!quoteService.isKnownProduct(productId)) {
+            throw new ResourceNotFoundException("Product not found with this id.");
+        }
+        if (carts.getIfPresent(customerId) == null && !customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found with this id.");
+        }
+        return carts.asMap().compute(customerId, (id, cart) -> {
+            Map<Long, Integer> items = cart == null ? new LinkedHashMap<>() : quantities(cart);
+            items.merge(productId, quantity, Math::addExact);
+            if (items.size() > maxItems) {
+                throw new BadRequestException("A cart can hold at most " + maxItems + " different products.");
+            }
+            return cart(id, items);
+        });
+    }
+
+    public CartDTO updateItem(UUID customerId, Long productId, int quantity) {
+        return change(customerId, productId, items -> items.put(productId, quantity));
+    }
+
+    public CartDTO removeItem(UUID customerId, Long productId) {
+        return change(customerId, productId, items -> items.remove(productId));
+    }
+
+    public void deleteCart(UUID customerId) {
+        carts.invalidate(customerId);
+    }
+
+    /**
+     * Places the cart as an order in one {@link OrderService#createOrder} transaction. The cart is
+     * taken out of the store first, so a second checkout of the same cart finds nothing; if the
+     * order cannot be created the cart is put back, unless the customer already started another.
+     */
+    public Order checkout(UUID customerId, Long deliveryAddressId) {
+        CartDTO cart = carts.asMap().remove(customerId);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart not found for this customer.");
+        }
+        try {
+            if (cart.items().isEmpty()) {
+                throw new BadRequestException("Cart is empty.");
+            }
+            List<OrderItemRequestDTO> items = cart.items().stream()
+                    .map(item -> new OrderItemRequestDTO(item.productId(), item.quantity()))
+                    .toList();
+            return orderService.createOrder(new OrderRequestDTO(customerId, deliveryAddressId, items));
+        } catch (RuntimeException ex) {
+            carts.asMap().putIfAbsent(customerId, cart);
+            throw ex;
+        }
+    }
+
+    private CartDTO change(UUID customerId, Long productId, Consumer<Map<Long, Integer>> change) {
+        CartDTO updated = carts.asMap().computeIfPresent(customerId, (id, cart) -> {
+            Map<Long, Integer> items = quantities(cart);
+            if (!items.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product is not in the cart.");
+            }
+            change.accept(items);
+            return cart(id, items);
+        });
+        if (updated == null) {
+            throw new ResourceNotFoundException("Cart not found for this customer.");
+        }
+        return updated;
+    }
+
+    private static Map<Long, Integer> quantities(CartDTO cart) {
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        cart.items().forEach(item -> items.put(item.productId(), item.quantity()));
+        return items;
+    }
+
+    private static CartDTO cart(UUID customerId, Map<Long, Integer> items) {
+        List<CartItemDTO> lines = items.entrySet().stream()
+                .map(entry -> new CartItemDTO(entry.getKey(), entry.getValue()))
+                .toList();
+        return new CartDTO(customerId, lines, LocalDateTime.now());
+    }
+}
@@ -1,18 +1,24 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.CategoryChangedEvent;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.category.CategoryRequestDTO;
 import com.sushi.api.model.dto.category.CategoryUpdateDTO;
 import com.sushi.api.repositories.CategoryRepository;
 import com.sushi.api.repositories.ProductRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -20,17 +26,35 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Category> listAllNonPageable() {
         return categoryRepository.findAll();
     }
 
+    public void writeAllNdjson(OutputStream out) throws IOException {
+        ndjsonWriter.write(categoryRepository::streamAll, out);
+    }
+
     public Page<Category> listAllPageable(Pageable pageable) {
         return categoryRepository.findAll(pageable);
     }
 
+    public CursorPageDTO<Category> scroll(String cursor, int size) {
+        Pageable page = CursorPagination.firstPage(size);
+        Slice<Category> slice = cursor == null
+                ? categoryRepository.findAllBy(page)
+                : categoryRepository.findByIdGreaterThan(CursorPagination.decodeLong(cursor), page);
+        return CursorPagination.toPage(slice, Category::getId);
+    }
+
     public Category findCategoryById(Long id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with this id."));
@@ -56,7 +80,9 @@ public class CategoryService {
         category.setName(dto.name());
         category.setDescription(dto.description());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -67,10 +93,12 @@ public class CategoryService {
         category.setDescription(dto.description());
 
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
     }
 
     @Transactional
     public void deleteCategory(Long id) {
         categoryRepository.delete(findCategoryById(id));
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.sushi.api.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Keeps scheduled maintenance to one node at a time with a session-level Postgres advisory lock.
+ * The lock lives on a connection held for the duration of the task, so the task keeps its own
+ * transactions, and a node that dies mid-run releases it with its connection. A node that cannot
+ * take the lock skips the run: another node is already doing the same work.
+ */
+@Component
+public class ClusterLock {
+    private static final Logger log = LoggerFactory.getLogger(ClusterLock.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClusterLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs the task if no other node holds the lock of that name, and returns whether it ran.
+     */
+    public boolean runExclusively(String name, Runnable task) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!call(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))"), name)) {
+                log.info("Skipping {}, another node is running it", name);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                call(connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))"), name);
+            }
+        }));
+    }
+
+    private static boolean call(PreparedStatement statement, String name) throws SQLException {
+        try (statement) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
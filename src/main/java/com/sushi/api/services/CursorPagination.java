@@ -0,0 +1,71 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.CursorPageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Helpers for the {@code /scroll} list endpoints. Pages are read in id order after the id carried
+ * by the cursor, so every page is an index range scan no matter how deep it is, and they are
+ * fetched as {@link Slice}s, so no count query is issued. The cursor is the last id of the
+ * previous page, Base64-encoded so clients treat it as opaque.
+ */
+public final class CursorPagination {
+    public static final int MAX_SIZE = 100;
+
+    private CursorPagination() {}
+
+    public static Pageable firstPage(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SIZE + ".");
+        }
+        return PageRequest.of(0, size, Sort.by("id"));
+    }
+
+    public static Long decodeLong(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    public static UUID decodeUuid(String cursor) {
+        try {
+            return UUID.fromString(decode(cursor));
+        } catch (IllegalArgumentException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    public static <T> CursorPageDTO<T> toPage(Slice<T> slice, Function<T, ?> id) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return new CursorPageDTO<>(content, null);
+        }
+        String lastId = String.valueOf(id.apply(content.get(content.size() - 1)));
+        return new CursorPageDTO<>(content, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    private static BadRequestException invalidCursor() {
+        return new BadRequestException("Invalid cursor.");
+    }
+}
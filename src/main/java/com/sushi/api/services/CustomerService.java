@@ -1,21 +1,29 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.CustomerChangedEvent;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Address;
 import com.sushi.api.model.Customer;
 import com.sushi.api.model.Phone;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
 import com.sushi.api.repositories.CustomerRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,16 +33,34 @@ public class CustomerService {
     @Autowired
     private CustomerRepository customerRepository;
     @Autowired
+    private NdjsonWriter ndjsonWriter;
+    @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public Page<Customer> listAllPageable(Pageable pageable) {
         return customerRepository.findAll(pageable);
     }
 
+    public CursorPageDTO<Customer> scroll(String cursor, int size) {
+        Pageable page = CursorPagination.firstPage(size);
+        Slice<Customer> slice = cursor == null
+                ? customerRepository.findAllBy(page)
+                : customerRepository.findByIdGreaterThan(CursorPagination.decodeUuid(cursor), page);
+        return CursorPagination.toPage(slice, Customer::getId);
+    }
+
     public List<Customer> listAllNonPageable() {
         return customerRepository.findAll();
     }
 
+    public void writeAllNdjson(OutputStream out) throws IOException {
+        ndjsonWriter.write(customerRepository::streamAll, out);
+    }
+
     public Customer findCustomerById(UUID id) {
         return customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with this id."));
@@ -84,9 +110,15 @@ public class CustomerService {
         return customerRepository.save(customer);
     }
 
-    @Transactional
     public void replaceCustomer(CustomerUpdateDTO dto) {
+        optimisticLockRetry.executeOnce("Customer", () -> applyReplace(dto), () -> findCustomerById(dto.id()));
+    }
+
+    private Customer applyReplace(CustomerUpdateDTO dto) {
         Customer savedCustomer = findCustomerById(dto.id());
+        if (!Objects.equals(dto.version(), savedCustomer.getVersion())) {
+            throw new ConflictException("Customer has changed since version " + dto.version() + ", reload it and try again.", savedCustomer);
+        }
         savedCustomer.setName(dto.name());
         savedCustomer.setEmail(dto.email());
         savedCustomer.setPassword(passwordEncoder.encode(dto.password()));
@@ -114,11 +146,13 @@ public class CustomerService {
             savedCustomer.getAddresses().addAll(updatedAddresses);
         }
 
-        customerRepository.save(savedCustomer);
+        eventPublisher.publishEvent(new CustomerChangedEvent(savedCustomer.getId()));
+        return customerRepository.save(savedCustomer);
     }
 
     @Transactional
     public void deleteCustomer(UUID id) {
         customerRepository.delete(findCustomerById(id));
+        eventPublisher.publishEvent(new CustomerChangedEvent(id));
     }
 }
\ No newline at end of file
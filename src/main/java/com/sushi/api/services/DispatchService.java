@@ -0,0 +1,242 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.dto.dispatch.DeliveryStopDTO;
+import com.sushi.api.model.dto.dispatch.DeliveryTripDTO;
+import com.sushi.api.model.dto.dispatch.NeighborhoodQueueDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Groups READY orders by the neighborhood of their delivery address so a courier carries several
+ * orders per trip. A neighborhood's orders are handed out once a courier's capacity is reached or
+ * its oldest order has waited for the batching window, whichever comes first; the neighborhood
+ * whose oldest order has waited longest goes first. Taking a trip moves its orders to
+ * OUT_FOR_DELIVERY and completing it moves them to DELIVERED.
+ *
+ * <p>Waiting orders and open trips live in memory only; on startup every READY order is queued again.
+ */
+@Service
+public class DispatchService {
+    private static final Logger log = LoggerFactory.getLogger(DispatchService.class);
+
+    private final OrderService orderService;
+    private final Clock clock;
+    private final long windowMillis;
+    private final int courierCapacity;
+    private final ConcurrentMap<String, Neighborhood> neighborhoods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Neighborhood> waitingOrders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, DeliveryTripDTO> trips = new ConcurrentHashMap<>();
+    private final AtomicLong tripIds = new AtomicLong();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTime;
+    private final DistributionSummary ordersPerTrip;
+
+    @Autowired
+    public DispatchService(OrderService orderService, MeterRegistry meterRegistry,
+                           @Value("${dispatch.window:10m}") Duration window,
+                           @Value("${dispatch.courier-capacity:3}") int courierCapacity) {
+        this(Clock.systemDefaultZone(), orderService, meterRegistry, window, courierCapacity);
+    }
+
+    DispatchService(Clock clock, OrderService orderService, MeterRegistry meterRegistry, Duration window, int courierCapacity) {
+        if (courierCapacity < 1) {
+            throw new IllegalArgumentException("A courier must carry at least one order");
+        }
+        this.orderService = orderService;
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        this.courierCapacity = courierCapacity;
+        Gauge.builder("dispatch.orders.waiting", waiting, AtomicInteger::get)
+                .description("READY orders waiting for a courier")
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("dispatch.order.wait")
+                .description("Time an order waited between READY and leaving with a courier")
+                .register(meterRegistry);
+        this.ordersPerTrip = DistributionSummary.builder("dispatch.trip.orders")
+                .description("Orders carried per courier trip")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        Order order = event.order();
+        if (event.type() == OrderEventType.STATUS_CHANGED && order.getStatus() == OrderStatus.READY) {
+            enqueue(order);
+        } else if (event.type() == OrderEventType.STATUS_CHANGED || event.type() == OrderEventType.DELETED) {
+            // Staff moved the order on by hand, or it was deleted.
+            withdraw(order.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersPurged(OrdersPurgedEvent event) {
+        event.orderIds().forEach(this::withdraw);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreBacklog() {
+        List<Order> orders = orderService.findOrdersByStatus(List.of(OrderStatus.READY));
+        orders.forEach(this::enqueue);
+        log.info("Queued {} ready orders for dispatch", orders.size());
+    }
+
+    public void enqueue(Order order) {
+        Address address = order.getDeliveryAddress();
+        String name = address.getNeighborhood().strip();
+        Neighborhood neighborhood = neighborhoods.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new Neighborhood(name));
+        if (waitingOrders.putIfAbsent(order.getId(), neighborhood) != null) {
+            return;
+        }
+        synchronized (neighborhood) {
+            neighborhood.stops.add(new Stop(order.getId(), address.getStreet(), address.getNumber(), clock.millis()));
+        }
+        waiting.incrementAndGet();
+    }
+
+    /**
+     * Hands the next due neighborhood to a courier, or returns empty when every neighborhood is
+     * still filling up within its window.
+     */
+    public Optional<DeliveryTripDTO> dispatch() {
+        while (true) {
+            long now = clock.millis();
+            Neighborhood next = null;
+            long nextOldest = Long.MAX_VALUE;
+            for (Neighborhood neighborhood : neighborhoods.values()) {
+                synchronized (neighborhood) {
+                    Stop oldest = neighborhood.stops.peekFirst();
+                    if (oldest != null && isDue(neighborhood, oldest, now) && oldest.readyAt() < nextOldest) {
+                        next = neighborhood;
+                        nextOldest = oldest.readyAt();
+                    }
+                }
+            }
+            if (next == null) {
+                return Optional.empty();
+            }
+            List<Stop> taken = take(next, now);
+            List<DeliveryStopDTO> stops = new ArrayList<>(taken.size());
+            for (Stop stop : taken) {
+                waitTime.record(now - stop.readyAt(), TimeUnit.MILLISECONDS);
+                if (advance(stop.orderId(), OrderStatus.OUT_FOR_DELIVERY)) {
+                    stops.add(new DeliveryStopDTO(stop.orderId(), stop.street(), stop.number()));
+                }
+            }
+            if (!stops.isEmpty()) {
+                DeliveryTripDTO trip = new DeliveryTripDTO(tripIds.incrementAndGet(), next.name, List.copyOf(stops),
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(now), clock.getZone()));
+                trips.put(trip.tripId(), trip);
+                ordersPerTrip.record(stops.size());
+                return Optional.of(trip);
+            }
+        }
+    }
+
+    public void complete(Long tripId) {
+        DeliveryTripDTO trip = trips.remove(tripId);
+        if (trip == null) {
+            throw new ResourceNotFoundException("No open delivery trip with this id.");
+        }
+        trip.stops().forEach(stop -> advance(stop.orderId(), OrderStatus.DELIVERED));
+    }
+
+    public List<NeighborhoodQueueDTO> listNeighborhoods() {
+        List<NeighborhoodQueueDTO> queues = new ArrayList<>();
+        for (Neighborhood neighborhood : neighborhoods.values()) {
+            synchronized (neighborhood) {
+                Stop oldest = neighborhood.stops.peekFirst();
+                if (oldest != null) {
+                    queues.add(new NeighborhoodQueueDTO(neighborhood.name, neighborhood.stops.size(),
+                            LocalDateTime.ofInstant(Instant.ofEpochMilli(oldest.readyAt()), clock.getZone())));
+                }
+            }
+        }
+        queues.sort(Comparator.comparing(NeighborhoodQueueDTO::oldestReadyAt));
+        return queues;
+    }
+
+    private boolean isDue(Neighborhood neighborhood, Stop oldest, long now) {
+        return neighborhood.stops.size() >= courierCapacity || now - oldest.readyAt() >= windowMillis;
+    }
+
+    private List<Stop> take(Neighborhood neighborhood, long now) {
+        List<Stop> taken = new ArrayList<>(courierCapacity);
+        synchronized (neighborhood) {
+            Stop oldest = neighborhood.stops.peekFirst();
+            // Another courier may have taken the batch since it was picked.
+            if (oldest == null || !isDue(neighborhood, oldest, now)) {
+                return taken;
+            }
+            while (taken.size() < courierCapacity && !neighborhood.stops.isEmpty()) {
+                Stop stop = neighborhood.stops.pollFirst();
+                waitingOrders.remove(stop.orderId());
+                taken.add(stop);
+            }
+        }
+        waiting.addAndGet(-taken.size());
+        return taken;
+    }
+
+    private void withdraw(Long orderId) {
+        Neighborhood neighborhood = waitingOrders.remove(orderId);
+        if (neighborhood == null) {
+            return;
+        }
+        boolean removed;
+        synchronized (neighborhood) {
+            removed = neighborhood.stops.removeIf(stop -> stop.orderId().equals(orderId));
+        }
+        if (removed) {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private boolean advance(Long orderId, OrderStatus status) {
+        try {
+            orderService.updateStatus(orderId, status);
+            return true;
+        } catch (BadRequestException | ResourceNotFoundException ex) {
+            // Staff already moved the order further along, or it was deleted meanwhile.
+            log.debug("Dispatch did not move order {} to {}: {}", orderId, status, ex.getMessage());
+            return false;
+        }
+    }
+
+    private static final class Neighborhood {
+        private final String name;
+        // Oldest first; guarded by the neighborhood's monitor.
+        private final Deque<Stop> stops = new ArrayDeque<>();
+
+        private Neighborhood(String name) {
+            this.name = name;
+        }
+    }
+
+    private record Stop(Long orderId, String street, String number, long readyAt) {}
+}
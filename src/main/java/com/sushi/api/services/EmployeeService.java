@@ -2,6 +2,7 @@ package com.sushi.api.services;
 
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Employee;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.employee.EmployeeRequestDTO;
 import com.sushi.api.model.dto.employee.EmployeeUpdateDTO;
 import com.sushi.api.repositories.EmployeeRepository;
@@ -10,9 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,16 +25,30 @@ public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
     @Autowired
+    private NdjsonWriter ndjsonWriter;
+    @Autowired
     private PasswordEncoder passwordEncoder;
 
     public Page<Employee> listAllPageable(Pageable pageable) {
         return employeeRepository.findAll(pageable);
     }
 
+    public CursorPageDTO<Employee> scroll(String cursor, int size) {
+        Pageable page = CursorPagination.firstPage(size);
+        Slice<Employee> slice = cursor == null
+                ? employeeRepository.findAllBy(page)
+                : employeeRepository.findByIdGreaterThan(CursorPagination.decodeUuid(cursor), page);
+        return CursorPagination.toPage(slice, Employee::getId);
+    }
+
     public List<Employee> listAllNonPageable() {
         return employeeRepository.findAll();
     }
 
+    public void writeAllNdjson(OutputStream out) throws IOException {
+        ndjsonWriter.write(employeeRepository::streamAll, out);
+    }
+
     public Employee findEmployeeById(UUID id) {
         return employeeRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee not found with this id."));
     }
@@ -0,0 +1,130 @@
+package com.sushi.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
+import com.sushi.api.model.IdempotencyKey;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.repositories.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Makes order submission safe to retry. The first request with a given Idempotency-Key creates
+ * the order and stores the key in the same transaction; retries are answered from a bounded
+ * in-memory cache, or from the idempotency_keys table once the entry has been evicted, without
+ * calling {@link OrderService#createOrder} again. Keys are scoped to the order's customer, and a
+ * key replayed with a different request body is rejected with 422 rather than answered with an
+ * order the client did not ask for.
+ */
+@Service
+public class IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Stored(Order order, String requestHash) {}
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<IdempotencyKey.Key, Stored> recentOrders;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, OrderService orderService,
+                              TransactionTemplate transactionTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${orders.idempotency.max-entries:10000}") long maxEntries) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.recentOrders = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentOrders, "orders.idempotency");
+    }
+
+    public Order createOrder(String key, OrderRequestDTO dto) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        IdempotencyKey.Key id = new IdempotencyKey.Key(dto.customerId(), key);
+        String requestHash = hash(dto);
+
+        Stored cached = recentOrders.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        Optional<Stored> stored = findStored(id);
+        if (stored.isPresent()) {
+            recentOrders.put(id, stored.get());
+            return replay(stored.get(), requestHash);
+        }
+
+        try {
+            Order order = transactionTemplate.execute(status -> {
+                Order created = orderService.createOrder(dto);
+                idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(id, requestHash, created.getId(), created.getOrderDate(), LocalDateTime.now()));
+                return created;
+            });
+            recentOrders.put(id, new Stored(order, requestHash));
+            return order;
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent retry with the same key committed first; its order is the answer.
+            Stored winner = findStored(id).orElseThrow(() -> ex);
+            recentOrders.put(id, winner);
+            return replay(winner, requestHash);
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private Optional<Stored> findStored(IdempotencyKey.Key id) {
+        return idempotencyKeyRepository.findById(id)
+                .map(idempotencyKey -> new Stored(orderService.findOrderById(idempotencyKey.getOrderId(), idempotencyKey.getOrderDate()),
+                        idempotencyKey.getRequestHash()));
+    }
+
+    private static Order replay(Stored stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException("Idempotency-Key was already used with a different request body.");
+        }
+        return stored.order();
+    }
+
+    // Hashes the parsed body rather than the raw bytes, so whitespace or field order do not matter.
+    private String hash(OrderRequestDTO dto) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(dto);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not hash the order request", ex);
+        }
+    }
+}
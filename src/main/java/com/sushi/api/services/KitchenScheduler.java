@@ -0,0 +1,352 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.KitchenStation;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.dto.kitchen.KitchenStationDTO;
+import com.sushi.api.model.dto.kitchen.KitchenTicketDTO;
+import com.sushi.api.repositories.OrderItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes the items of placed orders to kitchen stations. Each station keeps a lock-free queue
+ * ordered by order age, so the oldest order is always prepared first. A new item goes to the
+ * station of its kind with the smallest backlog, and a station whose queue is empty takes the
+ * oldest ticket from its busiest sibling. Claiming the first item of an order moves it to
+ * PREPARING; completing the last one moves it to READY. Editing an order queues its added items
+ * and drops the tickets of removed ones; deleting it, or moving it past PREPARING by hand, drops
+ * all of its tickets.
+ *
+ * <p>The queues live in memory only. Completed items are marked prepared in the database, and on
+ * startup the unprepared items of every RECEIVED or PREPARING order are queued again.
+ */
+@Service
+public class KitchenScheduler {
+    private static final Logger log = LoggerFactory.getLogger(KitchenScheduler.class);
+    private static final Comparator<Ticket> OLDEST_FIRST = Comparator.comparing(Ticket::orderDate)
+            .thenComparing(Ticket::orderId)
+            .thenComparing(Ticket::id);
+
+    private final OrderService orderService;
+    private final OrderItemRepository orderItemRepository;
+    private final Map<String, Station> stations = new LinkedHashMap<>();
+    private final Map<KitchenStation, List<Station>> stationsByType = new EnumMap<>(KitchenStation.class);
+    private final ConcurrentMap<Long, ClaimedTicket> claimed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, OrderProgress> openOrders = new ConcurrentHashMap<>();
+
+    public KitchenScheduler(OrderService orderService, OrderItemRepository orderItemRepository, MeterRegistry meterRegistry,
+                            @Value("${kitchen.stations.sushi-bar:1}") int sushiBars,
+                            @Value("${kitchen.stations.hot-kitchen:1}") int hotKitchens,
+                            @Value("${kitchen.stations.fryer:1}") int fryers) {
+        this.orderService = orderService;
+        this.orderItemRepository = orderItemRepository;
+        addStations(KitchenStation.SUSHI_BAR, sushiBars, meterRegistry);
+        addStations(KitchenStation.HOT_KITCHEN, hotKitchens, meterRegistry);
+        addStations(KitchenStation.FRYER, fryers, meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        Order order = event.order();
+        if (event.type() == OrderEventType.CREATED) {
+            enqueue(order);
+        } else if (event.type() == OrderEventType.UPDATED) {
+            reconcile(order, event.previous());
+        } else if (event.type() == OrderEventType.DELETED
+                || (event.type() == OrderEventType.STATUS_CHANGED && OrderStatus.PREPARING.canAdvanceTo(order.getStatus()))) {
+            withdraw(order.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersPurged(OrdersPurgedEvent event) {
+        event.orderIds().forEach(this::withdraw);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreBacklog() {
+        List<Order> orders = orderService.findOrdersByStatus(List.of(OrderStatus.RECEIVED, OrderStatus.PREPARING));
+        orders.forEach(this::enqueue);
+        log.info("Queued {} open orders for the kitchen", orders.size());
+    }
+
+    public void enqueue(Order order) {
+        if (order.getItems().isEmpty()) {
+            return;
+        }
+        List<OrderItem> unprepared = order.getItems().stream()
+                .filter(item -> item.getPreparedAt() == null)
+                .toList();
+        if (unprepared.isEmpty()) {
+            // Every item was completed, but the restart came before the order was moved to READY.
+            advance(order.getId(), OrderStatus.READY);
+            return;
+        }
+        OrderProgress progress = new OrderProgress(order.getStatus());
+        unprepared.forEach(item -> progress.open.add(item.getId()));
+        if (openOrders.putIfAbsent(order.getId(), progress) != null) {
+            return;
+        }
+        unprepared.forEach(item -> queue(order, item));
+    }
+
+    public Optional<KitchenTicketDTO> claim(String stationId) {
+        Station station = findStation(stationId);
+        Ticket ticket = station.poll();
+        if (ticket == null) {
+            ticket = stealFromSibling(station);
+        }
+        if (ticket == null) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+        station.waitTime.record(now - ticket.enqueuedAt(), TimeUnit.NANOSECONDS);
+        claimed.put(ticket.id(), new ClaimedTicket(ticket, station, now));
+
+        OrderProgress progress = openOrders.get(ticket.orderId());
+        if (progress != null && progress.started.compareAndSet(false, true)) {
+            advance(ticket.orderId(), OrderStatus.PREPARING);
+        }
+        return Optional.of(new KitchenTicketDTO(ticket.id(), ticket.orderId(), ticket.product(),
+                ticket.quantity(), station.id, ticket.orderDate()));
+    }
+
+    public void complete(Long ticketId) {
+        ClaimedTicket claimedTicket = claimed.remove(ticketId);
+        if (claimedTicket == null) {
+            throw new ResourceNotFoundException("No claimed kitchen ticket with this id.");
+        }
+        Ticket ticket = claimedTicket.ticket();
+        try {
+            orderItemRepository.markPrepared(ticket.id(), ticket.orderDate());
+        } catch (RuntimeException ex) {
+            claimed.putIfAbsent(ticketId, claimedTicket);
+            throw ex;
+        }
+        Station station = claimedTicket.station();
+        station.completed.increment();
+        station.preparationTime.record(System.nanoTime() - claimedTicket.claimedAt(), TimeUnit.NANOSECONDS);
+        finishItem(ticket.orderId(), ticket.id());
+    }
+
+    public List<KitchenStationDTO> listStations() {
+        return stations.values().stream()
+                .map(station -> new KitchenStationDTO(station.id, station.type, station.backlog.get()))
+                .toList();
+    }
+
+    private void reconcile(Order order, OrderSnapshot previous) {
+        OrderProgress progress = openOrders.get(order.getId());
+        if (progress == null || previous == null) {
+            // The kitchen is done with this order, or never saw it.
+            return;
+        }
+        Map<Long, OrderSnapshot.Line> before = new HashMap<>();
+        previous.lines().forEach(line -> before.put(line.itemId(), line));
+        Set<Long> current = new HashSet<>();
+        for (OrderItem item : order.getItems()) {
+            current.add(item.getId());
+            OrderSnapshot.Line line = before.get(item.getId());
+            if (line == null) {
+                progress.open.add(item.getId());
+                queue(order, item);
+            } else if ((!line.productId().equals(item.getProduct().getId()) || line.quantity() != item.getQuantity())
+                    && unqueue(order, item.getId())) {
+                // Still waiting, so the station gets the new product and quantity; a claimed ticket is
+                // already being prepared as it was.
+                queue(order, item);
+            }
+        }
+        for (Long itemId : before.keySet()) {
+            if (!current.contains(itemId)) {
+                unqueue(order, itemId);
+                claimed.remove(itemId);
+                finishItem(order.getId(), itemId);
+            }
+        }
+    }
+
+    private void withdraw(Long orderId) {
+        openOrders.remove(orderId);
+        stations.values().forEach(station -> station.removeOrder(orderId));
+        claimed.values().removeIf(claimedTicket -> claimedTicket.ticket().orderId().equals(orderId));
+    }
+
+    private void queue(Order order, OrderItem item) {
+        Station station = leastBacklogged(stationsByType.get(item.getProduct().getStation()));
+        station.add(new Ticket(item.getId(), order.getId(), order.getOrderDate(),
+                item.getProduct().getName(), item.getQuantity(), System.nanoTime()));
+    }
+
+    private boolean unqueue(Order order, Long itemId) {
+        // Tickets are ordered by order date, order and item, so a probe with those finds the queued one.
+        Ticket probe = new Ticket(itemId, order.getId(), order.getOrderDate(), null, null, 0);
+        for (Station station : stations.values()) {
+            if (station.remove(probe)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void finishItem(Long orderId, Long itemId) {
+        OrderProgress progress = openOrders.get(orderId);
+        if (progress != null && progress.open.remove(itemId) && progress.open.isEmpty()
+                && openOrders.remove(orderId, progress)) {
+            advance(orderId, OrderStatus.READY);
+        }
+    }
+
+    private Ticket stealFromSibling(Station station) {
+        Station busiest = null;
+        for (Station sibling : stationsByType.get(station.type)) {
+            if (sibling != station && (busiest == null || sibling.backlog.get() > busiest.backlog.get())) {
+                busiest = sibling;
+            }
+        }
+        return busiest != null ? busiest.poll() : null;
+    }
+
+    private void advance(Long orderId, OrderStatus status) {
+        try {
+            orderService.updateStatus(orderId, status);
+        } catch (BadRequestException | ResourceNotFoundException ex) {
+            // Staff already moved the order further along, or it was deleted meanwhile.
+            log.debug("Kitchen did not move order {} to {}: {}", orderId, status, ex.getMessage());
+        }
+    }
+
+    private Station findStation(String stationId) {
+        Station station = stations.get(stationId);
+        if (station == null) {
+            throw new ResourceNotFoundException("Kitchen station not found with this id.");
+        }
+        return station;
+    }
+
+    private static Station leastBacklogged(List<Station> candidates) {
+        Station least = candidates.get(0);
+        for (Station candidate : candidates) {
+            if (candidate.backlog.get() < least.backlog.get()) {
+                least = candidate;
+            }
+        }
+        return least;
+    }
+
+    private void addStations(KitchenStation type, int count, MeterRegistry meterRegistry) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one " + type + " station is required");
+        }
+        List<Station> ofType = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Station station = new Station(type.name().toLowerCase(Locale.ROOT).replace('_', '-') + "-" + i, type, meterRegistry);
+            stations.put(station.id, station);
+            ofType.add(station);
+        }
+        stationsByType.put(type, List.copyOf(ofType));
+    }
+
+    private static final class Station {
+        private final String id;
+        private final KitchenStation type;
+        private final ConcurrentSkipListSet<Ticket> queue = new ConcurrentSkipListSet<>(OLDEST_FIRST);
+        // ConcurrentSkipListSet.size() walks the whole set, so the backlog is counted separately.
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final Counter completed;
+        private final Timer waitTime;
+        private final Timer preparationTime;
+
+        private Station(String id, KitchenStation type, MeterRegistry meterRegistry) {
+            this.id = id;
+            this.type = type;
+            Gauge.builder("kitchen.station.backlog", backlog, AtomicInteger::get)
+                    .description("Tickets waiting to be claimed by a kitchen station")
+                    .tag("station", id)
+                    .register(meterRegistry);
+            this.completed = Counter.builder("kitchen.station.completed")
+                    .description("Tickets completed by a kitchen station")
+                    .tag("station", id)
+                    .register(meterRegistry);
+            this.waitTime = Timer.builder("kitchen.ticket.wait")
+                    .description("Time a ticket waited before a station claimed it")
+                    .tag("station", id)
+                    .register(meterRegistry);
+            this.preparationTime = Timer.builder("kitchen.ticket.preparation")
+                    .description("Time between a station claiming and completing a ticket")
+                    .tag("station", id)
+                    .register(meterRegistry);
+        }
+
+        private void add(Ticket ticket) {
+            if (queue.add(ticket)) {
+                backlog.incrementAndGet();
+            }
+        }
+
+        private Ticket poll() {
+            Ticket ticket = queue.pollFirst();
+            if (ticket != null) {
+                backlog.decrementAndGet();
+            }
+            return ticket;
+        }
+
+        private boolean remove(Ticket ticket) {
+            if (queue.remove(ticket)) {
+                backlog.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private void removeOrder(Long orderId) {
+            for (Ticket ticket : queue) {
+                if (ticket.orderId().equals(orderId)) {
+                    remove(ticket);
+                }
+            }
+        }
+    }
+
+    private record Ticket(Long id, Long orderId, LocalDateTime orderDate, String product, Integer quantity, long enqueuedAt) {}
+
+    private record ClaimedTicket(Ticket ticket, Station station, long claimedAt) {}
+
+    private static final class OrderProgress {
+        // Items not completed yet; the order is READY once this is empty.
+        private final Set<Long> open = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean started;
+
+        private OrderProgress(OrderStatus status) {
+            this.started = new AtomicBoolean(status != OrderStatus.RECEIVED);
+        }
+    }
+}
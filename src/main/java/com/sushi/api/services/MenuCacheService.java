@@ -0,0 +1,126 @@
+package com.sushi.api.services;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sushi.api.events.CategoryChangedEvent;
+import com.sushi.api.events.ProductChangedEvent;
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Read-through cache for the public menu reads: products and categories by id, by page and as
+ * the full list ({@link Pageable#unpaged()}). Concurrent misses on a key share one load, and an
+ * entry older than {@code menu.cache.refresh-after} is reloaded in the background on its next
+ * read while the old value keeps being served, so popular pages never wait on the database.
+ * Entries that were not refreshed expire {@code menu.cache.ttl} after they were loaded, which
+ * bounds how long changes made on another instance can go unseen.
+ *
+ * <p>Changes evict after commit. A product change evicts that product, every product page and
+ * the categories that list it before or after the change; a category change evicts that category
+ * and every category page. Cached entities are detached and shared, so they must not be modified.
+ * Metrics are exported as cache.*{cache=menu.products|menu.product-pages|menu.categories|menu.category-pages}.
+ */
+@Service
+public class MenuCacheService {
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final LoadingCache<Long, Product> products;
+    private final LoadingCache<Pageable, List<Product>> productPages;
+    private final LoadingCache<Long, Category> categories;
+    private final LoadingCache<Pageable, List<Category>> categoryPages;
+
+    @Autowired
+    public MenuCacheService(ProductService productService, CategoryService categoryService, MeterRegistry meterRegistry,
+                            @Value("${menu.cache.max-entries:1000}") long maxEntries,
+                            @Value("${menu.cache.ttl:10m}") Duration ttl,
+                            @Value("${menu.cache.refresh-after:1m}") Duration refreshAfter) {
+        this(productService, categoryService, meterRegistry, maxEntries, ttl, refreshAfter, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    MenuCacheService(ProductService productService, CategoryService categoryService, MeterRegistry meterRegistry,
+                     long maxEntries, Duration ttl, Duration refreshAfter, Ticker ticker, Executor executor) {
+        if (refreshAfter.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("menu.cache.refresh-after must be shorter than menu.cache.ttl");
+        }
+        this.productService = productService;
+        this.categoryService = categoryService;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats();
+        this.products = build(builder, productService::findProductById, meterRegistry, "menu.products");
+        this.productPages = build(builder, pageable -> pageable.isUnpaged()
+                ? productService.listAllNonPageable()
+                : productService.listAllPageable(pageable).getContent(), meterRegistry, "menu.product-pages");
+        this.categories = build(builder, categoryService::findCategoryById, meterRegistry, "menu.categories");
+        this.categoryPages = build(builder, pageable -> pageable.isUnpaged()
+                ? categoryService.listAllNonPageable()
+                : categoryService.listAllPageable(pageable).getContent(), meterRegistry, "menu.category-pages");
+    }
+
+    public Product findProduct(Long id) {
+        return products.get(id);
+    }
+
+    public List<Product> listProducts(Pageable pageable) {
+        return productPages.get(pageable);
+    }
+
+    public Category findCategory(Long id) {
+        return categories.get(id);
+    }
+
+    public List<Category> listCategories(Pageable pageable) {
+        return categoryPages.get(pageable);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long productId = event.product().getId();
+        Set<Long> affected = new HashSet<>();
+        categories.asMap().forEach((id, category) -> {
+            if (category.getProducts().stream().anyMatch(product -> productId.equals(product.getId()))) {
+                affected.add(id);
+            }
+        });
+        if (!event.deleted()) {
+            event.product().getCategories().forEach(category -> affected.add(category.getId()));
+        }
+        products.invalidate(productId);
+        productPages.invalidateAll();
+        categories.invalidateAll(affected);
+        categoryPages.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categories.invalidate(event.categoryId());
+        categoryPages.invalidateAll();
+    }
+
+    private static <K, V> LoadingCache<K, V> build(Caffeine<Object, Object> builder, CacheLoader<K, V> loader,
+                                                   MeterRegistry meterRegistry, String name) {
+        LoadingCache<K, V> cache = builder.build(loader);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+}
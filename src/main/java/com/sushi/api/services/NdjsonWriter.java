@@ -0,0 +1,63 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Backs the {@code mediaType=ndjson} mode of the {@code /list} endpoints. Rows come from a
+ * {@link Stream} repository query, which needs the read-only transaction opened here to keep its
+ * cursor open, and are written one JSON object per line. Each entity is detached once written so
+ * the persistence context does not grow with the table, and the output is flushed every
+ * {@code streaming.ndjson.flush-interval} lines so clients can start consuming right away.
+ */
+@Component
+public class NdjsonWriter {
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushInterval;
+
+    public NdjsonWriter(EntityManager entityManager, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                        @Value("${streaming.ndjson.flush-interval:100}") int flushInterval) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.flushInterval = flushInterval;
+    }
+
+    public <T> void write(Supplier<Stream<T>> query, OutputStream out) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<T> rows = query.get()) {
+                    int written = 0;
+                    for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+                        T row = iterator.next();
+                        out.write(objectMapper.writeValueAsBytes(row));
+                        out.write('\n');
+                        entityManager.detach(row);
+                        if (++written % flushInterval == 0) {
+                            out.flush();
+                        }
+                    }
+                    out.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an update in its own transaction and turns a lost optimistic lock race into a
+ * {@link ConflictException} carrying the current state.
+ *
+ * <p>{@link #execute} runs the update again on freshly loaded state, up to a fixed number of
+ * attempts with a short jittered backoff, and is only for updates that are safe to repeat, such as
+ * moving an order to a given status. Full replaces go through {@link #executeOnce}: repeating
+ * one would write the losing client's body over the winner's, so the client has to reload and
+ * decide instead.
+ */
+@Component
+public class OptimisticLockRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                               @Value("${concurrency.retry.max-attempts:3}") int maxAttempts,
+                               @Value("${concurrency.retry.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(String entity, Supplier<T> update, Supplier<?> currentState) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts || !pause(attempt)) {
+                    conflicts(entity, "rejected").increment();
+                    throw new ConflictException(entity + " was modified concurrently, reload it and try again.", currentState.get());
+                }
+                conflicts(entity, "retried").increment();
+            }
+        }
+    }
+
+    public <T> T executeOnce(String entity, Supplier<T> update, Supplier<?> currentState) {
+        try {
+            return transactionTemplate.execute(status -> update.get());
+        } catch (OptimisticLockingFailureException ex) {
+            conflicts(entity, "rejected").increment();
+            throw new ConflictException(entity + " was modified concurrently, reload it and try again.", currentState.get());
+        }
+    }
+
+    private Counter conflicts(String entity, String outcome) {
+        return Counter.builder("entity.optimistic.conflicts")
+                .description("Updates that lost an optimistic lock race")
+                .tag("entity", entity)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private boolean pause(int attempt) {
+        long maxMillis = backoff.toMillis() * attempt;
+        if (maxMillis <= 0) {
+            return true;
+        }
+        try {
+            // Jitter keeps two writers that collided from colliding again on the next attempt.
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.sushi.api.services;
+
+import com.sushi.api.archive.ArchivedOrder;
+import com.sushi.api.archive.ArchivedOrderItem;
+import com.sushi.api.archive.OrderArchiveFile;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.Product;
+import com.sushi.api.repositories.AddressRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage for orders older than the partition retention. Partitions that
+ * {@link OrderPartitionService} moved to the archive schema are exported to one
+ * {@link OrderArchiveFile} per month and then dropped from the database. The export reads a
+ * partition through a forward-only cursor {@code orders.archive.fetch-size} rows at a time and
+ * hands each order to the file writer, which holds one row group at most, so a month of any size
+ * is exported in bounded memory. Reads fall back here when an order is no longer in the database;
+ * each file's footer index is cached, so only row groups whose id or date range and customer
+ * filter can match are decompressed.
+ *
+ * <p>The export runs on one node at a time under a {@link ClusterLock}, and every node reads the
+ * files it writes, so {@code orders.archive.directory} has to be storage shared by all nodes,
+ * such as a network mount. Cached indexes are keyed by the file's modification time, so a month
+ * exported again by another node is picked up.
+ */
+@Service
+public class OrderArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+    private static final Pattern ARCHIVED_PARTITION = Pattern.compile("orders_p(\\d{4}_\\d{2})");
+    private static final String EXPORT_SQL = """
+            SELECT o.id, o.order_date, o.customer_id, o.delivery_address_id, o.total_amount, o.version, o.status,
+                   i.id AS item_id, i.product_id, p.name AS product_name, i.quantity, i.price, i.total_price
+            FROM archive.orders_p%s o
+            LEFT JOIN archive.order_item_p%s i ON i.order_id = o.id AND i.order_date = o.order_date
+            LEFT JOIN products p ON p.id = i.product_id
+            ORDER BY o.id, i.id""";
+    private static final Comparator<ArchivedOrder> NEWEST_FIRST = Comparator.comparing(ArchivedOrder::orderDate)
+            .thenComparingLong(ArchivedOrder::id)
+            .reversed();
+
+    private record CachedIndex(FileTime modified, OrderArchiveFile.Index index) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AddressRepository addressRepository;
+    private final ClusterLock clusterLock;
+    private final int fetchSize;
+    private final Path directory;
+    private final Map<Path, CachedIndex> indexes = new ConcurrentHashMap<>();
+
+    public OrderArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               AddressRepository addressRepository, ClusterLock clusterLock,
+                               @Value("${orders.archive.fetch-size:1000}") int fetchSize,
+                               @Value("${orders.archive.directory:archive/orders}") Path directory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.addressRepository = addressRepository;
+        this.clusterLock = clusterLock;
+        this.fetchSize = fetchSize;
+        this.directory = directory;
+    }
+
+    @Scheduled(cron = "${orders.archive.export-cron:0 0 4 1 * *}")
+    public void exportArchivedPartitions() {
+        clusterLock.runExclusively("orders-archive-export", this::exportAll);
+    }
+
+    private void exportAll() {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT table_name FROM information_schema.tables
+                WHERE table_schema = 'archive' AND table_name LIKE 'orders\\_p%'
+                ORDER BY table_name""", String.class);
+        for (String partition : partitions) {
+            Matcher matcher = ARCHIVED_PARTITION.matcher(partition);
+            if (matcher.matches()) {
+                export(matcher.group(1));
+            }
+        }
+    }
+
+    public Optional<Order> findOrder(Long id) {
+        for (Path file : files()) {
+            OrderArchiveFile.Index index = index(file);
+            if (index.mayContainOrder(id)) {
+                Optional<Order> order = read(file, index, group -> group.mayContainOrder(id)).stream()
+                        .filter(archived -> archived.id() == id)
+                        .findFirst()
+                        .map(archived -> toOrder(archived, addresses(List.of(archived))));
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Archived orders of a customer placed before the (before, beforeId) position, newest first.
+     * Files cover disjoint months and are read newest first, so reading stops once enough orders
+     * were found.
+     */
+    public List<Order> findCustomerOrders(UUID customerId, LocalDateTime before, Long beforeId, int limit) {
+        List<ArchivedOrder> found = new ArrayList<>();
+        for (Path file : files()) {
+            if (found.size() >= limit) {
+                break;
+            }
+            OrderArchiveFile.Index index = index(file);
+            Predicate<OrderArchiveFile.RowGroup> candidate = group -> group.mayContainCustomer(customerId)
+                    && (before == null || !group.minOrderDate().isAfter(before));
+            if (index.rowGroups().stream().noneMatch(candidate)) {
+                continue;
+            }
+            List<ArchivedOrder> matches = new ArrayList<>();
+            for (ArchivedOrder archived : read(file, index, candidate)) {
+                if (archived.customerId().equals(customerId) && isBefore(archived, before, beforeId)) {
+                    matches.add(archived);
+                }
+            }
+            matches.sort(NEWEST_FIRST);
+            found.addAll(matches);
+        }
+        List<ArchivedOrder> page = found.size() > limit ? found.subList(0, limit) : found;
+        Map<Long, Address> addresses = addresses(page);
+        List<Order> orders = new ArrayList<>(page.size());
+        for (ArchivedOrder archived : page) {
+            orders.add(toOrder(archived, addresses));
+        }
+        return orders;
+    }
+
+    private void export(String suffix) {
+        Path file = directory.resolve("orders-" + suffix.replace('_', '-') + ".archive");
+        Path partial = directory.resolve(file.getFileName() + ".partial");
+        int orders;
+        try {
+            Files.createDirectories(directory);
+            try (OrderArchiveFile.Writer writer = OrderArchiveFile.writer(partial)) {
+                PartitionReader reader = new PartitionReader(writer);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(EXPORT_SQL.formatted(suffix, suffix),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                }, reader));
+                reader.finish();
+                orders = writer.orders();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        indexes.remove(file);
+
+        // Dropped only once the file is safely in place; a failed export is retried next month.
+        jdbcTemplate.execute("DROP TABLE archive.order_item_p" + suffix);
+        jdbcTemplate.execute("DROP TABLE archive.orders_p" + suffix);
+        log.info("Exported {} archived orders to {}", orders, file);
+    }
+
+    /**
+     * Folds the joined order/item rows, which arrive sorted by order id, back into orders and
+     * hands each one to the writer as soon as its last item has been read.
+     */
+    private static final class PartitionReader implements RowCallbackHandler {
+        private final OrderArchiveFile.Writer writer;
+        private long id;
+        private LocalDateTime orderDate;
+        private UUID customerId;
+        private long deliveryAddressId, totalAmount, version;
+        private String status;
+        private List<ArchivedOrderItem> items;
+
+        private PartitionReader(OrderArchiveFile.Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowId = rs.getLong("id");
+            if (items == null || rowId != id) {
+                finish();
+                id = rowId;
+                orderDate = rs.getObject("order_date", Timestamp.class).toLocalDateTime();
+                customerId = rs.getObject("customer_id", UUID.class);
+                deliveryAddressId = rs.getLong("delivery_address_id");
+                totalAmount = rs.getLong("total_amount");
+                version = rs.getLong("version");
+                status = rs.getString("status");
+                items = new ArrayList<>();
+            }
+            Long itemId = rs.getObject("item_id", Long.class);
+            if (itemId != null) {
+                items.add(new ArchivedOrderItem(itemId, rs.getLong("product_id"), rs.getString("product_name"),
+                        rs.getInt("quantity"), rs.getLong("price"), rs.getLong("total_price")));
+            }
+        }
+
+        private void finish() {
+            if (items == null) {
+                return;
+            }
+            try {
+                writer.add(new ArchivedOrder(id, orderDate, customerId, deliveryAddressId, totalAmount, version, status, items));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            items = null;
+        }
+    }
+
+    private List<Path> files() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        // Names embed the month, so reverse name order is newest month first.
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".archive"))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private OrderArchiveFile.Index index(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            CachedIndex cached = indexes.get(file);
+            if (cached == null || !cached.modified().equals(modified)) {
+                cached = new CachedIndex(modified, OrderArchiveFile.readIndex(file));
+                indexes.put(file, cached);
+            }
+            return cached.index();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static List<ArchivedOrder> read(Path file, OrderArchiveFile.Index index,
+                                            Predicate<OrderArchiveFile.RowGroup> rowGroups) {
+        try {
+            return OrderArchiveFile.read(file, index, rowGroups);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static boolean isBefore(ArchivedOrder order, LocalDateTime before, Long beforeId) {
+        if (before == null) {
+            return true;
+        }
+        int byDate = order.orderDate().compareTo(before);
+        return byDate < 0 || (byDate == 0 && order.id() < beforeId);
+    }
+
+    // One query for the addresses of a whole page instead of one per order.
+    private Map<Long, Address> addresses(List<ArchivedOrder> orders) {
+        Set<Long> ids = new HashSet<>();
+        for (ArchivedOrder archived : orders) {
+            ids.add(archived.deliveryAddressId());
+        }
+        Map<Long, Address> addresses = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Address address : addressRepository.findAllById(ids)) {
+                addresses.put(address.getId(), address);
+            }
+        }
+        return addresses;
+    }
+
+    private static Order toOrder(ArchivedOrder archived, Map<Long, Address> addresses) {
+        Order order = new Order(archived.id(), null, addresses.get(archived.deliveryAddressId()),
+                new ArrayList<>(archived.items().size()));
+        order.setOrderDate(archived.orderDate());
+        order.setTotalAmount(archived.totalAmount());
+        order.setVersion(archived.version());
+        order.setStatus(OrderStatus.valueOf(archived.status()));
+        for (ArchivedOrderItem archivedItem : archived.items()) {
+            OrderItem item = new OrderItem(archivedItem.id(), archivedItem.quantity(), archivedItem.price());
+            item.setTotalPrice(archivedItem.totalPrice());
+            item.setProduct(new Product(archivedItem.productId(), archivedItem.productName(), null));
+            item.setOrder(order);
+            order.getItems().add(item);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,105 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.dto.order.OrderBatchResponseDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderBatchStatus;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports orders from a JSON array or newline-delimited JSON body. Orders are read one at a
+ * time from the stream, validated, and handed to {@link OrderService#createOrders} in chunks so
+ * each chunk is priced and persisted in its own transaction.
+ */
+@Service
+public class OrderBatchService {
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public OrderBatchService(OrderService orderService, ObjectMapper objectMapper, Validator validator,
+                             @Value("${orders.batch.chunk-size:100}") int chunkSize) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public OrderBatchResponseDTO importOrders(InputStream body) throws IOException {
+        List<OrderBatchResultDTO> results = new ArrayList<>();
+        Map<Integer, OrderRequestDTO> chunk = new LinkedHashMap<>();
+        int index = 0;
+
+        try (MappingIterator<OrderRequestDTO> iterator = objectMapper.readerFor(OrderRequestDTO.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                OrderRequestDTO dto = iterator.nextValue();
+                String violations = validate(dto);
+                if (violations != null) {
+                    results.add(OrderBatchResultDTO.failed(index, violations));
+                } else {
+                    chunk.put(index, dto);
+                }
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    results.addAll(persist(chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            results.add(OrderBatchResultDTO.failed(index, "Malformed order, import stopped: " + ex.getOriginalMessage()));
+        }
+
+        if (!chunk.isEmpty()) {
+            results.addAll(persist(chunk));
+        }
+        results.sort(Comparator.comparing(OrderBatchResultDTO::index));
+
+        int created = (int) results.stream().filter(result -> result.status() == OrderBatchStatus.CREATED).count();
+        return new OrderBatchResponseDTO(results.size(), created, results.size() - created, results);
+    }
+
+    private List<OrderBatchResultDTO> persist(Map<Integer, OrderRequestDTO> chunk) {
+        try {
+            return orderService.createOrders(chunk);
+        } catch (RuntimeException ex) {
+            // Whatever made the chunk fail, its transaction rolled back; the import goes on with the next chunk.
+            String reason = "Chunk rolled back: " + reason(ex);
+            return chunk.keySet().stream()
+                    .map(index -> OrderBatchResultDTO.failed(index, reason))
+                    .toList();
+        }
+    }
+
+    private static String reason(RuntimeException ex) {
+        Throwable cause = ex instanceof DataAccessException dataAccess ? dataAccess.getMostSpecificCause() : ex;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private String validate(OrderRequestDTO dto) {
+        if (dto == null) {
+            return "Order cannot be null";
+        }
+        Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
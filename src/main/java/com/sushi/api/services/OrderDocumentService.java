@@ -0,0 +1,174 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderDocumentDTO;
+import com.sushi.api.repositories.OrderDocumentRepository;
+import com.sushi.api.repositories.OrderDocumentRepository.DocumentRow;
+import com.sushi.api.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the order_documents read model in step with the orders table. Every order change is
+ * rendered to an {@link OrderDocumentDTO} and upserted in the transaction that made the change;
+ * deleted orders lose their document through the foreign key. The list endpoints then copy the
+ * stored documents to the response as they are, without loading a single entity; the NDJSON export
+ * is flushed every {@code streaming.ndjson.flush-interval} lines like the other NDJSON lists. Items
+ * carry the product id and name as they were when the order was last written.
+ */
+@Service
+public class OrderDocumentService {
+    private static final Logger log = LoggerFactory.getLogger(OrderDocumentService.class);
+    private static final Map<String, String> SORTABLE = Map.of("id", "orderId", "orderDate", "orderDate");
+
+    private final OrderDocumentRepository orderDocumentRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int flushInterval;
+
+    public OrderDocumentService(OrderDocumentRepository orderDocumentRepository, OrderRepository orderRepository,
+                                ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                                @Value("${orders.documents.chunk-size:500}") int chunkSize,
+                                @Value("${streaming.ndjson.flush-interval:100}") int flushInterval) {
+        this.orderDocumentRepository = orderDocumentRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.type() != OrderEventType.DELETED) {
+            save(event.order());
+        }
+    }
+
+    /**
+     * Maps the sort of a requested page onto the document columns, always ending on the order id so
+     * pages stay stable. The id follows the direction of the order date, so either sort is a scan of
+     * one index. Sorting by anything but the id or the order date is rejected.
+     */
+    public Pageable documentPage(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SORTABLE.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Orders cannot be sorted by " + order.getProperty()
+                        + ", sort by one of " + String.join(", ", SORTABLE.keySet()) + ".");
+            }
+            orders.add(new Sort.Order(order.getDirection(), column));
+            byId |= column.equals("orderId");
+        }
+        if (!byId) {
+            Sort.Direction direction = orders.isEmpty() ? Sort.Direction.ASC : orders.get(orders.size() - 1).getDirection();
+            orders.add(new Sort.Order(direction, "orderId"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+
+    /**
+     * Writes a page made by {@link #documentPage}.
+     */
+    public void writePage(Pageable documentPage, OutputStream out) throws IOException {
+        List<String> documents = orderDocumentRepository.findPage(documentPage);
+        out.write('[');
+        for (int i = 0; i < documents.size(); i++) {
+            writeDocument(documents.get(i), i == 0, out);
+        }
+        out.write(']');
+    }
+
+    public void writeAll(OutputStream out) throws IOException {
+        out.write('[');
+        forEachDocument((document, index) -> writeDocument(document, index == 0, out));
+        out.write(']');
+    }
+
+    public void writeAllNdjson(OutputStream out) throws IOException {
+        forEachDocument((document, index) -> {
+            out.write(document.getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+            if ((index + 1) % flushInterval == 0) {
+                out.flush();
+            }
+        });
+        out.flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int rendered = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = orderDocumentRepository.findOrderIdsWithoutDocument(chunkSize);
+                orderRepository.findByIdIn(ids).forEach(this::save);
+                return ids.size();
+            });
+            rendered += chunk;
+        } while (chunk == chunkSize);
+        if (rendered > 0) {
+            log.info("Rendered {} missing order documents", rendered);
+        }
+    }
+
+    private void save(Order order) {
+        try {
+            orderDocumentRepository.upsert(order.getId(), order.getOrderDate(), objectMapper.writeValueAsString(OrderDocumentDTO.of(order)));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not render order " + order.getId(), ex);
+        }
+    }
+
+    private void forEachDocument(DocumentConsumer consumer) throws IOException {
+        long afterId = 0;
+        long index = 0;
+        List<DocumentRow> rows;
+        // Keyset chunks keep memory flat however many orders there are.
+        do {
+            rows = orderDocumentRepository.findAfter(afterId, chunkSize);
+            for (DocumentRow row : rows) {
+                consumer.accept(row.getDocument(), index++);
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getOrderId();
+            }
+        } while (rows.size() == chunkSize);
+    }
+
+    private static void writeDocument(String document, boolean first, OutputStream out) throws IOException {
+        if (!first) {
+            out.write(',');
+        }
+        out.write(document.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private interface DocumentConsumer {
+        void accept(String document, long index) throws IOException;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventMessage;
+import com.sushi.api.events.OutboxSink;
+import com.sushi.api.model.OutboxEvent;
+import com.sushi.api.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for order events. Every {@link OrderEvent} is written to the order_outbox
+ * table by a synchronous listener, so it commits or rolls back together with the order change
+ * that raised it. A scheduled relay then locks the oldest rows with {@code FOR UPDATE SKIP
+ * LOCKED}, hands them to the {@link OutboxSink} and deletes them in the same transaction. Several
+ * nodes can poll at once without publishing the same row twice; a crash between publishing and
+ * committing republishes the batch, so delivery is at least once.
+ */
+@Service
+public class OrderOutboxService {
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter published;
+    private final Counter failed;
+
+    public OrderOutboxService(OutboxEventRepository outboxEventRepository, OutboxSink sink, ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                              @Value("${orders.outbox.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.published = Counter.builder("orders.outbox.published")
+                .description("Order events delivered to the outbox sink")
+                .register(meterRegistry);
+        this.failed = Counter.builder("orders.outbox.failed")
+                .description("Outbox batches the sink failed to deliver")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event.order());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize order " + event.order().getId(), ex);
+        }
+        outboxEventRepository.save(new OutboxEvent(event.order().getId(), event.type(), payload, LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                sent = transactionTemplate.execute(status -> publishNextBatch());
+            } while (sent == batchSize);
+        } catch (RuntimeException ex) {
+            failed.increment();
+            log.warn("Order outbox relay failed, the batch stays queued: {}", ex.getMessage());
+        }
+    }
+
+    private int publishNextBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publish(batch.stream()
+                    .map(event -> new OrderEventMessage(event.getId(), event.getType(), event.getOrderId(),
+                            event.getCreatedAt(), event.getPayload()))
+                    .toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        outboxEventRepository.deleteAllInBatch(batch);
+        published.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.sushi.api.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of orders and order_item. Partitions are created a few months
+ * ahead so inserts never fall into the DEFAULT partitions. Months older than the retention are
+ * detached and moved to the archive schema: they leave every query on orders but stay readable.
+ * Rows that reference an archived order (its read-model document and idempotency keys) are
+ * deleted first, as their foreign keys would otherwise block the detach. Both jobs run under a
+ * {@link ClusterLock}, so nodes starting or firing the same cron together do not race on the DDL.
+ */
+@Service
+public class OrderPartitionService {
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionService.class);
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern ORDERS_PARTITION = Pattern.compile("orders_p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterLock clusterLock;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    @Autowired
+    public OrderPartitionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ClusterLock clusterLock,
+                                 @Value("${orders.partitions.months-ahead:3}") int monthsAhead,
+                                 @Value("${orders.partitions.retention-months:24}") int retentionMonths) {
+        this(jdbcTemplate, transactionTemplate, clusterLock, Clock.systemDefaultZone(), monthsAhead, retentionMonths);
+    }
+
+    OrderPartitionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ClusterLock clusterLock,
+                          Clock clock, int monthsAhead, int retentionMonths) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("orders.partitions.retention-months must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterLock = clusterLock;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${orders.partitions.create-cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        clusterLock.runExclusively("orders-partitions", this::createPartitions);
+    }
+
+    @Scheduled(cron = "${orders.partitions.archive-cron:0 30 3 1 * *}")
+    public void archiveExpiredPartitions() {
+        clusterLock.runExclusively("orders-partitions", this::archivePartitions);
+    }
+
+    private void createPartitions() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String suffix = month.format(SUFFIX);
+            String from = month.atDay(1).toString();
+            String to = month.plusMonths(1).atDay(1).toString();
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS orders_p" + suffix
+                    + " PARTITION OF orders FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS order_item_p" + suffix
+                    + " PARTITION OF order_item FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        }
+    }
+
+    private void archivePartitions() {
+        YearMonth oldestKept = YearMonth.now(clock).minusMonths(retentionMonths - 1L);
+        for (YearMonth month : attachedMonths()) {
+            if (month.isBefore(oldestKept)) {
+                transactionTemplate.executeWithoutResult(status -> archive(month));
+                log.info("Archived order partitions for {}", month);
+            }
+        }
+    }
+
+    private List<YearMonth> attachedMonths() {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'orders' AND p.relnamespace = 'public'::regnamespace
+                ORDER BY c.relname""", String.class);
+        return names.stream()
+                .map(ORDERS_PARTITION::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .toList();
+    }
+
+    private void archive(YearMonth month) {
+        String suffix = month.format(SUFFIX);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        jdbcTemplate.update("DELETE FROM order_documents WHERE order_date >= CAST(? AS timestamp) AND order_date < CAST(? AS timestamp)", from, to);
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE order_date >= CAST(? AS timestamp) AND order_date < CAST(? AS timestamp)", from, to);
+        jdbcTemplate.execute("ALTER TABLE order_item DETACH PARTITION order_item_p" + suffix);
+        // The detached items still reference orders; drop that link before their month leaves too.
+        jdbcTemplate.execute("ALTER TABLE order_item_p" + suffix + " DROP CONSTRAINT IF EXISTS fk_order_item_order");
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION orders_p" + suffix);
+        jdbcTemplate.execute("ALTER TABLE order_item_p" + suffix + " SET SCHEMA archive");
+        jdbcTemplate.execute("ALTER TABLE orders_p" + suffix + " SET SCHEMA archive");
+    }
+}
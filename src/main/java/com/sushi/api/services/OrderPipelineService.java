@@ -0,0 +1,335 @@
+package com.sushi.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.exceptions.ServiceUnavailableException;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderHandleDTO;
+import com.sushi.api.model.dto.order.OrderPipelineStatus;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Accept-then-process mode for order creation. {@link #accept} only enqueues the request into a
+ * bounded buffer and returns a handle; dedicated threads then move orders through the
+ * validate, price, persist and notify stages, each draining its queue in batches. When the
+ * intake buffer is full new orders are rejected so callers back off instead of piling up.
+ * On shutdown intake closes first and each stage drains what it already holds, in order, until
+ * the drain timeout; orders still in flight after that are marked failed so callers resubmit.
+ */
+@Service
+public class OrderPipelineService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OrderPipelineService.class);
+
+    private final OrderService orderService;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration drainTimeout;
+    private final Cache<UUID, PendingOrder> handles;
+    private final Counter rejected;
+    private final List<Stage> stages;
+    private final Stage validateStage;
+
+    private volatile boolean running;
+    private volatile boolean closed;
+
+    public OrderPipelineService(OrderService orderService, Validator validator, MeterRegistry meterRegistry,
+                                @Value("${orders.pipeline.capacity:1024}") int capacity,
+                                @Value("${orders.pipeline.batch-size:50}") int batchSize,
+                                @Value("${orders.pipeline.handle-ttl:1h}") Duration handleTtl,
+                                @Value("${orders.pipeline.max-handles:100000}") long maxHandles,
+                                @Value("${orders.pipeline.drain-timeout:10s}") Duration drainTimeout) {
+        this.orderService = orderService;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.drainTimeout = drainTimeout;
+        this.handles = Caffeine.newBuilder()
+                .maximumSize(maxHandles)
+                .expireAfterWrite(handleTtl)
+                .build();
+        this.rejected = Counter.builder("orders.pipeline.rejected")
+                .description("Orders rejected because the intake buffer was full")
+                .register(meterRegistry);
+
+        Stage notifyStage = new Stage("notify", capacity, this::notifyOrders, null);
+        Stage persistStage = new Stage("persist", capacity, this::persistOrders, notifyStage);
+        Stage priceStage = new Stage("price", capacity, this::priceOrders, persistStage);
+        this.validateStage = new Stage("validate", capacity, this::validateOrders, priceStage);
+        this.stages = List.of(validateStage, priceStage, persistStage, notifyStage);
+    }
+
+    public OrderHandleDTO accept(OrderRequestDTO dto) {
+        if (closed) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Order intake is closed, retry later.");
+        }
+        PendingOrder pending = new PendingOrder(UUID.randomUUID(), dto, LocalDateTime.now());
+        handles.put(pending.handle, pending);
+        if (!validateStage.offer(pending)) {
+            handles.invalidate(pending.handle);
+            rejected.increment();
+            throw new ServiceUnavailableException("Order intake is full, retry later.");
+        }
+        return pending.toDTO();
+    }
+
+    public OrderHandleDTO findOrderHandle(UUID handle) {
+        PendingOrder pending = handles.getIfPresent(handle);
+        if (pending == null) {
+            throw new ResourceNotFoundException("Order handle not found.");
+        }
+        return pending.toDTO();
+    }
+
+    private void validateOrders(List<PendingOrder> batch) {
+        List<PendingOrder> valid = new ArrayList<>(batch.size());
+        for (PendingOrder pending : batch) {
+            Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(pending.dto);
+            if (violations.isEmpty()) {
+                valid.add(pending);
+            } else {
+                pending.fail(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        OrderReferences references = orderService.resolveReferences(valid.stream().map(pending -> pending.dto).toList());
+        for (PendingOrder pending : valid) {
+            String missingReference = references.findMissingReference(pending.dto);
+            if (missingReference != null) {
+                pending.fail(missingReference);
+            } else {
+                pending.references = references;
+                pending.status = OrderPipelineStatus.VALIDATED;
+            }
+        }
+    }
+
+    private void priceOrders(List<PendingOrder> batch) {
+        for (PendingOrder pending : batch) {
+            pending.order = orderService.priceOrder(pending.dto, pending.references);
+            pending.references = null;
+            pending.status = OrderPipelineStatus.PRICED;
+        }
+    }
+
+    private void persistOrders(List<PendingOrder> batch) {
+        try {
+            orderService.saveOrders(batch.stream().map(pending -> pending.order).toList());
+            batch.forEach(pending -> pending.status = OrderPipelineStatus.PERSISTED);
+        } catch (RuntimeException ex) {
+            log.warn("Could not persist a batch of {} orders", batch.size(), ex);
+            batch.forEach(pending -> pending.fail("Order could not be saved, submit it again."));
+        }
+    }
+
+    private void notifyOrders(List<PendingOrder> batch) {
+        for (PendingOrder pending : batch) {
+            pending.orderId = pending.order.getId();
+            pending.order = null;
+            pending.status = OrderPipelineStatus.COMPLETED;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        closed = false;
+        stages.forEach(Stage::start);
+    }
+
+    @Override
+    public void stop() {
+        closed = true;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        // Stages drain in order: a stage is only told to finish once everything upstream has
+        // handed its orders on, so nothing is left behind in a queue nobody reads.
+        for (Stage stage : stages) {
+            if (!stage.drain(deadline)) {
+                log.warn("Order pipeline stage {} did not drain within {}", stage.name, drainTimeout);
+                break;
+            }
+        }
+        stages.forEach(Stage::interrupt);
+        running = false;
+        failInFlight();
+    }
+
+    private void failInFlight() {
+        int failed = 0;
+        for (PendingOrder pending : handles.asMap().values()) {
+            OrderPipelineStatus status = pending.status;
+            if (status == OrderPipelineStatus.PERSISTED) {
+                // Already saved; only the notify step was left.
+                notifyOrders(List.of(pending));
+            } else if (status != OrderPipelineStatus.COMPLETED && status != OrderPipelineStatus.FAILED) {
+                pending.fail("Order was not processed before shutdown, submit it again.");
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            log.warn("Order pipeline stopped with {} orders still in flight", failed);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Stage implements Runnable {
+        private final String name;
+        private final BlockingQueue<PendingOrder> queue;
+        private final Consumer<List<PendingOrder>> handler;
+        private final Stage next;
+        private final Timer latency;
+        private volatile boolean draining;
+        private Thread thread;
+
+        private Stage(String name, int capacity, Consumer<List<PendingOrder>> handler, Stage next) {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.handler = handler;
+            this.next = next;
+            this.latency = Timer.builder("orders.pipeline.stage.latency")
+                    .description("Time an order spends queued for and processed by a pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            Gauge.builder("orders.pipeline.queue.depth", queue, Collection::size)
+                    .description("Orders waiting for a pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean offer(PendingOrder pending) {
+            pending.enqueuedAt = System.nanoTime();
+            return queue.offer(pending);
+        }
+
+        private void start() {
+            thread = new Thread(this, "order-pipeline-" + name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void interrupt() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Lets the stage finish its queue and stop, waiting until the deadline. Returns whether it did.
+         */
+        private boolean drain(long deadline) {
+            draining = true;
+            if (thread == null) {
+                return queue.isEmpty();
+            }
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return !thread.isAlive();
+        }
+
+        @Override
+        public void run() {
+            List<PendingOrder> batch = new ArrayList<>(batchSize);
+            while (true) {
+                try {
+                    PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (draining) {
+                            return;
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+
+                    try {
+                        handler.accept(batch);
+                    } catch (RuntimeException ex) {
+                        log.error("Order pipeline stage {} failed", name, ex);
+                        batch.forEach(pending -> pending.fail("Order could not be processed, submit it again."));
+                    }
+
+                    long now = System.nanoTime();
+                    for (PendingOrder pending : batch) {
+                        latency.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+                        if (next != null && pending.status != OrderPipelineStatus.FAILED) {
+                            pending.enqueuedAt = now;
+                            // Blocking here pushes back on the previous stage, and ultimately on intake.
+                            next.queue.put(pending);
+                        }
+                    }
+                    batch.clear();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class PendingOrder {
+        private final UUID handle;
+        private final OrderRequestDTO dto;
+        private final LocalDateTime acceptedAt;
+        private volatile OrderPipelineStatus status = OrderPipelineStatus.ACCEPTED;
+        private volatile Long orderId;
+        private volatile String message;
+        private OrderReferences references;
+        private Order order;
+        private long enqueuedAt;
+
+        private PendingOrder(UUID handle, OrderRequestDTO dto, LocalDateTime acceptedAt) {
+            this.handle = handle;
+            this.dto = dto;
+            this.acceptedAt = acceptedAt;
+        }
+
+        private void fail(String message) {
+            this.message = message;
+            this.references = null;
+            this.order = null;
+            this.status = OrderPipelineStatus.FAILED;
+        }
+
+        private OrderHandleDTO toDTO() {
+            return new OrderHandleDTO(handle, status, orderId, message, acceptedAt);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.sushi.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.dto.order.OrderPurgeDTO;
+import com.sushi.api.model.dto.order.OrderPurgeRequestDTO;
+import com.sushi.api.model.dto.order.OrderPurgeStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk deletion of orders by id list, customer and/or date range. Orders are deleted with plain
+ * DELETE statements in chunks of {@code orders.purge.chunk-size}, one transaction per chunk, so
+ * a long purge never holds its locks for long and never loads an entity. Items, idempotency keys
+ * and read-model documents go with their order through ON DELETE CASCADE, and each chunk takes
+ * its contribution out of the sales rollups in the same transaction.
+ *
+ * <p>Purges run one at a time on a background thread and are polled by handle. Each chunk writes
+ * a DELETED outbox row per order with one INSERT ... SELECT, so outbox subscribers hear about
+ * purged orders as they do about deleted ones, and publishes one {@link OrdersPurgedEvent} that
+ * in-memory listeners handle after the chunk commits.
+ */
+@Service
+public class OrderPurgeService {
+    private static final Logger log = LoggerFactory.getLogger(OrderPurgeService.class);
+    // Same shape as the V11 backfill, negated. Buckets are upserted in the order SalesRollupService
+    // folds lock them, HOUR before DAY and by bucket, so a purge cannot deadlock with a fold.
+    private static final String SUBTRACT_SALES = """
+            INSERT INTO sales_rollup (period, bucket, revenue, order_count, items_sold)
+            SELECT p.period, date_trunc(lower(p.period), o.order_date), -SUM(o.total_amount), -COUNT(*), -COALESCE(SUM(i.items), 0)
+            FROM orders o
+            LEFT JOIN (SELECT order_id, SUM(quantity) AS items FROM order_item WHERE order_id = ANY(?) GROUP BY order_id) i ON i.order_id = o.id
+            CROSS JOIN (VALUES ('HOUR', 0), ('DAY', 1)) AS p(period, position)
+            WHERE o.id = ANY(?)
+            GROUP BY p.period, p.position, date_trunc(lower(p.period), o.order_date)
+            ORDER BY p.position, date_trunc(lower(p.period), o.order_date)
+            ON CONFLICT (period, bucket) DO UPDATE SET
+                revenue = sales_rollup.revenue + EXCLUDED.revenue,
+                order_count = sales_rollup.order_count + EXCLUDED.order_count,
+                items_sold = sales_rollup.items_sold + EXCLUDED.items_sold""";
+    private static final String SUBTRACT_PRODUCT_SALES = """
+            INSERT INTO product_sales_rollup (period, bucket, product_id, revenue, items_sold)
+            SELECT p.period, date_trunc(lower(p.period), i.order_date), i.product_id, -SUM(i.total_price), -SUM(i.quantity)
+            FROM order_item i
+            CROSS JOIN (VALUES ('HOUR', 0), ('DAY', 1)) AS p(period, position)
+            WHERE i.order_id = ANY(?)
+            GROUP BY p.period, p.position, date_trunc(lower(p.period), i.order_date), i.product_id
+            ORDER BY p.position, date_trunc(lower(p.period), i.order_date), i.product_id
+            ON CONFLICT (period, bucket, product_id) DO UPDATE SET
+                revenue = product_sales_rollup.revenue + EXCLUDED.revenue,
+                items_sold = product_sales_rollup.items_sold + EXCLUDED.items_sold""";
+
+    // The payload is a summary: the purge never loads the order that OrderService#deleteOrder
+    // serializes. nextval takes a whole block of the pooled sequence per row, which only wastes ids.
+    private static final String OUTBOX_DELETED = """
+            INSERT INTO order_outbox (id, order_id, event_type, payload, created_at)
+            SELECT nextval('order_outbox_id_seq'), o.id, 'DELETED',
+                   json_build_object('id', o.id, 'orderDate', o.order_date, 'status', o.status, 'purged', true)::text, now()
+            FROM orders o
+            WHERE o.id = ANY(?)
+            ORDER BY o.id""";
+    private static final String RECENT_LINES = """
+            SELECT o.id AS order_id, o.order_date, o.total_amount, i.id, i.product_id, i.quantity, i.total_price
+            FROM orders o
+            JOIN order_item i ON i.order_id = o.id AND i.order_date = o.order_date
+            WHERE o.id = ANY(?) AND o.order_date >= ?
+            ORDER BY o.id, i.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor executor;
+    private final int chunkSize;
+    private final Cache<UUID, Purge> purges;
+    private final Counter purged;
+
+    @Autowired
+    public OrderPurgeService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                             @Value("${orders.purge.chunk-size:1000}") int chunkSize,
+                             @Value("${orders.purge.handle-ttl:24h}") Duration handleTtl) {
+        this(jdbcTemplate, transactionTemplate, eventPublisher, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-purge");
+            thread.setDaemon(true);
+            return thread;
+        }), meterRegistry, chunkSize, handleTtl);
+    }
+
+    OrderPurgeService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                      Executor executor, MeterRegistry meterRegistry, int chunkSize, Duration handleTtl) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("orders.purge.chunk-size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.purges = Caffeine.newBuilder()
+                .expireAfterWrite(handleTtl)
+                .build();
+        this.purged = Counter.builder("orders.purge.deleted")
+                .description("Orders deleted by bulk purges")
+                .register(meterRegistry);
+    }
+
+    public OrderPurgeDTO startPurge(OrderPurgeRequestDTO dto) {
+        Criteria criteria = Criteria.of(dto);
+        long matched = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE " + criteria.where(),
+                Long.class, criteria.args().toArray());
+        Purge purge = new Purge(UUID.randomUUID(), matched, LocalDateTime.now());
+        purges.put(purge.handle, purge);
+        executor.execute(() -> run(purge, criteria));
+        return purge.toDTO();
+    }
+
+    public OrderPurgeDTO findPurge(UUID handle) {
+        Purge purge = purges.getIfPresent(handle);
+        if (purge == null) {
+            throw new ResourceNotFoundException("Order purge not found.");
+        }
+        return purge.toDTO();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void run(Purge purge, Criteria criteria) {
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> deleteChunk(criteria));
+                purge.deleted += deleted;
+                purged.increment(deleted);
+                if (Thread.currentThread().isInterrupted()) {
+                    purge.finish(OrderPurgeStatus.FAILED, "Purge stopped by shutdown.");
+                    return;
+                }
+            } while (deleted == chunkSize);
+            purge.finish(OrderPurgeStatus.COMPLETED, null);
+            log.info("Purged {} orders", purge.deleted);
+        } catch (RuntimeException ex) {
+            purge.finish(OrderPurgeStatus.FAILED, ex.getMessage());
+            log.error("Order purge {} failed after {} orders", purge.handle, purge.deleted, ex);
+        }
+    }
+
+    private int deleteChunk(Criteria criteria) {
+        List<Object> args = new ArrayList<>(criteria.args());
+        args.add(chunkSize);
+        // Oldest first, so a chunk stays within as few monthly partitions as possible.
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM orders WHERE " + criteria.where()
+                + " ORDER BY order_date, id LIMIT ? FOR UPDATE", Long.class, args.toArray());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Long[] chunk = ids.toArray(Long[]::new);
+        jdbcTemplate.update(OUTBOX_DELETED, (Object) chunk);
+        List<OrderSnapshot> recent = recentOrders(chunk);
+        jdbcTemplate.update(SUBTRACT_SALES, chunk, chunk);
+        jdbcTemplate.update(SUBTRACT_PRODUCT_SALES, (Object) chunk);
+        // The criteria are repeated so a date range still prunes partitions.
+        List<Object> deleteArgs = new ArrayList<>(criteria.args());
+        deleteArgs.add(chunk);
+        int deleted = jdbcTemplate.update("DELETE FROM orders WHERE " + criteria.where() + " AND id = ANY(?)", deleteArgs.toArray());
+        eventPublisher.publishEvent(new OrdersPurgedEvent(ids, recent));
+        return deleted;
+    }
+
+    private List<OrderSnapshot> recentOrders(Long[] chunk) {
+        Map<Long, OrderSnapshot> orders = new LinkedHashMap<>();
+        jdbcTemplate.query(RECENT_LINES, rs -> {
+            long orderId = rs.getLong("order_id");
+            OrderSnapshot order = orders.get(orderId);
+            if (order == null) {
+                order = new OrderSnapshot(rs.getTimestamp("order_date").toLocalDateTime(), rs.getLong("total_amount"), new ArrayList<>());
+                orders.put(orderId, order);
+            }
+            order.lines().add(new OrderSnapshot.Line(rs.getLong("id"), rs.getLong("product_id"), rs.getInt("quantity"),
+                    rs.getLong("total_price")));
+        }, chunk, Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        return List.copyOf(orders.values());
+    }
+
+    private record Criteria(String where, List<Object> args) {
+        private static Criteria of(OrderPurgeRequestDTO dto) {
+            List<String> conditions = new ArrayList<>();
+            List<Object> args = new ArrayList<>();
+            if (dto.ids() != null && !dto.ids().isEmpty()) {
+                conditions.add("id = ANY(?)");
+                args.add(dto.ids().toArray(Long[]::new));
+            }
+            if (dto.customerId() != null) {
+                conditions.add("customer_id = ?");
+                args.add(dto.customerId());
+            }
+            if (dto.from() != null) {
+                conditions.add("order_date >= ?");
+                args.add(Timestamp.valueOf(dto.from()));
+            }
+            if (dto.to() != null) {
+                conditions.add("order_date < ?");
+                args.add(Timestamp.valueOf(dto.to()));
+            }
+            if (conditions.isEmpty()) {
+                throw new BadRequestException("At least one of ids, customerId, from or to is required.");
+            }
+            if (dto.from() != null && dto.to() != null && !dto.from().isBefore(dto.to())) {
+                throw new BadRequestException("'from' must be before 'to'.");
+            }
+            return new Criteria(String.join(" AND ", conditions), List.copyOf(args));
+        }
+    }
+
+    private static final class Purge {
+        private final UUID handle;
+        private final long matched;
+        private final LocalDateTime startedAt;
+        private volatile long deleted;
+        private volatile OrderPurgeStatus status = OrderPurgeStatus.RUNNING;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private Purge(UUID handle, long matched, LocalDateTime startedAt) {
+            this.handle = handle;
+            this.matched = matched;
+            this.startedAt = startedAt;
+        }
+
+        private void finish(OrderPurgeStatus status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private OrderPurgeDTO toDTO() {
+            return new OrderPurgeDTO(handle, status, matched, deleted, message, startedAt, finishedAt);
+        }
+    }
+}
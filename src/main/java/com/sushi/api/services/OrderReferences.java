@@ -0,0 +1,38 @@
+package com.sushi.api.services;
+
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Customer;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Customers, addresses and products referenced by a group of orders, each loaded with a
+ * single query so a whole batch can be validated and priced without further lookups.
+ * Addresses are grouped by customer, so an order can only use its own customer's addresses.
+ */
+public record OrderReferences(Map<UUID, Customer> customers, Map<UUID, Map<Long, Address>> addresses, Map<Long, Product> products) {
+
+    public String findMissingReference(OrderRequestDTO dto) {
+        if (!customers.containsKey(dto.customerId())) {
+            return "Customer not found with this id.";
+        }
+        if (!addresses.getOrDefault(dto.customerId(), Map.of()).containsKey(dto.deliveryAddressId())) {
+            return "Address not found for this customer.";
+        }
+        List<Long> missingProducts = dto.items().stream()
+                .map(OrderItemRequestDTO::productId)
+                .filter(id -> !products.containsKey(id))
+                .distinct()
+                .sorted()
+                .toList();
+        if (!missingProducts.isEmpty()) {
+            return "Products not found with these ids: " + missingProducts + ".";
+        }
+        return null;
+    }
+}
@@ -1,33 +1,57 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.metrics.QueryCountInspector;
 import com.sushi.api.model.*;
+import com.sushi.api.model.dto.CursorPageDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderHistoryDTO;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemUpdateDTO;
 import com.sushi.api.repositories.*;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
-    private final AddressRepository addressRepository;
+    private final AddressBookService addressBookService;
     private final ProductRepository productRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final QueryCountInspector queryCountInspector;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderArchiveService orderArchiveService;
 
-    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, AddressRepository addressRepository, ProductRepository productRepository, OrderItemRepository orderItemRepository) {
+    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, AddressBookService addressBookService, ProductRepository productRepository, QueryCountInspector queryCountInspector, OptimisticLockRetry optimisticLockRetry, ApplicationEventPublisher eventPublisher, OrderArchiveService orderArchiveService) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
-        this.addressRepository = addressRepository;
+        this.addressBookService = addressBookService;
         this.productRepository = productRepository;
-        this.orderItemRepository = orderItemRepository;
+        this.queryCountInspector = queryCountInspector;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.eventPublisher = eventPublisher;
+        this.orderArchiveService = orderArchiveService;
     }
 
     public List<Order> listAllNonPageable() {
@@ -38,76 +62,266 @@ public class OrderService {
         return orderRepository.findAll(pageable);
     }
 
+    public CursorPageDTO<Order> scroll(String cursor, int size) {
+        Pageable page = CursorPagination.firstPage(size);
+        Slice<Order> slice = cursor == null
+                ? orderRepository.findAllBy(page)
+                : orderRepository.findByIdGreaterThan(CursorPagination.decodeLong(cursor), page);
+        return CursorPagination.toPage(slice, Order::getId);
+    }
+
     public Order findOrderById(Long id) {
-        return orderRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
+        return findLive(id)
+                .or(() -> orderArchiveService.findOrder(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
+    }
+
+    // For callers that kept the order date: a primary key lookup in the order's month.
+    public Order findOrderById(Long id, LocalDateTime orderDate) {
+        return orderRepository.findById(new OrderKey(id, orderDate))
+                .or(() -> orderArchiveService.findOrder(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
+    }
+
+    public List<Order> findOrdersByStatus(Collection<OrderStatus> statuses) {
+        return orderRepository.findByStatusIn(statuses);
+    }
+
+    public OrderHistoryDTO findCustomerOrders(UUID customerId, LocalDateTime before, Long beforeId, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE + ".");
+        }
+        if ((before == null) != (beforeId == null)) {
+            throw new BadRequestException("'before' and 'beforeId' must be sent together.");
+        }
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found with this id.");
+        }
+
+        // One extra row tells whether another page follows without a count query.
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Long> ids = before == null
+                ? orderRepository.findHistoryIds(customerId, limit)
+                : orderRepository.findHistoryIdsBefore(customerId, before, beforeId, limit);
+        boolean hasNext = ids.size() > size;
+        List<Order> orders = new ArrayList<>(size + 1);
+        if (!ids.isEmpty()) {
+            orders.addAll(orderRepository.findHistoryByIdIn(hasNext ? ids.subList(0, size) : ids));
+        }
+
+        if (!hasNext) {
+            // The database has no older orders; archived months continue the history from here.
+            Order last = orders.isEmpty() ? null : orders.get(orders.size() - 1);
+            orders.addAll(orderArchiveService.findCustomerOrders(customerId,
+                    last != null ? last.getOrderDate() : before, last != null ? last.getId() : beforeId,
+                    size + 1 - orders.size()));
+            hasNext = orders.size() > size;
+        }
+        if (!hasNext) {
+            return new OrderHistoryDTO(orders, null, null);
+        }
+        List<Order> page = new ArrayList<>(orders.subList(0, size));
+        Order last = page.get(size - 1);
+        return new OrderHistoryDTO(page, last.getOrderDate(), last.getId());
     }
 
     @Transactional
     public Order createOrder(OrderRequestDTO dto) {
+        queryCountInspector.track("create");
+
         Customer customer = customerRepository.findById(dto.customerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with this id."));
-        Address address = addressRepository.findById(dto.deliveryAddressId())
-                .orElseThrow(() -> new ResourceNotFoundException("Address not found with this id."));
+        Address address = addressBookService.findAddress(customer.getId(), dto.deliveryAddressId());
+        Map<Long, Product> products = findProductsByIds(productIds(dto));
 
-        Order order = new Order();
-        order.setOrderDate(LocalDateTime.now());
-        order.setCustomer(customer);
-        order.setDeliveryAddress(address);
+        Order order = orderRepository.save(buildOrder(dto, customer, address, products));
+        eventPublisher.publishEvent(new OrderEvent(OrderEventType.CREATED, order));
+        return order;
+    }
 
-        List<OrderItem> items = dto.items().stream().map(itemDto -> {
-            Product product = productRepository.findById(itemDto.productId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
-            OrderItem item = new OrderItem();
-            item.setProduct(product);
-            item.setQuantity(itemDto.quantity());
-            item.setPrice(product.getPrice());
-            item.calculateTotalPrice();
-            item.setOrder(order);
-            return item;
-        }).collect(Collectors.toList());
+    @Transactional
+    public List<OrderBatchResultDTO> createOrders(Map<Integer, OrderRequestDTO> requests) {
+        queryCountInspector.track("batch");
 
-        order.setItems(items);
-        order.calculateTotalAmount();
+        OrderReferences references = resolveReferences(requests.values());
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        requests.forEach((index, dto) -> {
+            String missingReference = references.findMissingReference(dto);
+            if (missingReference != null) {
+                failures.put(index, missingReference);
+            } else {
+                orders.put(index, priceOrder(dto, references));
+            }
+        });
 
-        return orderRepository.save(order);
+        orderRepository.saveAll(orders.values());
+        orders.values().forEach(order -> eventPublisher.publishEvent(new OrderEvent(OrderEventType.CREATED, order)));
+
+        return requests.keySet().stream()
+                .map(index -> orders.containsKey(index)
+                        ? OrderBatchResultDTO.created(index, orders.get(index).getId())
+                        : OrderBatchResultDTO.failed(index, failures.get(index)))
+                .toList();
+    }
+
+    public OrderReferences resolveReferences(Collection<OrderRequestDTO> dtos) {
+        Map<UUID, Customer> customers = customerRepository.findAllById(dtos.stream()
+                        .map(OrderRequestDTO::customerId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<UUID, Map<Long, Address>> addresses = addressBookService.findAddresses(customers.keySet());
+        Map<Long, Product> products = productRepository.findAllById(dtos.stream()
+                        .flatMap(dto -> productIds(dto).stream())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return new OrderReferences(customers, addresses, products);
+    }
+
+    public Order priceOrder(OrderRequestDTO dto, OrderReferences references) {
+        return buildOrder(dto, references.customers().get(dto.customerId()),
+                references.addresses().get(dto.customerId()).get(dto.deliveryAddressId()), references.products());
     }
 
     @Transactional
+    public List<Order> saveOrders(List<Order> orders) {
+        queryCountInspector.track("batch");
+        List<Order> saved = orderRepository.saveAll(orders);
+        saved.forEach(order -> eventPublisher.publishEvent(new OrderEvent(OrderEventType.CREATED, order)));
+        return saved;
+    }
+
     public Order replaceOrder(OrderUpdateDTO dto) {
-        Order order = orderRepository.findById(dto.id())
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
+        return optimisticLockRetry.executeOnce("Order", () -> applyReplace(dto), () -> findOrderById(dto.id()));
+    }
 
-        Address address = addressRepository.findById(dto.deliveryAddressId())
-                .orElseThrow(() -> new ResourceNotFoundException("Address not found with this id."));
-        order.setDeliveryAddress(address);
+    private Order applyReplace(OrderUpdateDTO dto) {
+        queryCountInspector.track("replace");
 
-        List<OrderItem> items = dto.items().stream().map(itemDto -> {
-            Product product = productRepository.findById(itemDto.productId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
-            OrderItem item;
-            if (itemDto.id() != null) {
-                item = orderItemRepository.findById(itemDto.id())
-                        .orElseThrow(() -> new ResourceNotFoundException("OrderItem not found with this id."));
-            } else {
-                item = new OrderItem();
+        Order order = findLiveOrder(dto.id());
+        if (!Objects.equals(dto.version(), order.getVersion())) {
+            throw new ConflictException("Order has changed since version " + dto.version() + ", reload it and try again.", order);
+        }
+        OrderSnapshot previous = OrderSnapshot.of(order);
+
+        order.setDeliveryAddress(addressBookService.findAddress(order.getCustomer().getId(), dto.deliveryAddressId()));
+
+        Map<Long, Product> products = findProductsByIds(dto.items().stream()
+                .map(OrderItemUpdateDTO::productId)
+                .collect(Collectors.toSet()));
+
+        Set<Long> keptIds = new HashSet<>();
+        for (OrderItemUpdateDTO itemDto : dto.items()) {
+            if (itemDto.id() != null && !keptIds.add(itemDto.id())) {
+                throw new BadRequestException("OrderItem with id " + itemDto.id() + " appears more than once.");
+            }
+        }
+        Map<Long, OrderItem> currentItems = order.getItems().stream()
+                .collect(Collectors.toMap(OrderItem::getId, Function.identity()));
+        List<Long> unknownIds = missingIds(keptIds, currentItems.keySet());
+        if (!unknownIds.isEmpty()) {
+            throw new ResourceNotFoundException("OrderItems not found in this order with these ids: " + unknownIds + ".");
+        }
+
+        // Items left out of the request are orphans and are deleted on flush; untouched items
+        // stay clean, so only added, changed and removed rows reach the database.
+        order.getItems().removeIf(item -> !keptIds.contains(item.getId()));
+        for (OrderItemUpdateDTO itemDto : dto.items()) {
+            Product product = products.get(itemDto.productId());
+            if (itemDto.id() == null) {
+                OrderItem item = new OrderItem();
                 item.setOrder(order);
+                setItemDetails(item, product, itemDto.quantity());
+                order.getItems().add(item);
+            } else {
+                OrderItem item = currentItems.get(itemDto.id());
+                if (!product.equals(item.getProduct()) || !itemDto.quantity().equals(item.getQuantity())) {
+                    setItemDetails(item, product, itemDto.quantity());
+                }
             }
-            item.setProduct(product);
-            item.setQuantity(itemDto.quantity());
-            item.setPrice(product.getPrice());
-            item.calculateTotalPrice();
+        }
+        order.calculateTotalAmount();
+
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderEvent(OrderEventType.UPDATED, saved, previous));
+        return saved;
+    }
+
+    public Order updateStatus(Long id, OrderStatus status) {
+        return optimisticLockRetry.execute("Order", () -> {
+            Order order = findLiveOrder(id);
+            if (order.getStatus() != status) {
+                if (!order.getStatus().canAdvanceTo(status)) {
+                    throw new BadRequestException("Order cannot move from " + order.getStatus() + " to " + status + ".");
+                }
+                order.setStatus(status);
+                eventPublisher.publishEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, order));
+            }
+            return orderRepository.save(order);
+        }, () -> findOrderById(id));
+    }
+
+    @Transactional
+    public void deleteOrder(Long id) {
+        Order order = findLiveOrder(id);
+        orderRepository.delete(order);
+        eventPublisher.publishEvent(new OrderEvent(OrderEventType.DELETED, order));
+    }
+
+    // Archived orders are read-only, so changes only look at the database.
+    private Order findLiveOrder(Long id) {
+        return findLive(id).orElseThrow(() -> new ResourceNotFoundException("Order not found with this id."));
+    }
+
+    private Optional<Order> findLive(Long id) {
+        return orderRepository.findByOrderId(id).or(() -> orderRepository.findByOrderIdInAnyMonth(id));
+    }
+
+    private Order buildOrder(OrderRequestDTO dto, Customer customer, Address address, Map<Long, Product> products) {
+        Order order = new Order();
+        // Postgres keeps microseconds; the date is part of the key, so it must read back unchanged.
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        order.setCustomer(customer);
+        order.setDeliveryAddress(address);
+
+        List<OrderItem> items = dto.items().stream().map(itemDto -> {
+            OrderItem item = new OrderItem();
+            setItemDetails(item, products.get(itemDto.productId()), itemDto.quantity());
+            item.setOrder(order);
             return item;
         }).collect(Collectors.toList());
 
         order.setItems(items);
         order.calculateTotalAmount();
+        return order;
+    }
 
-        return orderRepository.save(order);
+    private static void setItemDetails(OrderItem item, Product product, Integer quantity) {
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setPrice(product.getPrice());
+        item.calculateTotalPrice();
     }
 
+    private static Set<Long> productIds(OrderRequestDTO dto) {
+        return dto.items().stream()
+                .map(OrderItemRequestDTO::productId)
+                .collect(Collectors.toSet());
+    }
 
-    @Transactional
-    public void deleteOrder(Long id) {
-        orderRepository.delete(findOrderById(id));
+    private Map<Long, Product> findProductsByIds(Set<Long> ids) {
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != ids.size()) {
+            throw new ResourceNotFoundException("Products not found with these ids: " + missingIds(ids, products.keySet()) + ".");
+        }
+        return products;
+    }
+
+    private static List<Long> missingIds(Collection<Long> requested, Collection<Long> found) {
+        return requested.stream()
+                .filter(id -> !found.contains(id))
+                .sorted()
+                .toList();
     }
 }
@@ -1,20 +1,30 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.ProductChangedEvent;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
+import com.sushi.api.model.KitchenStation;
+import com.sushi.api.model.Money;
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.product.ProductRequestDTO;
 import com.sushi.api.model.dto.product.ProductUpdateDTO;
 import com.sushi.api.repositories.CategoryRepository;
 import com.sushi.api.repositories.ProductRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,17 +33,38 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Product> listAllNonPageable() {
         return productRepository.findAll();
     }
 
+    public void writeAllNdjson(OutputStream out) throws IOException {
+        ndjsonWriter.write(productRepository::streamAll, out);
+    }
+
     public Page<Product> listAllPageable(Pageable pageable) {
         return productRepository.findAll(pageable);
     }
 
+    public CursorPageDTO<Product> scroll(String cursor, int size) {
+        Pageable page = CursorPagination.firstPage(size);
+        Slice<Product> slice = cursor == null
+                ? productRepository.findAllBy(page)
+                : productRepository.findByIdGreaterThan(CursorPagination.decodeLong(cursor), page);
+        return CursorPagination.toPage(slice, Product::getId);
+    }
+
     public Product findProductById(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with this id."));
@@ -59,29 +90,41 @@ public class ProductService {
 
         product.setName(dto.name());
         product.setDescription(dto.description());
-        product.setPrice(dto.price());
+        product.setPrice(Money.toCents(dto.price()));
         product.setPortionQuantity(dto.portionQuantity());
         product.setPortionUnit(dto.portionUnit());
         product.setUrlImage(dto.urlImage());
+        product.setStation(dto.station() != null ? dto.station() : KitchenStation.HOT_KITCHEN);
 
         Set<Category> categories = dto.categoriesId().stream()
                 .map(id -> categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category not found with this id.")))
                 .collect(Collectors.toSet());
         product.setCategories(categories);
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved, false));
+        return saved;
     }
 
-    @Transactional
     public void replaceProduct(ProductUpdateDTO dto) {
+        optimisticLockRetry.executeOnce("Product", () -> applyReplace(dto), () -> findProductById(dto.id()));
+    }
+
+    private Product applyReplace(ProductUpdateDTO dto) {
         Product product = findProductById(dto.id());
+        if (!Objects.equals(dto.version(), product.getVersion())) {
+            throw new ConflictException("Product has changed since version " + dto.version() + ", reload it and try again.", product);
+        }
 
         product.setName(dto.name());
         product.setDescription(dto.description());
-        product.setPrice(dto.price());
+        product.setPrice(Money.toCents(dto.price()));
         product.setPortionQuantity(dto.portionQuantity());
         product.setPortionUnit(dto.portionUnit());
         product.setUrlImage(dto.urlImage());
+        if (dto.station() != null) {
+            product.setStation(dto.station());
+        }
 
         Set<Category> categories = dto.categoriesId().stream()
                 .map(id -> categoryRepository.findById(id)
@@ -89,11 +132,15 @@ public class ProductService {
                 .collect(Collectors.toSet());
         product.setCategories(categories);
 
-        productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved, false));
+        return saved;
     }
 
     @Transactional
     public void deleteProduct(Long id) {
-        productRepository.delete(findProductById(id));
+        Product product = findProductById(id);
+        productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(product, true));
     }
 }
\ No newline at end of file
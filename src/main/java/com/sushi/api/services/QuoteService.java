@@ -0,0 +1,109 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.ProductChangedEvent;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.order.OrderQuoteDTO;
+import com.sushi.api.model.dto.order.OrderQuoteLineDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Prices order requests against an in-memory table of every product's current price, so carts
+ * can be re-totalled on each change without a database round trip. The table is an immutable
+ * map behind a volatile reference: readers never lock, and each committed product change copies
+ * the map, applies the change and swaps it in. Change events only reach the node that made the
+ * change, so the table is also reloaded on a fixed interval to pick up changes made on other
+ * nodes. Quotes are not binding; orders are priced again when they are placed.
+ */
+@Service
+public class QuoteService {
+    private static final Logger log = LoggerFactory.getLogger(QuoteService.class);
+
+    private final ProductRepository productRepository;
+    private volatile Map<Long, PricedProduct> prices = Map.of();
+
+    private record PricedProduct(Long id, String name, long price, long version) {
+        private static PricedProduct of(Product product) {
+            return new PricedProduct(product.getId(), product.getName(), product.getPrice(),
+                    product.getVersion() != null ? product.getVersion() : 0L);
+        }
+    }
+
+    public QuoteService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        prices = productRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Product::getId, PricedProduct::of));
+        log.info("Loaded {} product prices", prices.size());
+    }
+
+    @Scheduled(initialDelayString = "${quotes.reload-interval:PT1M}", fixedDelayString = "${quotes.reload-interval:PT1M}")
+    public synchronized void refresh() {
+        Map<Long, PricedProduct> current = prices;
+        Map<Long, PricedProduct> next = new HashMap<>();
+        for (Product product : productRepository.findAll()) {
+            PricedProduct loaded = PricedProduct.of(product);
+            PricedProduct known = current.get(loaded.id());
+            next.put(loaded.id(), known != null && known.version() > loaded.version() ? known : loaded);
+        }
+        prices = Map.copyOf(next);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Product product = event.product();
+        PricedProduct current = prices.get(product.getId());
+        Map<Long, PricedProduct> next = new HashMap<>(prices);
+        if (event.deleted()) {
+            next.remove(product.getId());
+        } else if (current == null || PricedProduct.of(product).version() >= current.version()) {
+            // Transactions commit in any order; an older version must not overwrite a newer one.
+            next.put(product.getId(), PricedProduct.of(product));
+        } else {
+            return;
+        }
+        prices = Map.copyOf(next);
+    }
+
+    public boolean isKnownProduct(Long productId) {
+        return prices.containsKey(productId);
+    }
+
+    public OrderQuoteDTO quote(OrderRequestDTO dto) {
+        Map<Long, PricedProduct> table = prices;
+        List<Long> missing = dto.items().stream()
+                .map(OrderItemRequestDTO::productId)
+                .filter(id -> !table.containsKey(id))
+                .distinct()
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found with these ids: " + missing + ".");
+        }
+
+        List<OrderQuoteLineDTO> lines = new ArrayList<>(dto.items().size());
+        long total = 0;
+        for (OrderItemRequestDTO item : dto.items()) {
+            PricedProduct product = table.get(item.productId());
+            long lineTotal = Math.multiplyExact(product.price(), item.quantity().longValue());
+            total = Math.addExact(total, lineTotal);
+            lines.add(new OrderQuoteLineDTO(product.id(), product.name(), item.quantity(), product.price(), lineTotal));
+        }
+        return new OrderQuoteDTO(lines, total);
+    }
+}
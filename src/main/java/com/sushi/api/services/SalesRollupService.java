@@ -0,0 +1,278 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.report.CategorySalesDTO;
+import com.sushi.api.model.dto.report.ProductSalesDTO;
+import com.sushi.api.model.dto.report.SalesBucketDTO;
+import com.sushi.api.model.dto.report.SalesPeriod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Maintains the hourly and daily sales rollups. Each order change contributes its figures (or, for
+ * a replace or delete, the difference from the previous ones); the contributions of a transaction
+ * are summed and appended to sales_rollup_delta once, just before it commits, so order writes never
+ * wait on each other's bucket rows. A background fold moves the deltas into the rollups, and
+ * reports read views that add the deltas not yet folded. Category figures are derived from the
+ * product rollups through the current category assignment, which keeps category lookups off the
+ * order write path.
+ */
+@Service
+public class SalesRollupService {
+    private static final String UPSERT_SALES = """
+            INSERT INTO sales_rollup (period, bucket, revenue, order_count, items_sold) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (period, bucket) DO UPDATE SET
+                revenue = sales_rollup.revenue + EXCLUDED.revenue,
+                order_count = sales_rollup.order_count + EXCLUDED.order_count,
+                items_sold = sales_rollup.items_sold + EXCLUDED.items_sold""";
+    private static final String UPSERT_PRODUCT_SALES = """
+            INSERT INTO product_sales_rollup (period, bucket, product_id, revenue, items_sold) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (period, bucket, product_id) DO UPDATE SET
+                revenue = product_sales_rollup.revenue + EXCLUDED.revenue,
+                items_sold = product_sales_rollup.items_sold + EXCLUDED.items_sold""";
+    private static final String INSERT_DELTA = """
+            INSERT INTO sales_rollup_delta (period, bucket, product_id, revenue, order_count, items_sold)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    // SKIP LOCKED lets nodes fold at the same time, each taking rows the others did not.
+    private static final String TAKE_DELTAS = """
+            DELETE FROM sales_rollup_delta WHERE id IN (
+                SELECT id FROM sales_rollup_delta ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING period, bucket, product_id, revenue, order_count, items_sold""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int foldBatchSize;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              @Value("${reports.rollup.fold-batch-size:10000}") int foldBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.foldBatchSize = foldBatchSize;
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Delta delta = inTransaction ? transactionDelta() : new Delta();
+        switch (event.type()) {
+            case CREATED -> delta.add(OrderSnapshot.of(event.order()), 1);
+            case UPDATED -> {
+                delta.add(event.previous(), -1);
+                delta.add(OrderSnapshot.of(event.order()), 1);
+            }
+            case DELETED -> delta.add(OrderSnapshot.of(event.order()), -1);
+            default -> {
+                return;
+            }
+        }
+        if (!inTransaction) {
+            append(delta);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reports.rollup.fold-interval:PT5S}")
+    public void foldDeltas() {
+        Integer folded;
+        do {
+            folded = transactionTemplate.execute(status -> foldBatch());
+        } while (folded != null && folded == foldBatchSize);
+    }
+
+    public List<SalesBucketDTO> findSales(SalesPeriod period, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return jdbcTemplate.query("""
+                        SELECT bucket, revenue, order_count, items_sold FROM sales_rollup_current
+                        WHERE period = ? AND bucket >= ? AND bucket < ?
+                        ORDER BY bucket""",
+                (rs, rowNum) -> new SalesBucketDTO(rs.getTimestamp("bucket").toLocalDateTime(), rs.getLong("revenue"),
+                        rs.getLong("order_count"), rs.getLong("items_sold")),
+                period.name(), Timestamp.valueOf(period.bucketOf(from)), Timestamp.valueOf(to));
+    }
+
+    public List<ProductSalesDTO> findProductSales(SalesPeriod period, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return jdbcTemplate.query("""
+                        SELECT r.product_id, p.name, SUM(r.revenue) AS revenue, SUM(r.items_sold) AS items_sold
+                        FROM product_sales_rollup_current r
+                        LEFT JOIN products p ON p.id = r.product_id
+                        WHERE r.period = ? AND r.bucket >= ? AND r.bucket < ?
+                        GROUP BY r.product_id, p.name
+                        ORDER BY revenue DESC, r.product_id""",
+                (rs, rowNum) -> new ProductSalesDTO(rs.getLong("product_id"), rs.getString("name"),
+                        rs.getLong("revenue"), rs.getLong("items_sold")),
+                period.name(), Timestamp.valueOf(period.bucketOf(from)), Timestamp.valueOf(to));
+    }
+
+    public List<CategorySalesDTO> findCategorySales(SalesPeriod period, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return jdbcTemplate.query("""
+                        SELECT c.id, c.name, SUM(r.revenue) AS revenue, SUM(r.items_sold) AS items_sold
+                        FROM product_sales_rollup_current r
+                        JOIN category_product cp ON cp.product_id = r.product_id
+                        JOIN categories c ON c.id = cp.category_id
+                        WHERE r.period = ? AND r.bucket >= ? AND r.bucket < ?
+                        GROUP BY c.id, c.name
+                        ORDER BY revenue DESC, c.id""",
+                (rs, rowNum) -> new CategorySalesDTO(rs.getLong("id"), rs.getString("name"),
+                        rs.getLong("revenue"), rs.getLong("items_sold")),
+                period.name(), Timestamp.valueOf(period.bucketOf(from)), Timestamp.valueOf(to));
+    }
+
+    // One Delta per transaction, appended just before commit: a batch of orders costs one insert
+    // batch rather than one round of upserts per order.
+    private Delta transactionDelta() {
+        Delta delta = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (delta != null) {
+            return delta;
+        }
+        Delta created = new Delta();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(SalesRollupService.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(SalesRollupService.this, created);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                append(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SalesRollupService.this);
+            }
+        });
+        return created;
+    }
+
+    private void append(Delta delta) {
+        List<Object[]> rows = new ArrayList<>();
+        delta.sales.forEach((key, totals) -> {
+            if (!totals.isZero()) {
+                rows.add(new Object[]{key.period().name(), Timestamp.valueOf(key.bucket()), null, totals.revenue, totals.orders, totals.items});
+            }
+        });
+        delta.productSales.forEach((key, totals) -> {
+            if (!totals.isZero()) {
+                rows.add(new Object[]{key.period().name(), Timestamp.valueOf(key.bucket()), key.productId(), totals.revenue, 0L, totals.items});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DELTA, rows);
+        }
+    }
+
+    private int foldBatch() {
+        Delta delta = new Delta();
+        int[] taken = {0};
+        jdbcTemplate.query(TAKE_DELTAS, rs -> {
+            taken[0]++;
+            delta.addRow(SalesPeriod.valueOf(rs.getString("period")), rs.getTimestamp("bucket").toLocalDateTime(),
+                    rs.getObject("product_id", Long.class), rs.getLong("revenue"), rs.getLong("order_count"), rs.getLong("items_sold"));
+        }, foldBatchSize);
+        apply(delta);
+        return taken[0];
+    }
+
+    private void apply(Delta delta) {
+        List<Object[]> sales = new ArrayList<>();
+        delta.sales.forEach((key, totals) -> {
+            if (!totals.isZero()) {
+                sales.add(new Object[]{key.period().name(), Timestamp.valueOf(key.bucket()), totals.revenue, totals.orders, totals.items});
+            }
+        });
+        List<Object[]> productSales = new ArrayList<>();
+        delta.productSales.forEach((key, totals) -> {
+            if (!totals.isZero()) {
+                productSales.add(new Object[]{key.period().name(), Timestamp.valueOf(key.bucket()), key.productId(), totals.revenue, totals.items});
+            }
+        });
+        // Keys are sorted, so concurrent folds lock the shared bucket rows in the same order.
+        if (!sales.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SALES, sales);
+        }
+        if (!productSales.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SALES, productSales);
+        }
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'.");
+        }
+    }
+
+    private record SalesKey(SalesPeriod period, LocalDateTime bucket) implements Comparable<SalesKey> {
+        @Override
+        public int compareTo(SalesKey other) {
+            int byPeriod = period.compareTo(other.period);
+            return byPeriod != 0 ? byPeriod : bucket.compareTo(other.bucket);
+        }
+    }
+
+    private record ProductKey(SalesPeriod period, LocalDateTime bucket, Long productId) implements Comparable<ProductKey> {
+        @Override
+        public int compareTo(ProductKey other) {
+            int bySales = new SalesKey(period, bucket).compareTo(new SalesKey(other.period, other.bucket));
+            return bySales != 0 ? bySales : productId.compareTo(other.productId);
+        }
+    }
+
+    private static final class Totals {
+        private long revenue;
+        private long orders;
+        private long items;
+
+        private boolean isZero() {
+            return revenue == 0 && orders == 0 && items == 0;
+        }
+    }
+
+    /** Net change of a transaction or a fold; a replace that moves nothing writes nothing. */
+    private static final class Delta {
+        private final SortedMap<SalesKey, Totals> sales = new TreeMap<>();
+        private final SortedMap<ProductKey, Totals> productSales = new TreeMap<>();
+
+        private void add(OrderSnapshot order, int sign) {
+            for (SalesPeriod period : SalesPeriod.values()) {
+                LocalDateTime bucket = period.bucketOf(order.orderDate());
+                Totals totals = sales.computeIfAbsent(new SalesKey(period, bucket), key -> new Totals());
+                totals.revenue += sign * order.totalAmount();
+                totals.orders += sign;
+                for (OrderSnapshot.Line line : order.lines()) {
+                    totals.items += (long) sign * line.quantity();
+                    Totals product = productSales.computeIfAbsent(new ProductKey(period, bucket, line.productId()), key -> new Totals());
+                    product.revenue += sign * line.totalPrice();
+                    product.items += (long) sign * line.quantity();
+                }
+            }
+        }
+
+        private void addRow(SalesPeriod period, LocalDateTime bucket, Long productId, long revenue, long orders, long items) {
+            Totals totals = productId == null
+                    ? sales.computeIfAbsent(new SalesKey(period, bucket), key -> new Totals())
+                    : productSales.computeIfAbsent(new ProductKey(period, bucket, productId), key -> new Totals());
+            totals.revenue += revenue;
+            totals.orders += orders;
+            totals.items += items;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.sushi.api.services;
+
+import com.sushi.api.analytics.ProductTotals;
+import com.sushi.api.analytics.SlidingWindowCounter;
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.analytics.SalesWindow;
+import com.sushi.api.model.dto.analytics.TopProductDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live "what's selling now" counts, kept in memory only. Every committed order adds its item
+ * quantities, in the buckets its order date falls in, to three sliding windows: the last 5 minutes
+ * in 10-second buckets, the last hour in 1-minute buckets and the current day. Windows therefore
+ * slide in steps of one bucket. Replaced orders swap their previous lines for the new ones, and
+ * deleted and purged orders are taken back out. Counts start from zero on restart, so changes to
+ * orders placed before this instance started are ignored; the sales rollups hold the durable figures.
+ */
+@Service
+public class TopProductsService {
+    private static final long SHORT_BUCKET_MILLIS = 10_000;
+    private static final long HOUR_BUCKET_MILLIS = 60_000;
+    private static final int MAX_LIMIT = 50;
+
+    private final Clock clock;
+    private final long startedAt;
+    private final int maxProducts;
+    private final SlidingWindowCounter lastFiveMinutes;
+    private final SlidingWindowCounter lastHour;
+    private final SlidingWindowCounter today;
+    private final Map<Long, String> productNames = new ConcurrentHashMap<>();
+    private final Counter dropped;
+
+    @Autowired
+    public TopProductsService(MeterRegistry meterRegistry,
+                              @Value("${analytics.top-products.max-products:1024}") int maxProducts) {
+        this(Clock.systemDefaultZone(), meterRegistry, maxProducts);
+    }
+
+    TopProductsService(Clock clock, MeterRegistry meterRegistry, int maxProducts) {
+        this.clock = clock;
+        this.startedAt = clock.millis();
+        this.maxProducts = maxProducts;
+        this.lastFiveMinutes = new SlidingWindowCounter(30, maxProducts);
+        this.lastHour = new SlidingWindowCounter(60, maxProducts);
+        this.today = new SlidingWindowCounter(1, maxProducts);
+        this.dropped = Counter.builder("analytics.top-products.dropped")
+                .description("Item quantities not counted because a window had no room for another product")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                rememberNames(event.order());
+                add(OrderSnapshot.of(event.order()));
+            }
+            case UPDATED -> {
+                if (event.previous() != null && countedHere(event.previous())) {
+                    rememberNames(event.order());
+                    remove(event.previous());
+                    add(OrderSnapshot.of(event.order()));
+                }
+            }
+            case DELETED -> remove(OrderSnapshot.of(event.order()));
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersPurged(OrdersPurgedEvent event) {
+        event.recent().forEach(this::remove);
+    }
+
+    public List<TopProductDTO> findTopProducts(SalesWindow window, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        ProductTotals totals = new ProductTotals(maxProducts);
+        switch (window) {
+            case LAST_5_MINUTES -> lastFiveMinutes.forEach(clock.millis() / SHORT_BUCKET_MILLIS, totals);
+            case LAST_HOUR -> lastHour.forEach(clock.millis() / HOUR_BUCKET_MILLIS, totals);
+            case TODAY -> today.forEach(LocalDate.now(clock).toEpochDay(), totals);
+        }
+
+        long[][] top = totals.top(limit);
+        List<TopProductDTO> result = new ArrayList<>(top.length);
+        for (long[] entry : top) {
+            result.add(new TopProductDTO(entry[0], productNames.get(entry[0]), entry[1]));
+        }
+        return result;
+    }
+
+    private void rememberNames(Order order) {
+        for (OrderItem item : order.getItems()) {
+            Product product = item.getProduct();
+            if (!product.getName().equals(productNames.get(product.getId()))) {
+                productNames.put(product.getId(), product.getName());
+            }
+        }
+    }
+
+    private void add(OrderSnapshot order) {
+        long millis = millis(order);
+        long day = order.orderDate().toLocalDate().toEpochDay();
+        for (OrderSnapshot.Line line : order.lines()) {
+            // Not short-circuited: each window counts the item on its own.
+            boolean counted = lastFiveMinutes.add(millis / SHORT_BUCKET_MILLIS, line.productId(), line.quantity())
+                    & lastHour.add(millis / HOUR_BUCKET_MILLIS, line.productId(), line.quantity())
+                    & today.add(day, line.productId(), line.quantity());
+            if (!counted) {
+                dropped.increment(line.quantity());
+            }
+        }
+    }
+
+    // Buckets that have left a window refuse the write, so old orders change nothing.
+    private void remove(OrderSnapshot order) {
+        if (!countedHere(order)) {
+            return;
+        }
+        long millis = millis(order);
+        long day = order.orderDate().toLocalDate().toEpochDay();
+        for (OrderSnapshot.Line line : order.lines()) {
+            lastFiveMinutes.add(millis / SHORT_BUCKET_MILLIS, line.productId(), -line.quantity());
+            lastHour.add(millis / HOUR_BUCKET_MILLIS, line.productId(), -line.quantity());
+            today.add(day, line.productId(), -line.quantity());
+        }
+    }
+
+    // Orders placed before this instance started were never added, so there is nothing to take back.
+    private boolean countedHere(OrderSnapshot order) {
+        return millis(order) >= startedAt;
+    }
+
+    private long millis(OrderSnapshot order) {
+        return order.orderDate().atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
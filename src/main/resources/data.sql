@@ -41,16 +41,16 @@ INSERT INTO categories (name, description) VALUES
 
 -- Inserir products
 INSERT INTO products (name, description, price, portion_quantity, portion_unit, url_image) VALUES
-('California Roll', 'A delicious roll made with crab meat, avocado, and cucumber', 8.99, 8, 'pieces', 'http://example.com/images/california_roll.jpg'),
-('Spicy Tuna Roll', 'Spicy tuna wrapped in rice and seaweed', 10.99, 8, 'pieces', 'http://example.com/images/spicy_tuna_roll.jpg'),
-('Sushi Assortment', 'A variety of sushi pieces including nigiri and sashimi', 15.99, 10, 'pieces', 'http://example.com/images/sushi_assortment.jpg'),
-('Tempura Shrimp', 'Crispy tempura shrimp served with dipping sauce', 12.99, 8, 'pieces', 'http://example.com/images/tempura_shrimp.jpg'),
-('Miso Soup', 'Traditional Japanese miso soup', 5.99, 1, 'bowl', 'http://example.com/images/miso_soup.jpg'),
-('Peking Duck', 'Crispy duck served with pancakes and hoisin sauce', 18.99, 1, 'whole', 'http://example.com/images/peking_duck.jpg'),
-('Spring Rolls', 'Crispy spring rolls with vegetables', 7.99, 6, 'pieces', 'http://example.com/images/spring_rolls.jpg'),
-('Kung Pao Chicken', 'Spicy stir-fried chicken with peanuts', 13.99, 1, 'plate', 'http://example.com/images/kung_pao_chicken.jpg'),
-('Green Tea', 'Traditional Japanese green tea', 3.99, 1, 'cup', 'http://example.com/images/green_tea.jpg'),
-('Sake', 'Japanese rice wine', 14.99, 1, 'bottle', 'http://example.com/images/sake.jpg');
+('California Roll', 'A delicious roll made with crab meat, avocado, and cucumber', 899, 8, 'pieces', 'http://example.com/images/california_roll.jpg'),
+('Spicy Tuna Roll', 'Spicy tuna wrapped in rice and seaweed', 1099, 8, 'pieces', 'http://example.com/images/spicy_tuna_roll.jpg'),
+('Sushi Assortment', 'A variety of sushi pieces including nigiri and sashimi', 1599, 10, 'pieces', 'http://example.com/images/sushi_assortment.jpg'),
+('Tempura Shrimp', 'Crispy tempura shrimp served with dipping sauce', 1299, 8, 'pieces', 'http://example.com/images/tempura_shrimp.jpg'),
+('Miso Soup', 'Traditional Japanese miso soup', 599, 1, 'bowl', 'http://example.com/images/miso_soup.jpg'),
+('Peking Duck', 'Crispy duck served with pancakes and hoisin sauce', 1899, 1, 'whole', 'http://example.com/images/peking_duck.jpg'),
+('Spring Rolls', 'Crispy spring rolls with vegetables', 799, 6, 'pieces', 'http://example.com/images/spring_rolls.jpg'),
+('Kung Pao Chicken', 'Spicy stir-fried chicken with peanuts', 1399, 1, 'plate', 'http://example.com/images/kung_pao_chicken.jpg'),
+('Green Tea', 'Traditional Japanese green tea', 399, 1, 'cup', 'http://example.com/images/green_tea.jpg'),
+('Sake', 'Japanese rice wine', 1499, 1, 'bottle', 'http://example.com/images/sake.jpg');
 
 -- Inserir relacionamento category_product
 INSERT INTO category_product (category_id, product_id) VALUES
@@ -67,21 +67,21 @@ INSERT INTO category_product (category_id, product_id) VALUES
 
 -- Inserir orders
 INSERT INTO orders (order_date, customer_id, delivery_address_id, total_amount) VALUES
-(NOW(), (SELECT id FROM customers WHERE name = 'Ana'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), 50.00),
-(NOW(), (SELECT id FROM customers WHERE name = 'Carlos'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), 35.00),
-(NOW(), (SELECT id FROM customers WHERE name = 'Fernanda'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), 40.00),
-(NOW(), (SELECT id FROM customers WHERE name = 'Gustavo'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), 55.00),
-(NOW(), (SELECT id FROM customers WHERE name = 'Juliana'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), 30.00);
+(NOW(), (SELECT id FROM customers WHERE name = 'Ana'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), 5000),
+(NOW(), (SELECT id FROM customers WHERE name = 'Carlos'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), 3500),
+(NOW(), (SELECT id FROM customers WHERE name = 'Fernanda'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), 4000),
+(NOW(), (SELECT id FROM customers WHERE name = 'Gustavo'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), 5500),
+(NOW(), (SELECT id FROM customers WHERE name = 'Juliana'), (SELECT id FROM addresses WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), 3000);
 
 -- Inserir order_item
-INSERT INTO order_item (order_id, product_id, quantity, price, total_price) VALUES
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), (SELECT id FROM products WHERE name = 'California Roll'), 2, 8.99, 17.98),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), (SELECT id FROM products WHERE name = 'Spicy Tuna Roll'), 1, 10.99, 10.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), (SELECT id FROM products WHERE name = 'Tempura Shrimp'), 1, 12.99, 12.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), (SELECT id FROM products WHERE name = 'Green Tea'), 2, 3.99, 7.98),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), (SELECT id FROM products WHERE name = 'Sushi Assortment'), 1, 15.99, 15.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), (SELECT id FROM products WHERE name = 'Kung Pao Chicken'), 1, 13.99, 13.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), (SELECT id FROM products WHERE name = 'Peking Duck'), 1, 18.99, 18.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), (SELECT id FROM products WHERE name = 'Sake'), 1, 14.99, 14.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), (SELECT id FROM products WHERE name = 'Spring Rolls'), 1, 7.99, 7.99),
-((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), (SELECT id FROM products WHERE name = 'Green Tea'), 1, 3.99, 3.99);
\ No newline at end of file
+INSERT INTO order_item (order_id, order_date, product_id, quantity, price, total_price) VALUES
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), (SELECT id FROM products WHERE name = 'California Roll'), 2, 899, 1798),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Ana')), (SELECT id FROM products WHERE name = 'Spicy Tuna Roll'), 1, 1099, 1099),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), (SELECT id FROM products WHERE name = 'Tempura Shrimp'), 1, 1299, 1299),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Carlos')), (SELECT id FROM products WHERE name = 'Green Tea'), 2, 399, 798),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), (SELECT id FROM products WHERE name = 'Sushi Assortment'), 1, 1599, 1599),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Fernanda')), (SELECT id FROM products WHERE name = 'Kung Pao Chicken'), 1, 1399, 1399),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), (SELECT id FROM products WHERE name = 'Peking Duck'), 1, 1899, 1899),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Gustavo')), (SELECT id FROM products WHERE name = 'Sake'), 1, 1499, 1499),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), (SELECT id FROM products WHERE name = 'Spring Rolls'), 1, 799, 799),
+((SELECT id FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), (SELECT order_date FROM orders WHERE customer_id = (SELECT id FROM customers WHERE name = 'Juliana')), (SELECT id FROM products WHERE name = 'Green Tea'), 1, 399, 399);
\ No newline at end of file
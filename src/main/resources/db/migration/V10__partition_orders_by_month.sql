@@ -0,0 +1,94 @@
+-- Orders and their items are range partitioned by order_date, one partition per month, so
+-- queries bounded by date only touch the months they need and old months can be detached.
+-- A partitioned table's keys must contain the partition key, so order_date joins the primary
+-- key of orders and is copied onto every row that references an order.
+-- New months are created ahead of time by OrderPartitionService; the DEFAULT partitions only
+-- catch rows that arrive before their month exists and are expected to stay empty.
+
+ALTER TABLE order_item DROP CONSTRAINT IF EXISTS order_item_order_id_fkey;
+ALTER TABLE idempotency_keys DROP CONSTRAINT IF EXISTS idempotency_keys_order_id_fkey;
+ALTER TABLE order_documents DROP CONSTRAINT IF EXISTS order_documents_order_id_fkey;
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE order_item RENAME TO order_item_unpartitioned;
+ALTER SEQUENCE orders_id_seq OWNED BY NONE;
+ALTER SEQUENCE order_item_id_seq OWNED BY NONE;
+DROP INDEX IF EXISTS idx_orders_customer_date;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL DEFAULT nextval('orders_id_seq'),
+    order_date TIMESTAMP NOT NULL,
+    customer_id UUID NOT NULL,
+    delivery_address_id INTEGER NOT NULL,
+    total_amount BIGINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(32) NOT NULL DEFAULT 'RECEIVED',
+    PRIMARY KEY (id, order_date),
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
+    FOREIGN KEY (delivery_address_id) REFERENCES addresses(id) ON DELETE CASCADE
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE order_item (
+    id BIGINT NOT NULL DEFAULT nextval('order_item_id_seq'),
+    order_id BIGINT NOT NULL,
+    order_date TIMESTAMP NOT NULL,
+    product_id INTEGER NOT NULL,
+    quantity INTEGER NOT NULL,
+    price BIGINT NOT NULL,
+    total_price BIGINT NOT NULL,
+    PRIMARY KEY (id, order_date),
+    CONSTRAINT fk_order_item_order FOREIGN KEY (order_id, order_date) REFERENCES orders(id, order_date) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+) PARTITION BY RANGE (order_date);
+
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+ALTER SEQUENCE order_item_id_seq OWNED BY order_item.id;
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_item_default PARTITION OF order_item DEFAULT;
+
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month', COALESCE((SELECT MIN(order_date) FROM orders_unpartitioned), now()));
+    last_month DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE orders_p%s PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       to_char(partition_month, 'YYYY_MM'), partition_month, partition_month + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE order_item_p%s PARTITION OF order_item FOR VALUES FROM (%L) TO (%L)',
+                       to_char(partition_month, 'YYYY_MM'), partition_month, partition_month + INTERVAL '1 month');
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO orders (id, order_date, customer_id, delivery_address_id, total_amount, version, status)
+SELECT id, order_date, customer_id, delivery_address_id, total_amount, version, status
+FROM orders_unpartitioned;
+
+INSERT INTO order_item (id, order_id, order_date, product_id, quantity, price, total_price)
+SELECT i.id, i.order_id, o.order_date, i.product_id, i.quantity, i.price, i.total_price
+FROM order_item_unpartitioned i
+JOIN orders_unpartitioned o ON o.id = i.order_id;
+
+CREATE INDEX idx_orders_customer_date ON orders (customer_id, order_date DESC, id DESC);
+CREATE INDEX idx_order_item_order ON order_item (order_id, order_date);
+
+ALTER TABLE idempotency_keys ADD COLUMN order_date TIMESTAMP;
+UPDATE idempotency_keys k SET order_date = o.order_date FROM orders_unpartitioned o WHERE o.id = k.order_id;
+DELETE FROM idempotency_keys WHERE order_date IS NULL;
+ALTER TABLE idempotency_keys ALTER COLUMN order_date SET NOT NULL;
+ALTER TABLE idempotency_keys ADD FOREIGN KEY (order_id, order_date) REFERENCES orders(id, order_date) ON DELETE CASCADE;
+
+ALTER TABLE order_documents ADD COLUMN order_date TIMESTAMP;
+UPDATE order_documents d SET order_date = o.order_date FROM orders_unpartitioned o WHERE o.id = d.order_id;
+DELETE FROM order_documents WHERE order_date IS NULL;
+ALTER TABLE order_documents ALTER COLUMN order_date SET NOT NULL;
+ALTER TABLE order_documents ADD FOREIGN KEY (order_id, order_date) REFERENCES orders(id, order_date) ON DELETE CASCADE;
+-- Serves pages of documents sorted by order date, in either direction.
+CREATE INDEX order_documents_order_date_idx ON order_documents (order_date, order_id);
+
+DROP TABLE order_item_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+-- Detached months are moved here: out of every query on orders, still readable for audits.
+CREATE SCHEMA IF NOT EXISTS archive;
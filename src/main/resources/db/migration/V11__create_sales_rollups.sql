@@ -0,0 +1,33 @@
+-- Sales rollups in hourly and daily buckets, kept current on every order write so reports
+-- read a few hundred pre-aggregated rows instead of scanning orders. period is HOUR or DAY.
+CREATE TABLE sales_rollup (
+    period VARCHAR(4) NOT NULL,
+    bucket TIMESTAMP NOT NULL,
+    revenue BIGINT NOT NULL,
+    order_count BIGINT NOT NULL,
+    items_sold BIGINT NOT NULL,
+    PRIMARY KEY (period, bucket)
+);
+
+-- No foreign key to products: sales history outlives deleted products.
+CREATE TABLE product_sales_rollup (
+    period VARCHAR(4) NOT NULL,
+    bucket TIMESTAMP NOT NULL,
+    product_id BIGINT NOT NULL,
+    revenue BIGINT NOT NULL,
+    items_sold BIGINT NOT NULL,
+    PRIMARY KEY (period, bucket, product_id)
+);
+
+INSERT INTO sales_rollup (period, bucket, revenue, order_count, items_sold)
+SELECT p.period, date_trunc(lower(p.period), o.order_date), SUM(o.total_amount), COUNT(*), COALESCE(SUM(i.items), 0)
+FROM orders o
+LEFT JOIN (SELECT order_id, SUM(quantity) AS items FROM order_item GROUP BY order_id) i ON i.order_id = o.id
+CROSS JOIN (VALUES ('HOUR'), ('DAY')) AS p(period)
+GROUP BY p.period, date_trunc(lower(p.period), o.order_date);
+
+INSERT INTO product_sales_rollup (period, bucket, product_id, revenue, items_sold)
+SELECT p.period, date_trunc(lower(p.period), i.order_date), i.product_id, SUM(i.total_price), SUM(i.quantity)
+FROM order_item i
+CROSS JOIN (VALUES ('HOUR'), ('DAY')) AS p(period)
+GROUP BY p.period, date_trunc(lower(p.period), i.order_date), i.product_id;
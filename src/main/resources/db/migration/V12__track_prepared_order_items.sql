@@ -0,0 +1,2 @@
+-- Set when the kitchen completes an item's ticket, so a restart only queues items still to be prepared.
+ALTER TABLE order_item ADD COLUMN prepared_at TIMESTAMP;
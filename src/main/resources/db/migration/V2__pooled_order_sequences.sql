@@ -0,0 +1,5 @@
+-- Hibernate's pooled optimizer reserves a block of ids per sequence call, which lets
+-- orders and their items be inserted through JDBC batches instead of one IDENTITY
+-- round trip per row. The increment must match the allocationSize of the entities.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_item_id_seq INCREMENT BY 50;
@@ -0,0 +1,14 @@
+-- Keys are scoped to the customer placing the order, so two clients picking the same key do not
+-- share an order. The hash of the request body lets a key reused for a different request be
+-- rejected instead of being answered with the first order.
+CREATE TABLE idempotency_keys (
+    customer_id UUID NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (customer_id, idempotency_key),
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
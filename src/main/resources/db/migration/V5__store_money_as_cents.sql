@@ -0,0 +1,7 @@
+-- Money columns hold whole cents from now on; amounts are rounded once here.
+ALTER TABLE products ALTER COLUMN price TYPE BIGINT USING ROUND(price * 100)::BIGINT;
+
+ALTER TABLE order_item ALTER COLUMN price TYPE BIGINT USING ROUND(price * 100)::BIGINT;
+ALTER TABLE order_item ALTER COLUMN total_price TYPE BIGINT USING ROUND(total_price * 100)::BIGINT;
+
+ALTER TABLE orders ALTER COLUMN total_amount TYPE BIGINT USING ROUND(total_amount * 100)::BIGINT;
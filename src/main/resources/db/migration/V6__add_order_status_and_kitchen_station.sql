@@ -0,0 +1,9 @@
+ALTER TABLE orders ADD COLUMN status VARCHAR(32) NOT NULL DEFAULT 'RECEIVED';
+
+ALTER TABLE products ADD COLUMN station VARCHAR(32) NOT NULL DEFAULT 'HOT_KITCHEN';
+
+UPDATE products SET station = 'SUSHI_BAR'
+WHERE id IN (SELECT cp.product_id
+             FROM category_product cp
+             JOIN categories c ON c.id = cp.category_id
+             WHERE c.name = 'Sushi');
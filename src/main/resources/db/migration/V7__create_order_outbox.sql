@@ -0,0 +1,10 @@
+CREATE SEQUENCE order_outbox_id_seq INCREMENT BY 50;
+
+-- No foreign key to orders: DELETED events must outlive the order they describe.
+CREATE TABLE order_outbox (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,3 @@
+-- Serves the customer order history: one index seek per page, newest first, whatever the
+-- number of orders a customer has. id breaks ties between orders placed at the same instant.
+CREATE INDEX idx_orders_customer_date ON orders (customer_id, order_date DESC, id DESC);
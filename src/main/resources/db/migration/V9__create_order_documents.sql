@@ -0,0 +1,8 @@
+-- Read model: each order rendered once, on write, to the JSON the API returns. List endpoints
+-- read these rows by primary key order instead of loading orders, items and products.
+CREATE TABLE order_documents (
+    order_id BIGINT PRIMARY KEY,
+    document JSONB NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
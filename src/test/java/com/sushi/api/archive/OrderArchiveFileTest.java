@@ -0,0 +1,89 @@
+package com.sushi.api.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderArchiveFileTest {
+    private static final UUID CUSTOMER_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID CUSTOMER_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back the orders and items that were written, ordered by id")
+    void writeAndRead_RoundTripsOrders() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2023, 3, 14, 12, 30, 15, 123_456_000);
+        List<ArchivedOrder> orders = List.of(
+                new ArchivedOrder(40L, date, CUSTOMER_B, 7L, 2598L, 2L, "DELIVERED", List.of(
+                        new ArchivedOrderItem(100L, 3L, "Salmon Nigiri", 2, 1299L, 2598L))),
+                new ArchivedOrder(12L, date.minusDays(3), CUSTOMER_A, 5L, 0L, 0L, "CANCELLED", List.of()),
+                new ArchivedOrder(13L, date.minusDays(2), CUSTOMER_A, 5L, 4197L, 1L, "DELIVERED", List.of(
+                        new ArchivedOrderItem(90L, 1L, "Tuna Roll", 1, 999L, 999L),
+                        new ArchivedOrderItem(91L, 2L, null, 4, 800L, 3200L))));
+        Path file = directory.resolve("orders-2023-03.archive");
+
+        OrderArchiveFile.write(file, orders);
+
+        assertEquals(List.of(orders.get(1), orders.get(2), orders.get(0)), OrderArchiveFile.read(file));
+    }
+
+    @Test
+    @DisplayName("Should record the id, date and customer ranges in the footer")
+    void readIndex_ReturnsRanges() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2023, 3, 1, 8, 0);
+        Path file = directory.resolve("orders-2023-03.archive");
+        OrderArchiveFile.write(file, List.of(
+                new ArchivedOrder(20L, date, CUSTOMER_A, 1L, 999L, 0L, "DELIVERED", List.of()),
+                new ArchivedOrder(25L, date.plusDays(5), CUSTOMER_B, 1L, 999L, 0L, "DELIVERED", List.of())));
+
+        OrderArchiveFile.Index index = OrderArchiveFile.readIndex(file);
+
+        assertEquals(2, index.orders());
+        assertEquals(date, index.minOrderDate());
+        assertTrue(index.mayContainOrder(22L));
+        assertFalse(index.mayContainOrder(26L));
+        assertTrue(index.mayContainCustomer(CUSTOMER_A));
+        assertFalse(index.mayContainCustomer(UUID.fromString("00000000-0000-0000-0000-00000000000c")));
+    }
+
+    @Test
+    @DisplayName("Should split orders into row groups and read only the groups that can match")
+    void writer_SplitsRowGroups() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2023, 3, 1, 8, 0);
+        Path file = directory.resolve("orders-2023-03.archive");
+        try (OrderArchiveFile.Writer writer = OrderArchiveFile.writer(file, 2)) {
+            for (long id = 1; id <= 5; id++) {
+                writer.add(new ArchivedOrder(id, date.plusHours(id), id <= 2 ? CUSTOMER_A : CUSTOMER_B, 1L, 999L, 0L,
+                        "DELIVERED", List.of(new ArchivedOrderItem(id * 10, 1L, "Salmon Nigiri", 1, 999L, 999L))));
+            }
+        }
+
+        OrderArchiveFile.Index index = OrderArchiveFile.readIndex(file);
+        List<ArchivedOrder> read = OrderArchiveFile.read(file, index, group -> group.mayContainOrder(4L));
+
+        assertEquals(List.of(2, 2, 1), index.rowGroups().stream().map(OrderArchiveFile.RowGroup::orders).toList());
+        assertEquals(5, OrderArchiveFile.read(file).size());
+        assertEquals(List.of(3L, 4L), read.stream().map(ArchivedOrder::id).toList());
+        assertFalse(index.rowGroups().get(0).mayContainCustomer(CUSTOMER_B));
+    }
+
+    @Test
+    @DisplayName("Should read back a file without orders")
+    void writer_WritesEmptyFile() throws Exception {
+        Path file = directory.resolve("orders-2023-03.archive");
+        OrderArchiveFile.write(file, List.of());
+
+        assertEquals(0, OrderArchiveFile.readIndex(file).orders());
+        assertFalse(OrderArchiveFile.readIndex(file).mayContainOrder(1L));
+        assertEquals(List.of(), OrderArchiveFile.read(file));
+    }
+}
@@ -0,0 +1,167 @@
+package com.sushi.api.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares persisting one order with its items the way Hibernate does it with IDENTITY columns
+ * (one INSERT ... RETURNING per row) against pooled sequences with JDBC batching and
+ * {@code reWriteBatchedInserts}. The {@code rows} counter reports inserted rows per second.
+ *
+ * <p>Needs a running PostgreSQL: {@code -Dbenchmark.db.url}, {@code -Dbenchmark.db.username} and
+ * {@code -Dbenchmark.db.password} default to the values in application.properties. Run {@link #main}
+ * from the IDE or with {@code org.openjdk.jmh.Main OrderInsertBenchmark} on the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderInsertBenchmark {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"1", "20"})
+    private int itemsPerOrder;
+
+    private Connection identityConnection;
+    private Connection batchedConnection;
+    private long nextOrderId;
+    private long orderIdHi;
+    private long nextItemId;
+    private long itemIdHi;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class InsertedRows {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        identityConnection = connect(false);
+        batchedConnection = connect(true);
+
+        try (Statement statement = identityConnection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_orders (id SERIAL PRIMARY KEY, order_date TIMESTAMP NOT NULL, total_amount DOUBLE PRECISION NOT NULL)");
+            statement.execute("CREATE TEMP TABLE bench_order_item (id SERIAL PRIMARY KEY, order_id INTEGER NOT NULL, product_id INTEGER NOT NULL, quantity INTEGER NOT NULL, price DOUBLE PRECISION NOT NULL, total_price DOUBLE PRECISION NOT NULL)");
+        }
+        try (Statement statement = batchedConnection.createStatement()) {
+            statement.execute("CREATE TEMP SEQUENCE bench_orders_seq INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("CREATE TEMP SEQUENCE bench_order_item_seq INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("CREATE TEMP TABLE bench_orders (id BIGINT PRIMARY KEY, order_date TIMESTAMP NOT NULL, total_amount DOUBLE PRECISION NOT NULL)");
+            statement.execute("CREATE TEMP TABLE bench_order_item (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, product_id INTEGER NOT NULL, quantity INTEGER NOT NULL, price DOUBLE PRECISION NOT NULL, total_price DOUBLE PRECISION NOT NULL)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        identityConnection.close();
+        batchedConnection.close();
+    }
+
+    @Benchmark
+    public void identityPerRowInserts(InsertedRows counter) throws SQLException {
+        long orderId;
+        try (PreparedStatement insertOrder = identityConnection.prepareStatement(
+                "INSERT INTO bench_orders (order_date, total_amount) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            insertOrder.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            insertOrder.setDouble(2, 8.99 * itemsPerOrder);
+            insertOrder.executeUpdate();
+            try (ResultSet keys = insertOrder.getGeneratedKeys()) {
+                keys.next();
+                orderId = keys.getLong(1);
+            }
+        }
+        for (int i = 0; i < itemsPerOrder; i++) {
+            try (PreparedStatement insertItem = identityConnection.prepareStatement(
+                    "INSERT INTO bench_order_item (order_id, product_id, quantity, price, total_price) VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                bindItem(insertItem, 1, orderId, i);
+                insertItem.executeUpdate();
+                try (ResultSet keys = insertItem.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        identityConnection.commit();
+        counter.rows += itemsPerOrder + 1;
+    }
+
+    @Benchmark
+    public void sequenceBatchedInserts(InsertedRows counter) throws SQLException {
+        long orderId = nextOrderId();
+        try (PreparedStatement insertOrder = batchedConnection.prepareStatement(
+                "INSERT INTO bench_orders (id, order_date, total_amount) VALUES (?, ?, ?)")) {
+            insertOrder.setLong(1, orderId);
+            insertOrder.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            insertOrder.setDouble(3, 8.99 * itemsPerOrder);
+            insertOrder.executeUpdate();
+        }
+        try (PreparedStatement insertItem = batchedConnection.prepareStatement(
+                "INSERT INTO bench_order_item (id, order_id, product_id, quantity, price, total_price) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < itemsPerOrder; i++) {
+                insertItem.setLong(1, nextItemId());
+                bindItem(insertItem, 2, orderId, i);
+                insertItem.addBatch();
+            }
+            insertItem.executeBatch();
+        }
+        batchedConnection.commit();
+        counter.rows += itemsPerOrder + 1;
+    }
+
+    private static void bindItem(PreparedStatement statement, int firstIndex, long orderId, int item) throws SQLException {
+        statement.setLong(firstIndex, orderId);
+        statement.setInt(firstIndex + 1, item % 10 + 1);
+        statement.setInt(firstIndex + 2, 1);
+        statement.setDouble(firstIndex + 3, 8.99);
+        statement.setDouble(firstIndex + 4, 8.99);
+    }
+
+    private long nextOrderId() throws SQLException {
+        if (nextOrderId == orderIdHi) {
+            orderIdHi = nextValue("bench_orders_seq");
+            nextOrderId = orderIdHi - ALLOCATION_SIZE;
+        }
+        return ++nextOrderId;
+    }
+
+    private long nextItemId() throws SQLException {
+        if (nextItemId == itemIdHi) {
+            itemIdHi = nextValue("bench_order_item_seq");
+            nextItemId = itemIdHi - ALLOCATION_SIZE;
+        }
+        return ++nextItemId;
+    }
+
+    private long nextValue(String sequence) throws SQLException {
+        try (Statement statement = batchedConnection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT nextval('" + sequence + "')")) {
+            resultSet.next();
+            return resultSet.getLong(1) + ALLOCATION_SIZE - 1;
+        }
+    }
+
+    private static Connection connect(boolean rewriteBatchedInserts) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getProperty("benchmark.db.username", "postgres"));
+        properties.setProperty("password", System.getProperty("benchmark.db.password", "admin"));
+        properties.setProperty("reWriteBatchedInserts", String.valueOf(rewriteBatchedInserts));
+        Connection connection = DriverManager.getConnection(
+                System.getProperty("benchmark.db.url", "jdbc:postgresql://localhost:5432/sushi_api"), properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
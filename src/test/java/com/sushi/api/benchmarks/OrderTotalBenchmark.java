@@ -0,0 +1,68 @@
+package com.sushi.api.benchmarks;
+
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous order total, a stream over boxed {@code Double} item totals, with
+ * {@link Order#calculateTotalAmount} summing primitive cents. Run with {@code -prof gc} to see
+ * the allocation rate of each. Run {@link #main} from the IDE or with
+ * {@code org.openjdk.jmh.Main OrderTotalBenchmark} on the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int itemsPerOrder;
+
+    private Order order;
+    private List<BoxedItem> boxedItems;
+
+    private record BoxedItem(Double totalPrice) {}
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+        boxedItems = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            long price = 399 + (i % 10) * 150;
+            int quantity = i % 3 + 1;
+            OrderItem item = new OrderItem((long) i, quantity, price);
+            item.calculateTotalPrice();
+            items.add(item);
+            boxedItems.add(new BoxedItem(price / 100.0 * quantity));
+        }
+        order = new Order(1L, null, null, items);
+    }
+
+    @Benchmark
+    public double boxedDoubleStream() {
+        return boxedItems.stream()
+                .mapToDouble(BoxedItem::totalPrice)
+                .sum();
+    }
+
+    @Benchmark
+    public long primitiveCents() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderTotalBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
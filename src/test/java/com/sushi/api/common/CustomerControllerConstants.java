@@ -18,5 +18,5 @@ public class CustomerControllerConstants {
     }
 
     public static final CustomerRequestDTO CUSTOMER_REQUEST_DTO = new CustomerRequestDTO("isabel", "isabel@gmail.com", "1234", PHONE_DTO, Set.of(ADDRESS_DTO));
-    public static final CustomerUpdateDTO CUSTOMER_UPDATE_DTO = new CustomerUpdateDTO(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234", PHONE_DTO, Set.of(ADDRESS_DTO));
+    public static final CustomerUpdateDTO CUSTOMER_UPDATE_DTO = new CustomerUpdateDTO(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234", PHONE_DTO, Set.of(ADDRESS_DTO), 0L);
 }
@@ -0,0 +1,43 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.model.dto.analytics.SalesWindow;
+import com.sushi.api.model.dto.analytics.TopProductDTO;
+import com.sushi.api.security.TokenService;
+import com.sushi.api.services.TopProductsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AnalyticsController.class)
+public class AnalyticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private TopProductsService topProductsService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return the best-selling products of the window")
+    public void findTopProducts_ReturnsProducts() throws Exception {
+        when(topProductsService.findTopProducts(SalesWindow.LAST_5_MINUTES, 3))
+                .thenReturn(List.of(new TopProductDTO(1L, "California Roll", 12)));
+
+        mockMvc.perform(get("/api/analytics/top-products").param("window", "LAST_5_MINUTES").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("California Roll"))
+                .andExpect(jsonPath("$[0].quantity").value(12));
+    }
+}
@@ -0,0 +1,82 @@
+package com.sushi.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.dto.cart.CartCheckoutDTO;
+import com.sushi.api.model.dto.cart.CartDTO;
+import com.sushi.api.model.dto.cart.CartItemDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.security.TokenService;
+import com.sushi.api.services.CartService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CartController.class)
+public class CartControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private CartService cartService;
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Should add an item and return the cart")
+    public void addItem_ReturnsCart() throws Exception {
+        CartDTO cart = new CartDTO(CUSTOMER.getId(), List.of(new CartItemDTO(1L, 2)), LocalDateTime.now());
+        when(cartService.addItem(CUSTOMER.getId(), 1L, 2)).thenReturn(cart);
+
+        mockMvc.perform(post("/api/carts/{customerId}/items", CUSTOMER.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderItemRequestDTO(1L, 2)))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Should return Not Found when the customer has no cart")
+    public void findCart_ReturnsNotFound_WhenCartDoesNotExist() throws Exception {
+        when(cartService.findCart(CUSTOMER.getId())).thenThrow(new ResourceNotFoundException("Cart not found for this customer."));
+
+        mockMvc.perform(get("/api/carts/{customerId}", CUSTOMER.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Should check out the cart and return Created")
+    public void checkout_ReturnsCreatedOrder() throws Exception {
+        when(cartService.checkout(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ORDER);
+
+        mockMvc.perform(post("/api/carts/{customerId}/checkout", CUSTOMER.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CartCheckoutDTO(ADDRESS.getId())))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(ORDER.getId()));
+    }
+}
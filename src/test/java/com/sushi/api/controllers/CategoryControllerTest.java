@@ -4,14 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
 import com.sushi.api.security.TokenService;
+import com.sushi.api.services.MenuCacheService;
 import com.sushi.api.services.CategoryService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
@@ -38,15 +37,16 @@ public class CategoryControllerTest {
     private TokenService tokenService;
     @MockBean
     private CategoryService categoryService;
+    @MockBean
+    private MenuCacheService menuCacheService;
 
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a list of categories inside page object when successful")
     public void listAllPageable_ReturnsAllCategoriesWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Category> page = new PageImpl<>(CATEGORIES, pageable, CATEGORIES.size());
 
-        when(categoryService.listAllPageable(pageable)).thenReturn(page);
+        when(menuCacheService.listCategories(pageable)).thenReturn(CATEGORIES);
 
         String expectedJson = objectMapper.writeValueAsString(CATEGORIES);
 
@@ -66,7 +66,7 @@ public class CategoryControllerTest {
     public void listAllNonPageable_ReturnsAllCategories() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(CATEGORIES);
 
-        when(categoryService.listAllNonPageable()).thenReturn(CATEGORIES);
+        when(menuCacheService.listCategories(Pageable.unpaged())).thenReturn(CATEGORIES);
 
         mockMvc.perform(get("/api/categories/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -79,7 +79,7 @@ public class CategoryControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a category by id when successful")
     public void findCategoryById_ReturnsCategoryById() throws Exception {
-        when(categoryService.findCategoryById(CATEGORY.getId())).thenReturn(CATEGORY);
+        when(menuCacheService.findCategory(CATEGORY.getId())).thenReturn(CATEGORY);
 
         String expectedJson = objectMapper.writeValueAsString(CATEGORY);
 
@@ -94,7 +94,7 @@ public class CategoryControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return ResourceNotFoundException when trying to find a category by id that does not exist")
     public void findCategoryById_ReturnsNotFound_WhenCategoryDoesNotExist() throws Exception {
-        when(categoryService.findCategoryById(5L)).thenThrow(new ResourceNotFoundException("Category not found"));
+        when(menuCacheService.findCategory(5L)).thenThrow(new ResourceNotFoundException("Category not found"));
 
         mockMvc.perform(get("/api/categories/{id}", 5L)
                         .accept(MediaType.APPLICATION_JSON))
@@ -3,8 +3,10 @@ package com.sushi.api.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Customer;
+import com.sushi.api.model.dto.order.OrderHistoryDTO;
 import com.sushi.api.security.TokenService;
 import com.sushi.api.services.CustomerService;
+import com.sushi.api.services.OrderService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +31,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CustomerController.class)
@@ -41,6 +45,8 @@ public class CustomerControllerTest {
     private TokenService tokenService;
     @MockBean
     private CustomerService customerService;
+    @MockBean
+    private OrderService orderService;
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
@@ -199,4 +205,22 @@ public class CustomerControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Should return a page of the customer's orders and the cursor of the next page")
+    void findCustomerOrders_ReturnsOrderHistory() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        LocalDateTime before = LocalDateTime.of(2024, 6, 1, 19, 42, 10);
+        when(orderService.findCustomerOrders(customerId, before, 12L, 2))
+                .thenReturn(new OrderHistoryDTO(List.of(), LocalDateTime.of(2024, 5, 30, 12, 0), 9L));
+
+        mockMvc.perform(get("/api/customers/{id}/orders", customerId)
+                        .param("before", "2024-06-01T19:42:10")
+                        .param("beforeId", "12")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBeforeId").value(9))
+                .andExpect(jsonPath("$.nextBefore").value("2024-05-30T12:00:00"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.dto.dispatch.DeliveryStopDTO;
+import com.sushi.api.model.dto.dispatch.DeliveryTripDTO;
+import com.sushi.api.security.TokenService;
+import com.sushi.api.services.DispatchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DispatchController.class)
+public class DispatchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private DispatchService dispatchService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return the next delivery trip")
+    public void takeTrip_ReturnsTrip() throws Exception {
+        DeliveryTripDTO trip = new DeliveryTripDTO(7L, "Centro", List.of(new DeliveryStopDTO(1L, "Rua A", "10")), LocalDateTime.now());
+        when(dispatchService.dispatch()).thenReturn(Optional.of(trip));
+
+        mockMvc.perform(post("/api/dispatch/trips").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tripId").value(7))
+                .andExpect(jsonPath("$.stops[0].orderId").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return No Content when no batch is due")
+    public void takeTrip_ReturnsNoContent_WhenNothingIsDue() throws Exception {
+        when(dispatchService.dispatch()).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/dispatch/trips").with(csrf()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return Not Found when the trip is not open")
+    public void completeTrip_ReturnsNotFound_WhenTripIsNotOpen() throws Exception {
+        doThrow(new ResourceNotFoundException("No open delivery trip with this id.")).when(dispatchService).complete(99L);
+
+        mockMvc.perform(post("/api/dispatch/trips/{tripId}/complete", 99L).with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+}
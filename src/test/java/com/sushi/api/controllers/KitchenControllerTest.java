@@ -0,0 +1,93 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.KitchenStation;
+import com.sushi.api.model.dto.kitchen.KitchenStationDTO;
+import com.sushi.api.model.dto.kitchen.KitchenTicketDTO;
+import com.sushi.api.security.TokenService;
+import com.sushi.api.services.KitchenScheduler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(KitchenController.class)
+public class KitchenControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private KitchenScheduler kitchenScheduler;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should list kitchen stations with their backlog")
+    public void listStations_ReturnsStations() throws Exception {
+        when(kitchenScheduler.listStations()).thenReturn(List.of(new KitchenStationDTO("sushi-bar-1", KitchenStation.SUSHI_BAR, 3)));
+
+        mockMvc.perform(get("/api/kitchen/stations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("sushi-bar-1"))
+                .andExpect(jsonPath("$[0].backlog").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return the claimed ticket")
+    public void claimTicket_ReturnsTicket() throws Exception {
+        KitchenTicketDTO ticket = new KitchenTicketDTO(10L, 1L, "California Roll", 2, "sushi-bar-1", LocalDateTime.now());
+        when(kitchenScheduler.claim("sushi-bar-1")).thenReturn(Optional.of(ticket));
+
+        mockMvc.perform(post("/api/kitchen/stations/{station}/claim", "sushi-bar-1").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId").value(10))
+                .andExpect(jsonPath("$.product").value("California Roll"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return No Content when no tickets are waiting")
+    public void claimTicket_ReturnsNoContent_WhenQueueIsEmpty() throws Exception {
+        when(kitchenScheduler.claim("fryer-1")).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/kitchen/stations/{station}/claim", "fryer-1").with(csrf()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should complete a claimed ticket")
+    public void completeTicket_ReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/api/kitchen/tickets/{ticketId}/complete", 10L).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(kitchenScheduler).complete(10L);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return Not Found when the ticket was not claimed")
+    public void completeTicket_ReturnsNotFound_WhenTicketIsNotClaimed() throws Exception {
+        doThrow(new ResourceNotFoundException("No claimed kitchen ticket with this id.")).when(kitchenScheduler).complete(99L);
+
+        mockMvc.perform(post("/api/kitchen/tickets/{ticketId}/complete", 99L).with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,96 @@
+package com.sushi.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.dto.order.OrderStatusUpdateDTO;
+import com.sushi.api.security.SecurityConfig;
+import com.sushi.api.security.TokenService;
+import com.sushi.api.services.IdempotencyService;
+import com.sushi.api.services.OrderBatchService;
+import com.sushi.api.services.OrderDocumentService;
+import com.sushi.api.services.OrderExportService;
+import com.sushi.api.services.OrderPipelineService;
+import com.sushi.api.services.OrderPurgeService;
+import com.sushi.api.services.OrderService;
+import com.sushi.api.services.QuoteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderController.class)
+@Import(SecurityConfig.class)
+public class OrderControllerSecurityTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private OrderService orderService;
+    @MockBean
+    private OrderBatchService orderBatchService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+    @MockBean
+    private OrderPipelineService orderPipelineService;
+    @MockBean
+    private OrderDocumentService orderDocumentService;
+    @MockBean
+    private QuoteService quoteService;
+    @MockBean
+    private OrderPurgeService orderPurgeService;
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @Test
+    @WithMockUser(authorities = {"USER"})
+    @DisplayName("Should forbid a user from updating the status of an order")
+    public void updateOrderStatus_ReturnsForbidden_WhenUserIsNotAdmin() throws Exception {
+        OrderStatusUpdateDTO dto = new OrderStatusUpdateDTO(1L, OrderStatus.DELIVERED);
+
+        mockMvc
+                .perform(put("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isForbidden());
+
+        verify(orderService, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = {"ADMIN"})
+    @DisplayName("Should let an admin update the status of an order")
+    public void updateOrderStatus_ReturnsOk_WhenUserIsAdmin() throws Exception {
+        OrderStatusUpdateDTO dto = new OrderStatusUpdateDTO(1L, OrderStatus.DELIVERED);
+
+        mockMvc
+                .perform(put("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        verify(orderService).updateStatus(1L, OrderStatus.DELIVERED);
+    }
+
+    @Test
+    @WithMockUser(authorities = {"USER"})
+    @DisplayName("Should forbid a user from listing all orders")
+    public void listAllNonPageable_ReturnsForbidden_WhenUserIsNotAdmin() throws Exception {
+        mockMvc.perform(get("/api/orders/list"))
+                .andExpect(status().isForbidden());
+    }
+}
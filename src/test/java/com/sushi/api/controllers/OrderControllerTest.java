@@ -1,28 +1,67 @@
 package com.sushi.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
 import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.dto.order.OrderBatchResponseDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderHandleDTO;
+import com.sushi.api.model.dto.order.OrderQuoteDTO;
+import com.sushi.api.model.dto.order.OrderQuoteLineDTO;
+import com.sushi.api.model.dto.order.OrderPipelineStatus;
+import com.sushi.api.model.dto.order.OrderPurgeDTO;
+import com.sushi.api.model.dto.order.OrderPurgeRequestDTO;
+import com.sushi.api.model.dto.order.OrderPurgeStatus;
+import com.sushi.api.model.dto.order.OrderStatusUpdateDTO;
+import com.sushi.api.model.dto.order.OrderUpdateDTO;
 import com.sushi.api.security.TokenService;
+import com.sushi.api.services.IdempotencyService;
+import com.sushi.api.services.OrderBatchService;
+import com.sushi.api.services.OrderDocumentService;
+import com.sushi.api.services.OrderExportService;
+import com.sushi.api.services.OrderPipelineService;
+import com.sushi.api.services.OrderPurgeService;
 import com.sushi.api.services.OrderService;
+import com.sushi.api.services.QuoteService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static com.sushi.api.common.OrderConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -35,38 +74,110 @@ public class OrderControllerTest {
     private TokenService tokenService;
     @MockBean
     private OrderService orderService;
+    @MockBean
+    private OrderBatchService orderBatchService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+    @MockBean
+    private OrderPipelineService orderPipelineService;
+    @MockBean
+    private OrderDocumentService orderDocumentService;
+    @MockBean
+    private QuoteService quoteService;
+    @MockBean
+    private OrderPurgeService orderPurgeService;
+    @MockBean
+    private OrderExportService orderExportService;
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should return a list of orders inside page object when successful")
     public void listAllPageable_ReturnsAllOrdersWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> page = new PageImpl<>(ORDERS, pageable, ORDERS.size());
-
-        when(orderService.listAllPageable(pageable)).thenReturn(page);
-
         String expectedJson = objectMapper.writeValueAsString(ORDERS);
 
-        mockMvc
+        when(orderDocumentService.documentPage(pageable)).thenReturn(pageable);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(expectedJson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderDocumentService).writePage(eq(pageable), any(OutputStream.class));
+
+        MvcResult result = mockMvc
                 .perform(get("/api/orders")
                         .param("page", "0")
                         .param("size", "10")
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return 400 when the page is sorted by an unsupported property")
+    public void listAllPageable_ReturnsBadRequest_WhenSortIsUnsupported() throws Exception {
+        when(orderDocumentService.documentPage(any()))
+                .thenThrow(new BadRequestException("Orders cannot be sorted by totalAmount, sort by one of id, orderDate."));
+
+        mockMvc
+                .perform(get("/api/orders")
+                        .param("sort", "totalAmount,desc")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(orderDocumentService, never()).writePage(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should stream the CSV export gzip-compressed when the client accepts gzip")
+    public void exportOrders_WithGzip_ReturnsCompressedCsv() throws Exception {
+        String csv = "order_id,order_date\n1,2024-01-01T12:00\n";
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 1, 0, 0);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(csv.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExportService).writeCsv(eq(from), eq(to), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2025-01-01T00:00:00")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofHours(2).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        MvcResult exported = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-2024-01-01-2025-01-01.csv\""))
+                .andReturn();
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(exported.getResponse().getContentAsByteArray())).readAllBytes();
+        assertEquals(csv, new String(body, StandardCharsets.UTF_8));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should return a list of orders when successful")
     public void listAllNonPageable_ReturnsAllOrders() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(ORDERS);
 
-        when(orderService.listAllNonPageable()).thenReturn(ORDERS);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(expectedJson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderDocumentService).writeAll(any(OutputStream.class));
 
-        mockMvc.perform(get("/api/orders/list")
+        MvcResult result = mockMvc.perform(get("/api/orders/list")
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(expectedJson));
@@ -113,6 +224,94 @@ public class OrderControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should create an order through the idempotency store when an Idempotency-Key is sent")
+    public void createOrder_WithIdempotencyKey_ReturnsOriginalOrder() throws Exception {
+        when(idempotencyService.createOrder("retry-1", ORDER_REQUEST_DTO)).thenReturn(ORDER);
+
+        mockMvc
+                .perform(post("/api/orders")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ORDER_REQUEST_DTO))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(ORDER)));
+
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return 422 when an Idempotency-Key is replayed with a different body")
+    public void createOrder_WithReusedIdempotencyKey_ReturnsUnprocessableEntity() throws Exception {
+        when(idempotencyService.createOrder("retry-1", ORDER_REQUEST_DTO))
+                .thenThrow(new UnprocessableEntityException("Idempotency-Key was already used with a different request body."));
+
+        mockMvc
+                .perform(post("/api/orders")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ORDER_REQUEST_DTO))
+                        .with(csrf()))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return the priced order without placing it")
+    public void quoteOrder_ReturnsLineTotalsAndTotal() throws Exception {
+        OrderQuoteDTO quote = new OrderQuoteDTO(List.of(new OrderQuoteLineDTO(1L, "California Roll", 2, 899L, 1798L)), 1798L);
+        when(quoteService.quote(ORDER_REQUEST_DTO)).thenReturn(quote);
+
+        mockMvc
+                .perform(post("/api/orders/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ORDER_REQUEST_DTO))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].totalPrice").value(17.98))
+                .andExpect(jsonPath("$.totalAmount").value(17.98));
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should accept an order for asynchronous processing and returns Accepted")
+    public void acceptOrder_WithValidData_ReturnsAcceptedWithHandle() throws Exception {
+        OrderHandleDTO handle = new OrderHandleDTO(UUID.randomUUID(), OrderPipelineStatus.ACCEPTED, null, null, LocalDateTime.now());
+        when(orderPipelineService.accept(ORDER_REQUEST_DTO)).thenReturn(handle);
+
+        mockMvc
+                .perform(post("/api/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ORDER_REQUEST_DTO))
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/orders/async/" + handle.handle()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should import a batch of orders and return the result of each order")
+    public void createOrders_WithNdjsonBody_ReturnsBatchResults() throws Exception {
+        OrderBatchResponseDTO response = new OrderBatchResponseDTO(2, 1, 1, List.of(
+                OrderBatchResultDTO.created(0, ORDER.getId()),
+                OrderBatchResultDTO.failed(1, "Customer not found with this id.")));
+        String body = objectMapper.writeValueAsString(ORDER_REQUEST_DTO) + "\n" + objectMapper.writeValueAsString(ORDER_REQUEST_DTO);
+
+        when(orderBatchService.importOrders(any())).thenReturn(response);
+
+        mockMvc
+                .perform(post("/api/orders/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should replace an existing order")
@@ -127,6 +326,72 @@ public class OrderControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return Conflict with the current order when it was modified concurrently")
+    public void replaceOrder_ReturnsConflict_WhenOrderWasModified() throws Exception {
+        String orderJson = objectMapper.writeValueAsString(ORDER_UPDATE_DTO);
+        when(orderService.replaceOrder(any(OrderUpdateDTO.class)))
+                .thenThrow(new ConflictException("Order was modified concurrently, reload it and try again.", ORDER));
+
+        mockMvc
+                .perform(put("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson)
+                        .with(csrf()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.details").value("Order was modified concurrently, reload it and try again."))
+                .andExpect(jsonPath("$.current.id").value(ORDER.getId()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return Bad Request when the replace does not carry the version the client read")
+    public void replaceOrder_ReturnsBadRequest_WhenVersionIsMissing() throws Exception {
+        OrderUpdateDTO dto = new OrderUpdateDTO(ORDER.getId(), ORDER_UPDATE_DTO.deliveryAddressId(), List.of(ORDER_ITEM_UPDATE_DTO), null);
+
+        mockMvc
+                .perform(put("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).replaceOrder(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should update the status of an order")
+    public void updateOrderStatus_ReturnsUpdatedOrder() throws Exception {
+        OrderStatusUpdateDTO dto = new OrderStatusUpdateDTO(ORDER.getId(), OrderStatus.OUT_FOR_DELIVERY);
+        Order order = new Order(ORDER.getId(), ORDER.getCustomer(), ORDER.getDeliveryAddress(), ORDER.getItems());
+        order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
+        when(orderService.updateStatus(ORDER.getId(), OrderStatus.OUT_FOR_DELIVERY)).thenReturn(order);
+
+        mockMvc
+                .perform(put("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("OUT_FOR_DELIVERY"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return Bad Request when the status is missing")
+    public void updateOrderStatus_ReturnsBadRequest_WhenStatusIsMissing() throws Exception {
+        mockMvc
+                .perform(put("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1}")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).updateStatus(any(), any());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should delete an order by id and returns No Content")
@@ -139,4 +404,22 @@ public class OrderControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should start a purge and return Accepted with a handle to poll")
+    public void purgeOrders_ReturnsAcceptedWithHandle() throws Exception {
+        OrderPurgeRequestDTO request = new OrderPurgeRequestDTO(null, null, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0));
+        OrderPurgeDTO purge = new OrderPurgeDTO(UUID.randomUUID(), OrderPurgeStatus.RUNNING, 2500, 0, null, LocalDateTime.now(), null);
+        when(orderPurgeService.startPurge(request)).thenReturn(purge);
+
+        mockMvc
+                .perform(post("/api/orders/purge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/orders/purge/" + purge.handle()))
+                .andExpect(jsonPath("$.matched").value(2500));
+    }
 }
@@ -3,28 +3,40 @@ package com.sushi.api.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.CursorPageDTO;
+import com.sushi.api.model.dto.product.ProductUpdateDTO;
 import com.sushi.api.security.TokenService;
+import com.sushi.api.services.MenuCacheService;
 import com.sushi.api.services.ProductService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
 import static com.sushi.api.common.ProductConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -37,15 +49,16 @@ public class ProductControllerTest {
     private TokenService tokenService;
     @MockBean
     private ProductService productService;
+    @MockBean
+    private MenuCacheService menuCacheService;
 
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a list of products inside page object when successful")
     public void listAllPageable_ReturnsAllProductsWithPagination() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> page = new PageImpl<>(PRODUCTS, pageable, PRODUCTS.size());
 
-        when(productService.listAllPageable(pageable)).thenReturn(page);
+        when(menuCacheService.listProducts(pageable)).thenReturn(PRODUCTS);
 
         String expectedJson = objectMapper.writeValueAsString(PRODUCTS);
 
@@ -65,7 +78,7 @@ public class ProductControllerTest {
     public void listAllNonPageable_ReturnsAllProducts() throws Exception {
         String expectedJson = objectMapper.writeValueAsString(PRODUCTS);
 
-        when(productService.listAllNonPageable()).thenReturn(PRODUCTS);
+        when(menuCacheService.listProducts(Pageable.unpaged())).thenReturn(PRODUCTS);
 
         mockMvc.perform(get("/api/products/list")
                         .accept(MediaType.APPLICATION_JSON))
@@ -74,11 +87,44 @@ public class ProductControllerTest {
                 .andExpect(content().json(expectedJson));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should stream products as NDJSON when mediaType=ndjson")
+    public void listAllNdjson_StreamsProducts() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productService).writeAllNdjson(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/products/list").param("mediaType", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+        verify(menuCacheService, never()).listProducts(any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should write the price as a decimal amount")
+    public void findProductById_WritesPriceAsDecimal() throws Exception {
+        Product product = new Product(7L, "Miso Soup", "Traditional Japanese miso soup", 599L, 1, "bowl", "http://example.com/images/miso_soup.jpg");
+        when(menuCacheService.findProduct(product.getId())).thenReturn(product);
+
+        mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(5.99));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return a product by id when successful")
     public void findProductById_ReturnsProductById() throws Exception {
-        when(productService.findProductById(PRODUCT.getId())).thenReturn(PRODUCT);
+        when(menuCacheService.findProduct(PRODUCT.getId())).thenReturn(PRODUCT);
 
         String expectedJson = objectMapper.writeValueAsString(PRODUCT);
 
@@ -93,7 +139,7 @@ public class ProductControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     @DisplayName("Should return ResourceNotFoundException when trying to find a product by id that does not exist")
     public void findProductById_ReturnsNotFound_WhenProductDoesNotExist() throws Exception {
-        when(productService.findProductById(5L)).thenThrow(new ResourceNotFoundException("Product not found"));
+        when(menuCacheService.findProduct(5L)).thenThrow(new ResourceNotFoundException("Product not found"));
 
         mockMvc.perform(get("/api/products/{id}", 5L)
                         .accept(MediaType.APPLICATION_JSON))
@@ -138,7 +184,9 @@ public class ProductControllerTest {
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should replace a product by id when successful")
     public void replaceProduct_WithValidData_ReturnsNoContent() throws Exception {
-        String productJson = objectMapper.writeValueAsString(PRODUCT);
+        ProductUpdateDTO dto = new ProductUpdateDTO(PRODUCT.getId(), PRODUCT.getName(), PRODUCT.getDescription(), new BigDecimal("8.99"),
+                PRODUCT.getPortionQuantity(), PRODUCT.getPortionUnit(), PRODUCT.getUrlImage(), Set.of(), null, 0L);
+        String productJson = objectMapper.writeValueAsString(dto);
 
         mockMvc
                 .perform(put("/api/products")
@@ -160,4 +208,18 @@ public class ProductControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return a page of products with the cursor of the next page")
+    public void scroll_ReturnsProductsAndNextCursor() throws Exception {
+        when(productService.scroll("Mg", 2)).thenReturn(new CursorPageDTO<>(PRODUCTS, "NA"));
+
+        mockMvc.perform(get("/api/products/scroll")
+                        .param("cursor", "Mg")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PRODUCTS.size()))
+                .andExpect(jsonPath("$.nextCursor").value("NA"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.sushi.api.controllers;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.report.ProductSalesDTO;
+import com.sushi.api.model.dto.report.SalesBucketDTO;
+import com.sushi.api.model.dto.report.SalesPeriod;
+import com.sushi.api.security.TokenService;
+import com.sushi.api.services.SalesRollupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReportController.class)
+public class ReportControllerTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private SalesRollupService salesRollupService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return daily revenue with amounts in decimal currency")
+    public void findSales_ReturnsBuckets() throws Exception {
+        when(salesRollupService.findSales(SalesPeriod.DAY, FROM, TO))
+                .thenReturn(List.of(new SalesBucketDTO(FROM, 123450L, 12, 30)));
+
+        mockMvc.perform(get("/api/reports/sales").param("from", "2024-01-01T00:00:00").param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].revenue").value(1234.50))
+                .andExpect(jsonPath("$[0].orderCount").value(12));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return sales per product for the requested period")
+    public void findProductSales_ReturnsProducts() throws Exception {
+        when(salesRollupService.findProductSales(SalesPeriod.HOUR, FROM, TO))
+                .thenReturn(List.of(new ProductSalesDTO(1L, "California Roll", 5990L, 10)));
+
+        mockMvc.perform(get("/api/reports/sales/products").param("period", "HOUR")
+                        .param("from", "2024-01-01T00:00:00").param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("California Roll"))
+                .andExpect(jsonPath("$[0].itemsSold").value(10));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return Bad Request for an empty range")
+    public void findSales_ReturnsBadRequest_WhenRangeIsEmpty() throws Exception {
+        when(salesRollupService.findSales(SalesPeriod.DAY, TO, FROM)).thenThrow(new BadRequestException("'from' must be before 'to'."));
+
+        mockMvc.perform(get("/api/reports/sales").param("from", "2025-01-01T00:00:00").param("to", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+}
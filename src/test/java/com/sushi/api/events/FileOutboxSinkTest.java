@@ -0,0 +1,36 @@
+package com.sushi.api.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileOutboxSinkTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should append one JSON line per message with the order payload inlined")
+    void publish_AppendsOneLinePerMessage() throws IOException {
+        Path file = directory.resolve("events/order-events.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(new ObjectMapper().registerModule(new JavaTimeModule()), file);
+        LocalDateTime now = LocalDateTime.now();
+
+        sink.publish(List.of(new OrderEventMessage(1L, OrderEventType.CREATED, 10L, now, "{\"id\":10}")));
+        sink.publish(List.of(new OrderEventMessage(2L, OrderEventType.DELETED, 10L, now, "{\"id\":10}")));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"type\":\"CREATED\""));
+        assertTrue(lines.get(1).contains("\"payload\":{\"id\":10}"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.sushi.api.repositories;
+
+import com.sushi.api.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway schema and the order mappings against Postgres; skipped where Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class OrderRepositoryTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        UUID customerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO customers (id, name, email, password) VALUES (?, 'isabel', ?, '1234')",
+                customerId, customerId + "@gmail.com");
+        Long addressId = jdbcTemplate.queryForObject("""
+                INSERT INTO addresses (number, street, neighborhood, customer_id)
+                VALUES ('123', 'Main St', 'Downtown', ?) RETURNING id""", Long.class, customerId);
+        Long productId = jdbcTemplate.queryForObject("""
+                INSERT INTO products (name, description, price, portion_quantity, portion_unit, url_image)
+                VALUES (?, 'Crab, avocado and cucumber', 899, 8, 'pieces', 'http://example.com/roll.jpg')
+                RETURNING id""", Long.class, "California Roll " + customerId);
+        customer = entityManager.find(Customer.class, customerId);
+        address = entityManager.find(Address.class, addressId);
+        product = entityManager.find(Product.class, productId);
+    }
+
+    @Test
+    @DisplayName("Should write and load order items on the (order_id, order_date) key of orders")
+    void findById_LoadsItemsOnCompositeKey() {
+        Order order = persistOrder();
+
+        Order found = orderRepository.findById(new OrderKey(order.getId(), order.getOrderDate())).orElseThrow();
+
+        assertEquals(2, found.getItems().size());
+        assertTrue(found.getItems().stream().allMatch(item -> item.getProduct().getId().equals(product.getId())));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM order_item WHERE order_id = ? AND order_date = ?",
+                Integer.class, order.getId(), order.getOrderDate()));
+    }
+
+    @Test
+    @DisplayName("Should find an order by id through the date of its document, and in any month without one")
+    void findByOrderId_UsesDocumentDate() {
+        Order order = persistOrder();
+
+        assertTrue(orderRepository.findByOrderId(order.getId()).isEmpty());
+        assertEquals(order.getId(), orderRepository.findByOrderIdInAnyMonth(order.getId()).orElseThrow().getId());
+
+        jdbcTemplate.update("""
+                INSERT INTO order_documents (order_id, order_date, document, updated_at)
+                VALUES (?, ?, '{}'::jsonb, now())""", order.getId(), order.getOrderDate());
+        Order found = orderRepository.findByOrderId(order.getId()).orElseThrow();
+
+        assertEquals(order.getOrderDate(), found.getOrderDate());
+        assertEquals(2, found.getItems().size());
+    }
+
+    private Order persistOrder() {
+        Order order = new Order();
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        order.setCustomer(customer);
+        order.setDeliveryAddress(address);
+        order.setItems(new ArrayList<>(List.of(item(order, 2), item(order, 1))));
+        order.calculateTotalAmount();
+        orderRepository.saveAndFlush(order);
+        entityManager.clear();
+        return order;
+    }
+
+    private OrderItem item(Order order, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setPrice(product.getPrice());
+        item.calculateTotalPrice();
+        return item;
+    }
+}
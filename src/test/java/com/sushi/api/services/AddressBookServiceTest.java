@@ -0,0 +1,89 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.CustomerChangedEvent;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Customer;
+import com.sushi.api.repositories.AddressRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class AddressBookServiceTest {
+    private static final Customer ANA = customer("00000000-0000-0000-0000-00000000000a");
+    private static final Customer CARLOS = customer("00000000-0000-0000-0000-00000000000b");
+    private static final Address ANA_HOME = address(1L, ANA);
+    private static final Address CARLOS_HOME = address(2L, CARLOS);
+
+    private AddressBookService addressBookService;
+    @Mock
+    private AddressRepository addressRepository;
+
+    @BeforeEach
+    void setUp() {
+        addressBookService = new AddressBookService(addressRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        when(addressRepository.findByCustomerIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<UUID> ids = List.copyOf(invocation.getArgument(0));
+            return List.of(ANA_HOME, CARLOS_HOME).stream()
+                    .filter(address -> ids.contains(address.getCustomer().getId()))
+                    .toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Should resolve a customer's address from the cache after the first lookup")
+    void findAddress_LoadsAddressBookOnce() {
+        assertEquals(ANA_HOME, addressBookService.findAddress(ANA.getId(), 1L));
+        assertEquals(ANA_HOME, addressBookService.findAddress(ANA.getId(), 1L));
+
+        verify(addressRepository, times(1)).findByCustomerIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reject an address that belongs to another customer")
+    void findAddress_ThrowsResourceNotFoundException_WhenAddressBelongsToAnotherCustomer() {
+        assertThrows(ResourceNotFoundException.class, () -> addressBookService.findAddress(ANA.getId(), 2L));
+    }
+
+    @Test
+    @DisplayName("Should load several address books with one query and reload after a customer change")
+    void findAddresses_LoadsInBulkAndReloadsAfterInvalidation() {
+        Map<UUID, Map<Long, Address>> books = addressBookService.findAddresses(Set.of(ANA.getId(), CARLOS.getId()));
+
+        assertEquals(Map.of(1L, ANA_HOME), books.get(ANA.getId()));
+        assertEquals(Map.of(2L, CARLOS_HOME), books.get(CARLOS.getId()));
+        verify(addressRepository, times(1)).findByCustomerIdIn(anyCollection());
+
+        addressBookService.onCustomerChanged(new CustomerChangedEvent(ANA.getId()));
+        addressBookService.findAddress(ANA.getId(), 1L);
+        addressBookService.findAddress(CARLOS.getId(), 2L);
+        verify(addressRepository, times(2)).findByCustomerIdIn(anyCollection());
+    }
+
+    private static Customer customer(String id) {
+        Customer customer = new Customer();
+        customer.setId(UUID.fromString(id));
+        return customer;
+    }
+
+    private static Address address(Long id, Customer customer) {
+        Address address = new Address("10", "Rua A", "Centro", customer);
+        address.setId(id);
+        return address;
+    }
+}
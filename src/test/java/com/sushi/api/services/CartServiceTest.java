@@ -0,0 +1,112 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.dto.cart.CartDTO;
+import com.sushi.api.model.dto.cart.CartItemDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.repositories.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class CartServiceTest {
+    private CartService cartService;
+    private SimpleMeterRegistry meterRegistry;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private QuoteService quoteService;
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cartService = new CartService(orderService, quoteService, customerRepository, meterRegistry,
+                Duration.ofHours(2), DataSize.ofKilobytes(64), 2);
+        when(quoteService.isKnownProduct(anyLong())).thenReturn(true);
+        when(customerRepository.existsById(CUSTOMER.getId())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should create the cart on the first item and add to existing lines")
+    void addItem_CreatesCartAndMergesQuantities() {
+        cartService.addItem(CUSTOMER.getId(), 1L, 2);
+        cartService.addItem(CUSTOMER.getId(), 2L, 1);
+        CartDTO cart = cartService.addItem(CUSTOMER.getId(), 1L, 3);
+
+        assertEquals(List.of(new CartItemDTO(1L, 5), new CartItemDTO(2L, 1)), cart.items());
+        assertEquals(cart, cartService.findCart(CUSTOMER.getId()));
+        verify(customerRepository, times(1)).existsById(CUSTOMER.getId());
+        assertNotNull(meterRegistry.find("carts.memory").gauge());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown products, unknown customers and full carts")
+    void addItem_ThrowsException_WhenItemCannotBeAdded() {
+        when(quoteService.isKnownProduct(9L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> cartService.addItem(CUSTOMER.getId(), 9L, 1));
+        assertThrows(ResourceNotFoundException.class, () -> cartService.addItem(UUID.randomUUID(), 1L, 1));
+
+        cartService.addItem(CUSTOMER.getId(), 1L, 1);
+        cartService.addItem(CUSTOMER.getId(), 2L, 1);
+        assertThrows(BadRequestException.class, () -> cartService.addItem(CUSTOMER.getId(), 3L, 1));
+        assertEquals(2, cartService.findCart(CUSTOMER.getId()).items().size());
+    }
+
+    @Test
+    @DisplayName("Should update and remove lines of an existing cart")
+    void updateAndRemoveItem_ChangeCart() {
+        cartService.addItem(CUSTOMER.getId(), 1L, 2);
+        cartService.addItem(CUSTOMER.getId(), 2L, 1);
+
+        assertEquals(List.of(new CartItemDTO(1L, 4), new CartItemDTO(2L, 1)),
+                cartService.updateItem(CUSTOMER.getId(), 1L, 4).items());
+        assertEquals(List.of(new CartItemDTO(1L, 4)), cartService.removeItem(CUSTOMER.getId(), 2L).items());
+        assertThrows(ResourceNotFoundException.class, () -> cartService.removeItem(CUSTOMER.getId(), 2L));
+        assertThrows(ResourceNotFoundException.class, () -> cartService.updateItem(UUID.randomUUID(), 1L, 1));
+    }
+
+    @Test
+    @DisplayName("Should place the cart as an order and remove it")
+    void checkout_CreatesOrderAndRemovesCart() {
+        cartService.addItem(CUSTOMER.getId(), 1L, 2);
+        OrderRequestDTO expected = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(new OrderItemRequestDTO(1L, 2)));
+        when(orderService.createOrder(expected)).thenReturn(ORDER);
+
+        assertEquals(ORDER, cartService.checkout(CUSTOMER.getId(), ADDRESS.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> cartService.findCart(CUSTOMER.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> cartService.checkout(CUSTOMER.getId(), ADDRESS.getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep the cart when the order cannot be created")
+    void checkout_KeepsCart_WhenOrderFails() {
+        cartService.addItem(CUSTOMER.getId(), 1L, 2);
+        when(orderService.createOrder(any())).thenThrow(new ResourceNotFoundException("Address not found with this id."));
+
+        assertThrows(ResourceNotFoundException.class, () -> cartService.checkout(CUSTOMER.getId(), 99L));
+        assertEquals(List.of(new CartItemDTO(1L, 2)), cartService.findCart(CUSTOMER.getId()).items());
+    }
+}
@@ -1,5 +1,6 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.CategoryChangedEvent;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Category;
 import com.sushi.api.model.dto.category.CategoryRequestDTO;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -32,6 +34,8 @@ public class CategoryServiceTest {
     private CategoryService categoryService;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     @DisplayName("Should return a list of categories inside page object when successful")
@@ -176,6 +180,7 @@ public class CategoryServiceTest {
         assertThatCode(() -> categoryService.deleteCategory(CATEGORY.getId())).doesNotThrowAnyException();
 
         verify(categoryRepository, times(1)).delete(CATEGORY);
+        verify(eventPublisher).publishEvent(new CategoryChangedEvent(CATEGORY.getId()));
     }
 
     @Test
@@ -0,0 +1,84 @@
+package com.sushi.api.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class ClusterLockTest {
+    private ClusterLock clusterLock;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement lock;
+    @Mock
+    private PreparedStatement unlock;
+    @Mock
+    private ResultSet locked;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clusterLock = new ClusterLock(jdbcTemplate);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")).thenReturn(lock);
+        when(connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")).thenReturn(unlock);
+        when(lock.executeQuery()).thenReturn(locked);
+        when(unlock.executeQuery()).thenReturn(mock(ResultSet.class));
+        when(locked.next()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should run the task and release the lock when the lock is free")
+    void runExclusively_RunsTask_WhenLockIsFree() throws Exception {
+        when(locked.getBoolean(1)).thenReturn(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertTrue(clusterLock.runExclusively("maintenance", () -> ran.set(true)));
+
+        assertTrue(ran.get());
+        verify(lock).setString(1, "maintenance");
+        verify(unlock).setString(1, "maintenance");
+        verify(unlock).executeQuery();
+    }
+
+    @Test
+    @DisplayName("Should release the lock when the task fails")
+    void runExclusively_ReleasesLock_WhenTaskFails() throws Exception {
+        when(locked.getBoolean(1)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> clusterLock.runExclusively("maintenance", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(unlock).executeQuery();
+    }
+
+    @Test
+    @DisplayName("Should skip the task when another node holds the lock")
+    void runExclusively_SkipsTask_WhenLockIsHeld() throws Exception {
+        when(locked.getBoolean(1)).thenReturn(false);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertFalse(clusterLock.runExclusively("maintenance", () -> ran.set(true)));
+
+        assertFalse(ran.get());
+        verify(unlock, never()).executeQuery();
+    }
+}
@@ -1,7 +1,10 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.CustomerChangedEvent;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
 import com.sushi.api.model.Customer;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.customer.CustomerRequestDTO;
 import com.sushi.api.model.dto.customer.CustomerUpdateDTO;
 import com.sushi.api.repositories.CustomerRepository;
@@ -11,11 +14,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -23,6 +28,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import static com.sushi.api.common.CustomerConstants.*;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -35,13 +42,19 @@ class CustomerServiceTest {
     @InjectMocks
     private CustomerService customerService;
     @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private CustomerRepository customerRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(optimisticLockRetry.executeOnce(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -204,7 +217,8 @@ class CustomerServiceTest {
                 "newEmail",
                 CUSTOMER.getPassword(),
                 PHONE_DTO,
-                Set.of(ADDRESS_DTO)
+                Set.of(ADDRESS_DTO),
+                CUSTOMER.getVersion()
         );
 
         customerService.replaceCustomer(updateDTO);
@@ -213,6 +227,30 @@ class CustomerServiceTest {
         verify(customerRepository).save(CUSTOMER);
     }
 
+    @Test
+    @DisplayName("Should throw a ConflictException with the current customer when the client version is stale")
+    void replaceCustomer_ThrowsConflictException_WhenVersionIsStale() {
+        Customer customer = new Customer(UUID.randomUUID(), "isabel", "isabel@gmail.com", "1234", PHONE);
+        customer.setVersion(4L);
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+
+        CustomerUpdateDTO updateDTO = new CustomerUpdateDTO(
+                customer.getId(),
+                "newName",
+                "newEmail",
+                "1234",
+                PHONE_DTO,
+                Set.of(ADDRESS_DTO),
+                3L
+        );
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> customerService.replaceCustomer(updateDTO));
+
+        assertSame(customer, exception.getCurrent());
+        assertEquals("isabel", customer.getName());
+        verify(customerRepository, never()).save(any(Customer.class));
+    }
+
     @Test
     @DisplayName("Should delete a customer by id when successful")
     void deleteCustomer_WithExistingId_WhenSuccessful() {
@@ -221,6 +259,7 @@ class CustomerServiceTest {
         assertThatCode(() -> customerService.deleteCustomer(CUSTOMER.getId())).doesNotThrowAnyException();
 
         verify(customerRepository, times(1)).delete(CUSTOMER);
+        verify(eventPublisher).publishEvent(new CustomerChangedEvent(CUSTOMER.getId()));
     }
 
     @Test
@@ -230,4 +269,18 @@ class CustomerServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.deleteCustomer(CUSTOMER.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should continue after the customer id carried by the cursor")
+    void scroll_ContinuesAfterCursor() {
+        Pageable page = CursorPagination.firstPage(1);
+        when(customerRepository.findAllBy(page)).thenReturn(new SliceImpl<>(List.of(CUSTOMER), page, true));
+        when(customerRepository.findByIdGreaterThan(CUSTOMER.getId(), page)).thenReturn(new SliceImpl<>(List.of(CUSTOMER2), page, false));
+
+        CursorPageDTO<Customer> first = customerService.scroll(null, 1);
+        CursorPageDTO<Customer> second = customerService.scroll(first.nextCursor(), 1);
+
+        assertEquals(List.of(CUSTOMER2), second.content());
+        assertNull(second.nextCursor());
+    }
+}
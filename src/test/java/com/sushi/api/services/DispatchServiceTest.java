@@ -0,0 +1,147 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Address;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.dto.dispatch.DeliveryStopDTO;
+import com.sushi.api.model.dto.dispatch.DeliveryTripDTO;
+import com.sushi.api.model.dto.dispatch.NeighborhoodQueueDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class DispatchServiceTest {
+    private DispatchService dispatchService;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    @Mock
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(LocalDateTime.of(2024, 5, 3, 19, 0).toInstant(ZoneOffset.UTC));
+        dispatchService = new DispatchService(clock, orderService, meterRegistry, Duration.ofMinutes(10), 2);
+    }
+
+    @Test
+    @DisplayName("Should send a full neighborhood batch right away and keep others waiting for the window")
+    void dispatch_SendsFullBatchesFirst() {
+        dispatchService.enqueue(order(1L, "Centro"));
+        dispatchService.enqueue(order(2L, "Savassi"));
+        dispatchService.enqueue(order(3L, " centro"));
+
+        DeliveryTripDTO trip = dispatchService.dispatch().orElseThrow();
+
+        assertEquals("Centro", trip.neighborhood());
+        assertEquals(List.of(1L, 3L), trip.stops().stream().map(DeliveryStopDTO::orderId).toList());
+        verify(orderService).updateStatus(1L, OrderStatus.OUT_FOR_DELIVERY);
+        verify(orderService).updateStatus(3L, OrderStatus.OUT_FOR_DELIVERY);
+        assertTrue(dispatchService.dispatch().isEmpty());
+        assertEquals(1, meterRegistry.get("dispatch.orders.waiting").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should send a partial batch once its oldest order waited for the window")
+    void dispatch_SendsPartialBatch_AfterWindow() {
+        dispatchService.enqueue(order(2L, "Savassi"));
+        clock.advance(Duration.ofMinutes(10));
+
+        DeliveryTripDTO trip = dispatchService.dispatch().orElseThrow();
+
+        assertEquals("Savassi", trip.neighborhood());
+        assertEquals(1, trip.stops().size());
+        assertEquals(1, meterRegistry.get("dispatch.trip.orders").summary().count());
+        assertEquals(600, meterRegistry.get("dispatch.order.wait").timer().totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should queue orders when they become READY and drop them when moved on by hand")
+    void onOrderEvent_TracksReadyOrders() {
+        Order ready = order(1L, "Centro");
+        ready.setStatus(OrderStatus.READY);
+        dispatchService.onOrderEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, ready));
+        assertEquals(1, dispatchService.listNeighborhoods().get(0).waiting());
+
+        Order delivered = order(1L, "Centro");
+        delivered.setStatus(OrderStatus.DELIVERED);
+        dispatchService.onOrderEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, delivered));
+        assertTrue(dispatchService.listNeighborhoods().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop purged orders from their neighborhood")
+    void onOrdersPurged_DropsWaitingOrders() {
+        dispatchService.enqueue(order(1L, "Centro"));
+        dispatchService.enqueue(order(2L, "Savassi"));
+
+        dispatchService.onOrdersPurged(new OrdersPurgedEvent(List.of(1L, 99L), List.of()));
+
+        assertEquals(List.of("Savassi"), dispatchService.listNeighborhoods().stream().map(NeighborhoodQueueDTO::neighborhood).toList());
+        assertEquals(1, meterRegistry.get("dispatch.orders.waiting").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should deliver every order of a trip when it is completed")
+    void complete_MovesOrdersToDelivered() {
+        dispatchService.enqueue(order(1L, "Centro"));
+        dispatchService.enqueue(order(3L, "Centro"));
+        Long tripId = dispatchService.dispatch().orElseThrow().tripId();
+
+        dispatchService.complete(tripId);
+
+        verify(orderService).updateStatus(1L, OrderStatus.DELIVERED);
+        verify(orderService).updateStatus(3L, OrderStatus.DELIVERED);
+        assertThrows(ResourceNotFoundException.class, () -> dispatchService.complete(tripId));
+    }
+
+    private static Order order(Long id, String neighborhood) {
+        Address address = new Address("10", "Rua A", neighborhood, CUSTOMER);
+        return new Order(id, CUSTOMER, address, new ArrayList<>());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
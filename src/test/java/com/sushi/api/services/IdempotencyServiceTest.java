@@ -0,0 +1,159 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.UnprocessableEntityException;
+import com.sushi.api.model.IdempotencyKey;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.repositories.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static com.sushi.api.common.OrderConstants.ORDER_REQUEST_DTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class IdempotencyServiceTest {
+    private static final String KEY = "3f1c2a9e-retry";
+    private static final IdempotencyKey.Key ID = new IdempotencyKey.Key(ORDER_REQUEST_DTO.customerId(), KEY);
+
+    private IdempotencyService idempotencyService;
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, orderService, transactionTemplate,
+                new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofHours(24), 100);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should create the order and store the key on the first request")
+    void createOrder_WithNewKey_CreatesOrderAndStoresKey() {
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.empty());
+        when(orderService.createOrder(ORDER_REQUEST_DTO)).thenReturn(ORDER);
+
+        Order result = idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+
+        assertEquals(ORDER, result);
+        verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    @Test
+    @DisplayName("Should answer a retried request from memory without creating another order")
+    void createOrder_WithRetriedKey_ReturnsOriginalOrderFromMemory() {
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.empty());
+        when(orderService.createOrder(ORDER_REQUEST_DTO)).thenReturn(ORDER);
+
+        idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+        Order retried = idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+
+        assertEquals(ORDER, retried);
+        verify(orderService, times(1)).createOrder(ORDER_REQUEST_DTO);
+        verify(idempotencyKeyRepository, times(1)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should answer a retried request from the stored key when it is no longer in memory")
+    void createOrder_WithStoredKey_ReturnsStoredOrder() throws Exception {
+        when(idempotencyKeyRepository.findById(ID))
+                .thenReturn(Optional.of(new IdempotencyKey(ID, requestHash(ORDER_REQUEST_DTO), ORDER.getId(), ORDER.getOrderDate(), LocalDateTime.now())));
+        when(orderService.findOrderById(ORDER.getId(), ORDER.getOrderDate())).thenReturn(ORDER);
+
+        Order result = idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+
+        assertEquals(ORDER, result);
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    @DisplayName("Should return the order of a concurrent request that stored the same key first")
+    void createOrder_WhenConcurrentRequestWins_ReturnsWinningOrder() throws Exception {
+        when(idempotencyKeyRepository.findById(ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyKey(ID, requestHash(ORDER_REQUEST_DTO), ORDER.getId(), ORDER.getOrderDate(), LocalDateTime.now())));
+        when(orderService.createOrder(ORDER_REQUEST_DTO)).thenReturn(ORDER);
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(orderService.findOrderById(ORDER.getId(), ORDER.getOrderDate())).thenReturn(ORDER);
+
+        Order result = idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+
+        assertEquals(ORDER, result);
+    }
+
+    @Test
+    @DisplayName("Should reject a key replayed with a different request body")
+    void createOrder_WithReusedKeyAndDifferentBody_ThrowsUnprocessableEntityException() {
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.empty());
+        when(orderService.createOrder(ORDER_REQUEST_DTO)).thenReturn(ORDER);
+        idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+        OrderRequestDTO different = new OrderRequestDTO(ORDER_REQUEST_DTO.customerId(), 99L, ORDER_REQUEST_DTO.items());
+
+        assertThrows(UnprocessableEntityException.class, () -> idempotencyService.createOrder(KEY, different));
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a stored key replayed with a different request body")
+    void createOrder_WithStoredKeyAndDifferentBody_ThrowsUnprocessableEntityException() throws Exception {
+        OrderRequestDTO different = new OrderRequestDTO(ORDER_REQUEST_DTO.customerId(), 99L, ORDER_REQUEST_DTO.items());
+        when(idempotencyKeyRepository.findById(ID))
+                .thenReturn(Optional.of(new IdempotencyKey(ID, requestHash(ORDER_REQUEST_DTO), ORDER.getId(), ORDER.getOrderDate(), LocalDateTime.now())));
+        when(orderService.findOrderById(ORDER.getId(), ORDER.getOrderDate())).thenReturn(ORDER);
+
+        assertThrows(UnprocessableEntityException.class, () -> idempotencyService.createOrder(KEY, different));
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the same key of two customers apart")
+    void createOrder_WithSameKeyForAnotherCustomer_CreatesAnotherOrder() {
+        UUID otherCustomer = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+        OrderRequestDTO other = new OrderRequestDTO(otherCustomer, ORDER_REQUEST_DTO.deliveryAddressId(), ORDER_REQUEST_DTO.items());
+        when(idempotencyKeyRepository.findById(any())).thenReturn(Optional.empty());
+        when(orderService.createOrder(any())).thenReturn(ORDER);
+
+        idempotencyService.createOrder(KEY, ORDER_REQUEST_DTO);
+        idempotencyService.createOrder(KEY, other);
+
+        verify(orderService).createOrder(ORDER_REQUEST_DTO);
+        verify(orderService).createOrder(other);
+        verify(idempotencyKeyRepository).findById(new IdempotencyKey.Key(otherCustomer, KEY));
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when the key is blank")
+    void createOrder_WithBlankKey_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class, () -> idempotencyService.createOrder(" ", ORDER_REQUEST_DTO));
+    }
+
+    private static String requestHash(OrderRequestDTO dto) throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(dto);
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+    }
+}
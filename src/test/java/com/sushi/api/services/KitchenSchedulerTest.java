@@ -0,0 +1,210 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.*;
+import com.sushi.api.model.dto.kitchen.KitchenStationDTO;
+import com.sushi.api.model.dto.kitchen.KitchenTicketDTO;
+import com.sushi.api.repositories.OrderItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class KitchenSchedulerTest {
+    private static final Product ROLL = product(1L, "California Roll", KitchenStation.SUSHI_BAR);
+    private static final Product TEMPURA = product(2L, "Tempura Shrimp", KitchenStation.FRYER);
+
+    private KitchenScheduler kitchenScheduler;
+    private SimpleMeterRegistry meterRegistry;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        kitchenScheduler = new KitchenScheduler(orderService, orderItemRepository, meterRegistry, 2, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should hand out the tickets of the oldest order first")
+    void claim_ReturnsOldestOrderFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        kitchenScheduler.enqueue(order(2L, now, item(20L, TEMPURA)));
+        kitchenScheduler.enqueue(order(1L, now.minusMinutes(10), item(10L, TEMPURA)));
+
+        assertEquals(1L, kitchenScheduler.claim("fryer-1").orElseThrow().orderId());
+        assertEquals(2L, kitchenScheduler.claim("fryer-1").orElseThrow().orderId());
+        assertTrue(kitchenScheduler.claim("fryer-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should route each item to the least backlogged station of its kind")
+    void enqueue_BalancesItemsAcrossStationsByBacklog() {
+        LocalDateTime now = LocalDateTime.now();
+        kitchenScheduler.enqueue(order(1L, now, item(10L, ROLL), item(11L, ROLL), item(12L, ROLL), item(13L, TEMPURA)));
+
+        List<KitchenStationDTO> stations = kitchenScheduler.listStations();
+
+        assertEquals(new KitchenStationDTO("sushi-bar-1", KitchenStation.SUSHI_BAR, 2), stations.get(0));
+        assertEquals(new KitchenStationDTO("sushi-bar-2", KitchenStation.SUSHI_BAR, 1), stations.get(1));
+        assertEquals(new KitchenStationDTO("hot-kitchen-1", KitchenStation.HOT_KITCHEN, 0), stations.get(2));
+        assertEquals(new KitchenStationDTO("fryer-1", KitchenStation.FRYER, 1), stations.get(3));
+    }
+
+    @Test
+    @DisplayName("Should take a ticket from a busier station of the same kind when idle")
+    void claim_TakesTicketFromSibling_WhenOwnQueueIsEmpty() {
+        kitchenScheduler.enqueue(order(1L, LocalDateTime.now(), item(10L, ROLL)));
+
+        Optional<KitchenTicketDTO> ticket = kitchenScheduler.claim("sushi-bar-2");
+
+        assertTrue(ticket.isPresent());
+        assertEquals(10L, ticket.get().ticketId());
+        assertEquals("sushi-bar-2", ticket.get().station());
+        assertTrue(kitchenScheduler.claim("fryer-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should move the order to PREPARING on the first claim and READY after the last ticket")
+    void claimAndComplete_AdvanceOrderStatus() {
+        kitchenScheduler.enqueue(order(1L, LocalDateTime.now(), item(10L, ROLL), item(11L, TEMPURA)));
+
+        kitchenScheduler.claim("sushi-bar-1");
+        kitchenScheduler.claim("fryer-1");
+        verify(orderService, times(1)).updateStatus(1L, OrderStatus.PREPARING);
+
+        kitchenScheduler.complete(10L);
+        verify(orderService, never()).updateStatus(1L, OrderStatus.READY);
+        kitchenScheduler.complete(11L);
+        verify(orderService).updateStatus(1L, OrderStatus.READY);
+        verify(orderItemRepository).markPrepared(eq(10L), any(LocalDateTime.class));
+        verify(orderItemRepository).markPrepared(eq(11L), any(LocalDateTime.class));
+
+        assertEquals(1, meterRegistry.get("kitchen.station.completed").tag("station", "fryer-1").counter().count());
+        assertEquals(1, meterRegistry.get("kitchen.ticket.wait").tag("station", "sushi-bar-1").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should keep working when staff already moved the order further")
+    void complete_IgnoresStatusThatCannotBeApplied() {
+        kitchenScheduler.enqueue(order(1L, LocalDateTime.now(), item(10L, ROLL)));
+        when(orderService.updateStatus(1L, OrderStatus.READY)).thenThrow(new BadRequestException("Order cannot move from DELIVERED to READY."));
+
+        kitchenScheduler.claim("sushi-bar-1");
+
+        assertDoesNotThrow(() -> kitchenScheduler.complete(10L));
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException for unknown stations and unclaimed tickets")
+    void claimAndComplete_ThrowResourceNotFoundException_WhenUnknown() {
+        assertThrows(ResourceNotFoundException.class, () -> kitchenScheduler.claim("grill-1"));
+        assertThrows(ResourceNotFoundException.class, () -> kitchenScheduler.complete(99L));
+    }
+
+    @Test
+    @DisplayName("Should queue the unprepared items of open orders again on startup")
+    void restoreBacklog_QueuesUnpreparedItemsOfOpenOrders() {
+        OrderItem prepared = item(10L, TEMPURA);
+        prepared.setPreparedAt(LocalDateTime.now());
+        when(orderService.findOrdersByStatus(List.of(OrderStatus.RECEIVED, OrderStatus.PREPARING)))
+                .thenReturn(List.of(order(1L, LocalDateTime.now(), prepared, item(11L, TEMPURA))));
+
+        kitchenScheduler.restoreBacklog();
+
+        assertEquals(11L, kitchenScheduler.claim("fryer-1").orElseThrow().ticketId());
+        assertTrue(kitchenScheduler.claim("fryer-1").isEmpty());
+        kitchenScheduler.complete(11L);
+        verify(orderService).updateStatus(1L, OrderStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Should queue added items and drop the tickets of removed ones when an order is edited")
+    void onOrderEvent_ReconcilesTickets_WhenOrderIsUpdated() {
+        OrderItem kept = item(10L, ROLL);
+        OrderItem removed = item(11L, TEMPURA);
+        Order order = order(1L, LocalDateTime.now(), kept, removed);
+        kitchenScheduler.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order));
+        OrderSnapshot previous = OrderSnapshot.of(order);
+
+        order.getItems().remove(removed);
+        order.getItems().add(item(12L, TEMPURA));
+        kitchenScheduler.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, order, previous));
+
+        assertEquals(12L, kitchenScheduler.claim("fryer-1").orElseThrow().ticketId());
+        assertTrue(kitchenScheduler.claim("fryer-1").isEmpty());
+        kitchenScheduler.claim("sushi-bar-1");
+        kitchenScheduler.complete(10L);
+        verify(orderService, never()).updateStatus(1L, OrderStatus.READY);
+        kitchenScheduler.complete(12L);
+        verify(orderService).updateStatus(1L, OrderStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Should drop every ticket of a deleted order")
+    void onOrderEvent_DropsTickets_WhenOrderIsDeleted() {
+        Order order = order(1L, LocalDateTime.now(), item(10L, ROLL), item(11L, TEMPURA));
+        kitchenScheduler.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order));
+        kitchenScheduler.claim("sushi-bar-1");
+
+        kitchenScheduler.onOrderEvent(new OrderEvent(OrderEventType.DELETED, order));
+
+        assertTrue(kitchenScheduler.claim("fryer-1").isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> kitchenScheduler.complete(10L));
+        assertEquals(0, kitchenScheduler.listStations().stream().mapToInt(KitchenStationDTO::backlog).sum());
+    }
+
+    @Test
+    @DisplayName("Should drop every ticket of a purged order")
+    void onOrdersPurged_DropsTickets() {
+        kitchenScheduler.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order(1L, LocalDateTime.now(), item(10L, ROLL))));
+        kitchenScheduler.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order(2L, LocalDateTime.now(), item(20L, ROLL))));
+
+        kitchenScheduler.onOrdersPurged(new OrdersPurgedEvent(List.of(1L), List.of()));
+
+        assertEquals(2L, kitchenScheduler.claim("sushi-bar-1").orElseThrow().orderId());
+        assertTrue(kitchenScheduler.claim("sushi-bar-1").isEmpty());
+    }
+
+    private static Order order(Long id, LocalDateTime orderDate, OrderItem... items) {
+        Order order = new Order(id, CUSTOMER, ADDRESS, new ArrayList<>(List.of(items)));
+        order.setOrderDate(orderDate);
+        return order;
+    }
+
+    private static OrderItem item(Long id, Product product) {
+        OrderItem item = new OrderItem(id, 1, product.getPrice());
+        item.setProduct(product);
+        return item;
+    }
+
+    private static Product product(Long id, String name, KitchenStation station) {
+        Product product = new Product(id, name, name);
+        product.setPrice(999L);
+        product.setStation(station);
+        return product;
+    }
+}
@@ -0,0 +1,132 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.CategoryChangedEvent;
+import com.sushi.api.events.ProductChangedEvent;
+import com.sushi.api.model.Category;
+import com.sushi.api.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class MenuCacheServiceTest {
+    private MenuCacheService menuCacheService;
+    private final AtomicLong nanos = new AtomicLong();
+    @Mock
+    private ProductService productService;
+    @Mock
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        menuCacheService = new MenuCacheService(productService, categoryService, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(1), nanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should load a product and a page once and serve repeated reads from the cache")
+    void findProduct_LoadsOnce() {
+        Product product = new Product(1L, "Salmon Nigiri", "Salmon over rice");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productService.findProductById(1L)).thenReturn(product);
+        when(productService.listAllPageable(pageable)).thenReturn(new PageImpl<>(List.of(product), pageable, 1));
+
+        assertEquals(product, menuCacheService.findProduct(1L));
+        assertEquals(product, menuCacheService.findProduct(1L));
+        assertEquals(List.of(product), menuCacheService.listProducts(pageable));
+        assertEquals(List.of(product), menuCacheService.listProducts(PageRequest.of(0, 10)));
+
+        verify(productService, times(1)).findProductById(1L);
+        verify(productService, times(1)).listAllPageable(pageable);
+    }
+
+    @Test
+    @DisplayName("Should reload the full list in the background once refresh-after has passed")
+    void listProducts_RefreshesAfterRefreshInterval() {
+        Product salmon = new Product(1L, "Salmon Nigiri", "Salmon over rice");
+        Product tuna = new Product(2L, "Tuna Nigiri", "Tuna over rice");
+        when(productService.listAllNonPageable()).thenReturn(List.of(salmon), List.of(salmon, tuna));
+        Queue<Runnable> background = new ArrayDeque<>();
+        menuCacheService = new MenuCacheService(productService, categoryService, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(1), nanos::get, background::add);
+
+        assertEquals(List.of(salmon), menuCacheService.listProducts(Pageable.unpaged()));
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals(List.of(salmon), menuCacheService.listProducts(Pageable.unpaged()));
+        verify(productService, times(1)).listAllNonPageable();
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        // The read that finds the entry due serves the old list while the reload runs in the background.
+        assertEquals(List.of(salmon), menuCacheService.listProducts(Pageable.unpaged()));
+        while (!background.isEmpty()) {
+            background.poll().run();
+        }
+        assertEquals(List.of(salmon, tuna), menuCacheService.listProducts(Pageable.unpaged()));
+        verify(productService, times(2)).listAllNonPageable();
+    }
+
+    @Test
+    @DisplayName("Should evict a changed product and only the categories that list it")
+    void onProductChanged_EvictsProductAndAffectedCategories() {
+        Product salmon = new Product(1L, "Salmon Nigiri", "Salmon over rice");
+        Category nigiri = new Category(10L, "Nigiri", "Fish over rice");
+        nigiri.setProducts(Set.of(salmon));
+        Category drinks = new Category(20L, "Drinks", "Something to drink");
+        when(productService.findProductById(1L)).thenReturn(salmon);
+        when(categoryService.findCategoryById(10L)).thenReturn(nigiri);
+        when(categoryService.findCategoryById(20L)).thenReturn(drinks);
+        menuCacheService.findProduct(1L);
+        menuCacheService.findCategory(10L);
+        menuCacheService.findCategory(20L);
+
+        menuCacheService.onProductChanged(new ProductChangedEvent(salmon, true));
+        menuCacheService.findProduct(1L);
+        menuCacheService.findCategory(10L);
+        menuCacheService.findCategory(20L);
+
+        verify(productService, times(2)).findProductById(1L);
+        verify(categoryService, times(2)).findCategoryById(10L);
+        verify(categoryService, times(1)).findCategoryById(20L);
+    }
+
+    @Test
+    @DisplayName("Should evict a category and the category pages when the category changes")
+    void onCategoryChanged_EvictsCategoryAndPages() {
+        Category nigiri = new Category(10L, "Nigiri", "Fish over rice");
+        when(categoryService.findCategoryById(10L)).thenReturn(nigiri);
+        when(categoryService.listAllNonPageable()).thenReturn(List.of(nigiri));
+        menuCacheService.findCategory(10L);
+        menuCacheService.listCategories(Pageable.unpaged());
+
+        menuCacheService.onCategoryChanged(new CategoryChangedEvent(10L));
+        menuCacheService.findCategory(10L);
+        menuCacheService.listCategories(Pageable.unpaged());
+
+        verify(categoryService, times(2)).findCategoryById(10L);
+        verify(categoryService, times(2)).listAllNonPageable();
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh interval that is not shorter than the ttl")
+    void constructor_ThrowsIllegalArgumentException_WhenRefreshIsNotShorterThanTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new MenuCacheService(productService, categoryService,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1), nanos::get, Runnable::run));
+    }
+}
@@ -0,0 +1,54 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.model.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class NdjsonWriterTest {
+    private NdjsonWriter ndjsonWriter;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ndjsonWriter = new NdjsonWriter(entityManager, new ObjectMapper(), transactionManager, 1);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line, detaching each entity and closing the stream")
+    void write_WritesOneLinePerRow() throws IOException {
+        Category sushi = new Category(1L, "Sushi", "Rolls and nigiri");
+        Category drinks = new Category(2L, "Drinks", "Soft drinks and tea");
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ndjsonWriter.write(() -> Stream.of(sushi, drinks).onClose(() -> closed.set(true)), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        verify(entityManager).detach(sushi);
+        verify(entityManager).detach(drinks);
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+public class OptimisticLockRetryTest {
+    private OptimisticLockRetry optimisticLockRetry;
+    private SimpleMeterRegistry meterRegistry;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticLockRetry = new OptimisticLockRetry(transactionManager, meterRegistry, 3, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should run the update again when it loses an optimistic lock race")
+    void execute_RetriesUpdate_WhenOptimisticLockFails() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = optimisticLockRetry.execute("Order", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Order", 1L);
+            }
+            return "saved";
+        }, () -> ORDER);
+
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get("entity.optimistic.conflicts").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should throw a ConflictException with the current state when all attempts fail")
+    void execute_ThrowsConflictException_WhenAttemptsRunOut() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> optimisticLockRetry.execute("Order", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Order", 1L);
+        }, () -> ORDER));
+
+        assertEquals(3, attempts.get());
+        assertSame(ORDER, exception.getCurrent());
+        assertEquals(1, meterRegistry.get("entity.optimistic.conflicts").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a replace that loses an optimistic lock race without running it again")
+    void executeOnce_ThrowsConflictException_WithoutRetrying() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> optimisticLockRetry.executeOnce("Order", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Order", 1L);
+        }, () -> ORDER));
+
+        assertEquals(1, attempts.get());
+        assertSame(ORDER, exception.getCurrent());
+        assertEquals(1, meterRegistry.get("entity.optimistic.conflicts").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not retry failures other than optimistic lock conflicts")
+    void execute_DoesNotRetry_WhenUpdateFailsForOtherReasons() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(BadRequestException.class, () -> optimisticLockRetry.execute("Order", () -> {
+            attempts.incrementAndGet();
+            throw new BadRequestException("Invalid order.");
+        }, () -> ORDER));
+
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,167 @@
+package com.sushi.api.services;
+
+import com.sushi.api.archive.ArchivedOrder;
+import com.sushi.api.archive.ArchivedOrderItem;
+import com.sushi.api.archive.OrderArchiveFile;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.repositories.AddressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderArchiveServiceTest {
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID OTHER_CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2023, 1, 10, 12, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2023, 2, 10, 12, 0);
+
+    @TempDir
+    Path directory;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private AddressRepository addressRepository;
+    @Mock
+    private ClusterLock clusterLock;
+
+    private OrderArchiveService orderArchiveService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderArchiveService = new OrderArchiveService(jdbcTemplate, transactionManager, addressRepository, clusterLock, 100, directory);
+        when(addressRepository.findAllById(any())).thenReturn(List.of(ADDRESS));
+        OrderArchiveFile.write(directory.resolve("orders-2023-01.archive"), List.of(
+                order(1L, JANUARY, CUSTOMER_ID),
+                order(2L, JANUARY.plusDays(1), OTHER_CUSTOMER_ID)));
+        OrderArchiveFile.write(directory.resolve("orders-2023-02.archive"), List.of(
+                order(3L, FEBRUARY, CUSTOMER_ID),
+                order(4L, FEBRUARY.plusDays(1), CUSTOMER_ID)));
+    }
+
+    @Test
+    @DisplayName("Should rebuild an archived order by id")
+    void findOrder_ReturnsArchivedOrder() {
+        Order order = orderArchiveService.findOrder(3L).orElseThrow();
+
+        assertEquals(FEBRUARY, order.getOrderDate());
+        assertEquals(OrderStatus.DELIVERED, order.getStatus());
+        assertEquals(ADDRESS, order.getDeliveryAddress());
+        assertEquals(1, order.getItems().size());
+        assertEquals(1299L, order.getItems().get(0).getTotalPrice());
+        assertEquals(1L, order.getItems().get(0).getProduct().getId());
+        assertEquals("Salmon Nigiri", order.getItems().get(0).getProduct().getName());
+        assertTrue(orderArchiveService.findOrder(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return a customer's archived orders newest first across files")
+    void findCustomerOrders_ReturnsNewestFirst() {
+        List<Order> orders = orderArchiveService.findCustomerOrders(CUSTOMER_ID, null, null, 10);
+
+        assertEquals(List.of(4L, 3L, 1L), orders.stream().map(Order::getId).toList());
+        assertEquals(ADDRESS, orders.get(0).getDeliveryAddress());
+        verify(addressRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should skip archive files whose customer filter rules the customer out")
+    void findCustomerOrders_SkipsFilesWithoutCustomer() throws Exception {
+        UUID betweenCustomers = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+        OrderArchiveFile.write(directory.resolve("orders-2023-03.archive"), List.of(
+                order(5L, FEBRUARY.plusMonths(1), OTHER_CUSTOMER_ID),
+                order(6L, FEBRUARY.plusMonths(1), UUID.fromString("00000000-0000-0000-0000-00000000000f"))));
+
+        assertTrue(OrderArchiveFile.readIndex(directory.resolve("orders-2023-03.archive")).mayContainCustomer(OTHER_CUSTOMER_ID));
+        assertFalse(OrderArchiveFile.readIndex(directory.resolve("orders-2023-03.archive")).mayContainCustomer(betweenCustomers));
+        assertEquals(List.of(), orderArchiveService.findCustomerOrders(betweenCustomers, null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Should leave the export to the node holding the cluster lock")
+    void exportArchivedPartitions_SkipsWhenAnotherNodeHoldsTheLock() {
+        when(clusterLock.runExclusively(anyString(), any())).thenReturn(false);
+
+        orderArchiveService.exportArchivedPartitions();
+
+        verify(clusterLock).runExclusively(eq("orders-archive-export"), any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should stream an archived partition into a file and drop its tables")
+    void exportArchivedPartitions_StreamsPartitionToFile() throws Exception {
+        when(clusterLock.runExclusively(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("orders_p2023_03"));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(5L, 5L, 6L);
+        when(rs.getObject("order_date", Timestamp.class)).thenReturn(Timestamp.valueOf(FEBRUARY.plusMonths(1)));
+        when(rs.getObject("customer_id", UUID.class)).thenReturn(CUSTOMER_ID);
+        when(rs.getString("status")).thenReturn("DELIVERED");
+        when(rs.getObject("item_id", Long.class)).thenReturn(50L, 51L, null);
+        when(rs.getLong("product_id")).thenReturn(1L, 2L);
+        when(rs.getString("product_name")).thenReturn("Salmon Nigiri", "Tuna Roll");
+        when(rs.getInt("quantity")).thenReturn(1);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        orderArchiveService.exportArchivedPartitions();
+
+        Path file = directory.resolve("orders-2023-03.archive");
+        List<ArchivedOrder> exported = OrderArchiveFile.read(file);
+        assertEquals(List.of(5L, 6L), exported.stream().map(ArchivedOrder::id).toList());
+        assertEquals(List.of("Salmon Nigiri", "Tuna Roll"),
+                exported.get(0).items().stream().map(ArchivedOrderItem::productName).toList());
+        assertEquals(List.of(), exported.get(1).items());
+        assertFalse(Files.exists(directory.resolve("orders-2023-03.archive.partial")));
+        verify(jdbcTemplate).execute("DROP TABLE archive.order_item_p2023_03");
+        verify(jdbcTemplate).execute("DROP TABLE archive.orders_p2023_03");
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and stop at the limit")
+    void findCustomerOrders_RespectsCursorAndLimit() {
+        List<Order> orders = orderArchiveService.findCustomerOrders(CUSTOMER_ID, FEBRUARY.plusDays(1), 4L, 1);
+
+        assertEquals(List.of(3L), orders.stream().map(Order::getId).toList());
+    }
+
+    private static ArchivedOrder order(long id, LocalDateTime orderDate, UUID customerId) {
+        return new ArchivedOrder(id, orderDate, customerId, 1L, 1299L, 0L, "DELIVERED",
+                List.of(new ArchivedOrderItem(id * 10, 1L, "Salmon Nigiri", 1, 1299L, 1299L)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.dto.order.OrderBatchResponseDTO;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderBatchStatus;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static com.sushi.api.common.OrderConstants.ORDER_REQUEST_DTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderBatchServiceTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderBatchService orderBatchService;
+    @Mock
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchService = new OrderBatchService(orderService, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+        when(orderService.createOrders(any())).thenAnswer(invocation -> {
+            Map<Integer, OrderRequestDTO> chunk = invocation.getArgument(0);
+            return chunk.keySet().stream().map(index -> OrderBatchResultDTO.created(index, index + 100L)).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Should import every order of a JSON array in chunks")
+    void importOrders_WithJsonArray_CreatesOrdersInChunks() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(ORDER_REQUEST_DTO, ORDER_REQUEST_DTO, ORDER_REQUEST_DTO));
+
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        assertEquals(3, response.received());
+        assertEquals(3, response.created());
+        assertEquals(List.of(0, 1, 2), response.results().stream().map(OrderBatchResultDTO::index).toList());
+        verify(orderService, times(2)).createOrders(any());
+    }
+
+    @Test
+    @DisplayName("Should import newline-delimited orders and reject the invalid ones")
+    void importOrders_WithNdjson_RejectsInvalidOrders() throws Exception {
+        String body = objectMapper.writeValueAsString(ORDER_REQUEST_DTO) + "\n"
+                + "{\"customerId\":null,\"deliveryAddressId\":1,\"items\":[]}\n"
+                + objectMapper.writeValueAsString(ORDER_REQUEST_DTO) + "\n";
+
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        assertEquals(3, response.received());
+        assertEquals(2, response.created());
+        assertEquals(1, response.failed());
+        OrderBatchResultDTO rejected = response.results().get(1);
+        assertEquals(OrderBatchStatus.FAILED, rejected.status());
+        assertEquals("customerId: Customer ID cannot be null", rejected.message());
+    }
+
+    @Test
+    @DisplayName("Should keep the results of the persisted chunks when the body is malformed")
+    void importOrders_WithMalformedBody_StopsAndKeepsPreviousResults() throws Exception {
+        String body = objectMapper.writeValueAsString(ORDER_REQUEST_DTO) + "\n{\"customerId\": ";
+
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        assertEquals(2, response.received());
+        assertEquals(OrderBatchStatus.CREATED, response.results().get(0).status());
+        assertEquals(OrderBatchStatus.FAILED, response.results().get(1).status());
+    }
+
+    @Test
+    @DisplayName("Should reject every order of a chunk whose transaction rolls back")
+    void importOrders_WhenChunkRollsBack_RejectsOrdersOfTheChunk() throws Exception {
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(orderService).createOrders(any());
+        String body = objectMapper.writeValueAsString(List.of(ORDER_REQUEST_DTO));
+
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        assertEquals(0, response.created());
+        assertEquals("Chunk rolled back: duplicate key", response.results().get(0).message());
+    }
+
+    @Test
+    @DisplayName("Should reject the orders of a chunk that fails for any reason and import the next chunk")
+    void importOrders_WhenChunkThrows_RejectsOrdersOfTheChunkAndContinues() throws Exception {
+        doThrow(new ArithmeticException("long overflow"))
+                .doThrow(new ResourceNotFoundException("Product not found with this id."))
+                .doAnswer(invocation -> List.of(OrderBatchResultDTO.created(4, 104L)))
+                .when(orderService).createOrders(any());
+        String body = objectMapper.writeValueAsString(List.of(ORDER_REQUEST_DTO, ORDER_REQUEST_DTO, ORDER_REQUEST_DTO,
+                ORDER_REQUEST_DTO, ORDER_REQUEST_DTO));
+
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        assertEquals(5, response.received());
+        assertEquals(1, response.created());
+        assertEquals(List.of("Chunk rolled back: long overflow", "Chunk rolled back: long overflow",
+                        "Chunk rolled back: Product not found with this id.",
+                        "Chunk rolled back: Product not found with this id."),
+                response.results().subList(0, 4).stream().map(OrderBatchResultDTO::message).toList());
+        assertEquals(OrderBatchStatus.CREATED, response.results().get(4).status());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
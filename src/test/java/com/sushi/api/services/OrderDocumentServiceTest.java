@@ -0,0 +1,184 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.order.OrderDocumentDTO;
+import com.sushi.api.repositories.OrderDocumentRepository;
+import com.sushi.api.repositories.OrderDocumentRepository.DocumentRow;
+import com.sushi.api.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static com.sushi.api.common.ProductConstants.PRODUCT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderDocumentServiceTest {
+    private OrderDocumentService orderDocumentService;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Mock
+    private OrderDocumentRepository orderDocumentRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderDocumentService = new OrderDocumentService(orderDocumentRepository, orderRepository, objectMapper,
+                transactionTemplate, 2, 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should store the order rendered as an order document")
+    void onOrderEvent_UpsertsRenderedOrder() throws Exception {
+        orderDocumentService.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, ORDER));
+
+        verify(orderDocumentRepository).upsert(ORDER.getId(), ORDER.getOrderDate(),
+                objectMapper.writeValueAsString(OrderDocumentDTO.of(ORDER)));
+    }
+
+    @Test
+    @DisplayName("Should store the product id and name of every line in the document")
+    void onOrderEvent_StoresProductOfEveryLine() throws Exception {
+        orderDocumentService.onOrderEvent(new OrderEvent(OrderEventType.CREATED, ORDER));
+
+        ArgumentCaptor<String> document = ArgumentCaptor.forClass(String.class);
+        verify(orderDocumentRepository).upsert(eq(ORDER.getId()), any(), document.capture());
+        JsonNode item = objectMapper.readTree(document.getValue()).get("items").get(0);
+        assertEquals(PRODUCT.getId().longValue(), item.get("productId").asLong());
+        assertEquals(PRODUCT.getName(), item.get("productName").asText());
+    }
+
+    @Test
+    @DisplayName("Should leave deleted orders to the foreign key cascade")
+    void onOrderEvent_IgnoresDeletedOrders() {
+        orderDocumentService.onOrderEvent(new OrderEvent(OrderEventType.DELETED, ORDER));
+
+        verifyNoInteractions(orderDocumentRepository);
+    }
+
+    @Test
+    @DisplayName("Should write the stored documents of a page as a JSON array")
+    void writePage_WritesDocumentsAsArray() throws IOException {
+        when(orderDocumentRepository.findPage(PageRequest.of(2, 10))).thenReturn(List.of("{\"id\":1}", "{\"id\":2}"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderDocumentService.writePage(PageRequest.of(2, 10), out);
+
+        assertEquals("[{\"id\":1},{\"id\":2}]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should map the requested sort onto the document columns and end on the order id")
+    void documentPage_MapsSortAndAddsIdTieBreaker() {
+        Pageable page = orderDocumentService.documentPage(PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "orderDate")));
+
+        assertEquals(PageRequest.of(1, 20, Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("orderId"))), page);
+        assertEquals(PageRequest.of(0, 5, Sort.by(Sort.Order.desc("orderId"))),
+                orderDocumentService.documentPage(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "id"))));
+        assertEquals(PageRequest.of(0, 5, Sort.by("orderId")), orderDocumentService.documentPage(PageRequest.of(0, 5)));
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when sorting by an unsupported property")
+    void documentPage_ThrowsBadRequestException_WhenSortIsUnsupported() {
+        assertThrows(BadRequestException.class,
+                () -> orderDocumentService.documentPage(PageRequest.of(0, 5, Sort.by("totalAmount"))));
+    }
+
+    @Test
+    @DisplayName("Should read every document in chunks after the last order id")
+    void writeAll_ReadsDocumentsInKeysetChunks() throws IOException {
+        when(orderDocumentRepository.findAfter(0, 2)).thenReturn(List.of(row(1L), row(4L)));
+        when(orderDocumentRepository.findAfter(4, 2)).thenReturn(List.of(row(7L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderDocumentService.writeAll(out);
+
+        assertEquals("[{\"id\":1},{\"id\":4},{\"id\":7}]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should write every document on its own line for NDJSON")
+    void writeAllNdjson_WritesOneDocumentPerLine() throws IOException {
+        when(orderDocumentRepository.findAfter(0, 2)).thenReturn(List.of(row(1L), row(4L)));
+        when(orderDocumentRepository.findAfter(4, 2)).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderDocumentService.writeAllNdjson(out);
+
+        assertEquals("{\"id\":1}\n{\"id\":4}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should flush the NDJSON export every flush interval lines")
+    void writeAllNdjson_FlushesEveryInterval() throws IOException {
+        when(orderDocumentRepository.findAfter(0, 2)).thenReturn(List.of(row(1L), row(4L)));
+        when(orderDocumentRepository.findAfter(4, 2)).thenReturn(List.of(row(7L)));
+        List<String> flushed = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushed.add(toString(StandardCharsets.UTF_8));
+            }
+        };
+
+        orderDocumentService.writeAllNdjson(out);
+
+        assertEquals(List.of("{\"id\":1}\n{\"id\":4}\n", "{\"id\":1}\n{\"id\":4}\n{\"id\":7}\n"), flushed);
+    }
+
+    @Test
+    @DisplayName("Should render documents for orders that do not have one yet")
+    void backfill_RendersMissingDocuments() {
+        when(orderDocumentRepository.findOrderIdsWithoutDocument(2)).thenReturn(List.of(ORDER.getId()));
+        when(orderRepository.findByIdIn(List.of(ORDER.getId()))).thenReturn(List.of(ORDER));
+
+        orderDocumentService.backfill();
+
+        verify(orderDocumentRepository).upsert(eq(ORDER.getId()), any(), anyString());
+        verify(orderDocumentRepository, times(1)).findOrderIdsWithoutDocument(2);
+    }
+
+    private static DocumentRow row(Long orderId) {
+        return new DocumentRow() {
+            @Override
+            public Long getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public String getDocument() {
+                return "{\"id\":" + orderId + "}";
+            }
+        };
+    }
+}
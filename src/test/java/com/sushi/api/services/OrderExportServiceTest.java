@@ -0,0 +1,86 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderExportServiceTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private OrderExportService orderExportService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(jdbcTemplate, transactionManager, 500);
+    }
+
+    @Test
+    @DisplayName("Should write one CSV line per item from a forward-only cursor with the configured fetch size")
+    void writeCsv_WritesItemLines() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY))).thenReturn(statement);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(1L, 2L);
+        when(rs.getTimestamp("order_date")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 5, 3, 19, 30)));
+        when(rs.getString("customer_id")).thenReturn("00000000-0000-0000-0000-00000000000a");
+        when(rs.getString("status")).thenReturn("DELIVERED");
+        when(rs.getLong("total_amount")).thenReturn(1798L, 0L);
+        when(rs.getLong("product_id")).thenReturn(3L, 0L);
+        when(rs.wasNull()).thenReturn(false, true);
+        when(rs.getString("name")).thenReturn("Roll \"Especial\", 8 pcs");
+        when(rs.getInt("quantity")).thenReturn(2);
+        when(rs.getLong("price")).thenReturn(899L);
+        when(rs.getLong("total_price")).thenReturn(1798L);
+        doAnswer(invocation -> {
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderExportService.writeCsv(FROM, TO, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("1,2024-05-03T19:30,00000000-0000-0000-0000-00000000000a,DELIVERED,17.98,3,\"Roll \"\"Especial\"\", 8 pcs\",2,8.99,17.98", lines[1]);
+        assertEquals("2,2024-05-03T19:30,00000000-0000-0000-0000-00000000000a,DELIVERED,0.00,,,,,", lines[2]);
+        verify(statement).setFetchSize(500);
+        verify(statement).setTimestamp(1, Timestamp.valueOf(FROM));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty date range before querying")
+    void writeCsv_ThrowsBadRequestException_WhenRangeIsEmpty() {
+        assertThrows(BadRequestException.class, () -> orderExportService.writeCsv(TO, FROM, new ByteArrayOutputStream()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,107 @@
+package com.sushi.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventMessage;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OutboxSink;
+import com.sushi.api.model.OutboxEvent;
+import com.sushi.api.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderOutboxServiceTest {
+    private OrderOutboxService orderOutboxService;
+    private SimpleMeterRegistry meterRegistry;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxSink sink;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderOutboxService = new OrderOutboxService(outboxEventRepository, sink, new ObjectMapper().registerModule(new JavaTimeModule()),
+                transactionTemplate, meterRegistry, 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should write the order event to the outbox")
+    void onOrderEvent_SavesOutboxRow() {
+        orderOutboxService.onOrderEvent(new OrderEvent(OrderEventType.CREATED, ORDER));
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        assertEquals(ORDER.getId(), captor.getValue().getOrderId());
+        assertEquals(OrderEventType.CREATED, captor.getValue().getType());
+        assertTrue(captor.getValue().getPayload().contains("\"id\":" + ORDER.getId()));
+    }
+
+    @Test
+    @DisplayName("Should publish and delete batches until the outbox is drained")
+    void relay_PublishesAndDeletesEachBatch() throws IOException {
+        List<OutboxEvent> first = List.of(outboxEvent(1L), outboxEvent(2L));
+        List<OutboxEvent> second = List.of(outboxEvent(3L));
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(first, second);
+
+        orderOutboxService.relay();
+
+        verify(sink, times(2)).publish(anyList());
+        verify(outboxEventRepository).deleteAllInBatch(first);
+        verify(outboxEventRepository).deleteAllInBatch(second);
+        verify(outboxEventRepository, times(2)).lockNextBatch(2);
+        assertEquals(3, meterRegistry.get("orders.outbox.published").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the batch in the outbox when the sink fails")
+    void relay_KeepsBatch_WhenSinkFails() throws IOException {
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of(outboxEvent(1L)));
+        doThrow(new IOException("disk full")).when(sink).publish(anyList());
+
+        assertDoesNotThrow(() -> orderOutboxService.relay());
+
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        assertEquals(1, meterRegistry.get("orders.outbox.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not call the sink when the outbox is empty")
+    void relay_DoesNothing_WhenOutboxIsEmpty() throws IOException {
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of());
+
+        orderOutboxService.relay();
+
+        verify(sink, never()).publish(anyList());
+    }
+
+    private static OutboxEvent outboxEvent(Long id) {
+        OutboxEvent event = new OutboxEvent(10L, OrderEventType.UPDATED, "{\"id\":10}", LocalDateTime.now());
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sushi.api.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderPartitionServiceTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    private OrderPartitionService orderPartitionService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ClusterLock clusterLock;
+
+    @BeforeEach
+    void setUp() {
+        orderPartitionService = new OrderPartitionService(jdbcTemplate, transactionTemplate, clusterLock, CLOCK, 2, 12);
+        when(clusterLock.runExclusively(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should create the current month and the configured months ahead for both tables")
+    void createUpcomingPartitions_CreatesMonthsAhead() {
+        orderPartitionService.createUpcomingPartitions();
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p2024_06 PARTITION OF orders FOR VALUES FROM ('2024-06-01') TO ('2024-07-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS order_item_p2024_08 PARTITION OF order_item FOR VALUES FROM ('2024-08-01') TO ('2024-09-01')");
+        verify(jdbcTemplate, times(6)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should detach and archive only the months older than the retention")
+    void archiveExpiredPartitions_ArchivesOldMonths() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("orders_default", "orders_p2023_06", "orders_p2023_07", "orders_p2024_06"));
+
+        orderPartitionService.archiveExpiredPartitions();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM order_documents"), eq("2023-06-01"), eq("2023-07-01"));
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE order_item DETACH PARTITION order_item_p2023_06");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders DETACH PARTITION orders_p2023_06");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders_p2023_06 SET SCHEMA archive");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE orders DETACH PARTITION orders_p2023_07");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE orders DETACH PARTITION orders_p2024_06");
+    }
+
+    @Test
+    @DisplayName("Should leave partition maintenance to the node holding the cluster lock")
+    void archiveExpiredPartitions_SkipsWhenAnotherNodeHoldsTheLock() {
+        doReturn(false).when(clusterLock).runExclusively(anyString(), any());
+
+        orderPartitionService.createUpcomingPartitions();
+        orderPartitionService.archiveExpiredPartitions();
+
+        verify(clusterLock, times(2)).runExclusively(eq("orders-partitions"), any());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+}
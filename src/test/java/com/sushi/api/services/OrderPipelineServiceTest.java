@@ -0,0 +1,170 @@
+package com.sushi.api.services;
+
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.exceptions.ServiceUnavailableException;
+import com.sushi.api.model.dto.order.OrderHandleDTO;
+import com.sushi.api.model.dto.order.OrderPipelineStatus;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static com.sushi.api.common.OrderConstants.ORDER;
+import static com.sushi.api.common.OrderConstants.ORDER_REQUEST_DTO;
+import static com.sushi.api.common.ProductConstants.PRODUCT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderPipelineServiceTest {
+    private OrderPipelineService orderPipelineService;
+    @Mock
+    private OrderService orderService;
+
+    @AfterEach
+    void tearDown() {
+        orderPipelineService.stop();
+    }
+
+    @Test
+    @DisplayName("Should move an accepted order through every stage until it is completed")
+    void accept_WithValidOrder_CompletesOrder() throws Exception {
+        OrderReferences references = new OrderReferences(Map.of(CUSTOMER.getId(), CUSTOMER),
+                Map.of(CUSTOMER.getId(), Map.of(ADDRESS.getId(), ADDRESS)), Map.of(PRODUCT.getId(), PRODUCT));
+        when(orderService.resolveReferences(any())).thenReturn(references);
+        when(orderService.priceOrder(ORDER_REQUEST_DTO, references)).thenReturn(ORDER);
+        orderPipelineService = newPipeline(16);
+        orderPipelineService.start();
+
+        OrderHandleDTO accepted = orderPipelineService.accept(ORDER_REQUEST_DTO);
+        OrderHandleDTO completed = awaitFinalStatus(accepted.handle());
+
+        assertEquals(OrderPipelineStatus.ACCEPTED, accepted.status());
+        assertEquals(OrderPipelineStatus.COMPLETED, completed.status());
+        assertEquals(ORDER.getId(), completed.orderId());
+        verify(orderService).saveOrders(List.of(ORDER));
+    }
+
+    @Test
+    @DisplayName("Should fail an accepted order whose references do not exist")
+    void accept_WithUnknownCustomer_FailsOrder() throws Exception {
+        when(orderService.resolveReferences(any())).thenReturn(new OrderReferences(Map.of(), Map.of(), Map.of()));
+        orderPipelineService = newPipeline(16);
+        orderPipelineService.start();
+
+        OrderHandleDTO failed = awaitFinalStatus(orderPipelineService.accept(ORDER_REQUEST_DTO).handle());
+
+        assertEquals(OrderPipelineStatus.FAILED, failed.status());
+        assertEquals("Customer not found with this id.", failed.message());
+        verify(orderService, never()).saveOrders(any());
+    }
+
+    @Test
+    @DisplayName("Should fail an accepted order that does not pass validation")
+    void accept_WithInvalidOrder_FailsOrder() throws Exception {
+        orderPipelineService = newPipeline(16);
+        orderPipelineService.start();
+
+        OrderRequestDTO invalid = new OrderRequestDTO(null, ADDRESS.getId(), List.of());
+        OrderHandleDTO failed = awaitFinalStatus(orderPipelineService.accept(invalid).handle());
+
+        assertEquals(OrderPipelineStatus.FAILED, failed.status());
+        assertEquals("customerId: Customer ID cannot be null", failed.message());
+    }
+
+    @Test
+    @DisplayName("Should throw a ServiceUnavailableException when the intake buffer is full")
+    void accept_WhenBufferIsFull_ThrowsServiceUnavailableException() {
+        orderPipelineService = newPipeline(1);
+
+        orderPipelineService.accept(ORDER_REQUEST_DTO);
+
+        assertThrows(ServiceUnavailableException.class, () -> orderPipelineService.accept(ORDER_REQUEST_DTO));
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when the handle does not exist")
+    void findOrderHandle_ThrowsResourceNotFoundException_WhenHandleDoesNotExist() {
+        orderPipelineService = newPipeline(1);
+
+        assertThrows(ResourceNotFoundException.class, () -> orderPipelineService.findOrderHandle(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Should finish orders already accepted when the pipeline stops")
+    void stop_DrainsAcceptedOrders() {
+        OrderReferences references = new OrderReferences(Map.of(CUSTOMER.getId(), CUSTOMER),
+                Map.of(CUSTOMER.getId(), Map.of(ADDRESS.getId(), ADDRESS)), Map.of(PRODUCT.getId(), PRODUCT));
+        when(orderService.resolveReferences(any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return references;
+        });
+        when(orderService.priceOrder(ORDER_REQUEST_DTO, references)).thenReturn(ORDER);
+        orderPipelineService = newPipeline(16);
+        orderPipelineService.start();
+
+        UUID handle = orderPipelineService.accept(ORDER_REQUEST_DTO).handle();
+        orderPipelineService.stop();
+
+        assertEquals(OrderPipelineStatus.COMPLETED, orderPipelineService.findOrderHandle(handle).status());
+        verify(orderService).saveOrders(List.of(ORDER));
+        assertThrows(ServiceUnavailableException.class, () -> orderPipelineService.accept(ORDER_REQUEST_DTO));
+    }
+
+    @Test
+    @DisplayName("Should fail orders still in flight when the drain timeout runs out")
+    void stop_FailsOrdersInFlight_WhenDrainTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.resolveReferences(any())).thenAnswer(invocation -> {
+            release.await();
+            return new OrderReferences(Map.of(), Map.of(), Map.of());
+        });
+        orderPipelineService = newPipeline(16, Duration.ofMillis(50));
+        orderPipelineService.start();
+
+        try {
+            UUID handle = orderPipelineService.accept(ORDER_REQUEST_DTO).handle();
+            orderPipelineService.stop();
+
+            OrderHandleDTO failed = orderPipelineService.findOrderHandle(handle);
+            assertEquals(OrderPipelineStatus.FAILED, failed.status());
+            assertEquals("Order was not processed before shutdown, submit it again.", failed.message());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private OrderPipelineService newPipeline(int capacity) {
+        return newPipeline(capacity, Duration.ofSeconds(5));
+    }
+
+    private OrderPipelineService newPipeline(int capacity, Duration drainTimeout) {
+        return new OrderPipelineService(orderService, Validation.buildDefaultValidatorFactory().getValidator(),
+                new SimpleMeterRegistry(), capacity, 10, Duration.ofMinutes(5), 1000, drainTimeout);
+    }
+
+    private OrderHandleDTO awaitFinalStatus(UUID handle) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        OrderHandleDTO current = orderPipelineService.findOrderHandle(handle);
+        while (current.status() != OrderPipelineStatus.COMPLETED && current.status() != OrderPipelineStatus.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            current = orderPipelineService.findOrderHandle(handle);
+        }
+        return current;
+    }
+}
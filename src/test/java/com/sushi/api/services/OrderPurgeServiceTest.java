@@ -0,0 +1,114 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.dto.order.OrderPurgeDTO;
+import com.sushi.api.model.dto.order.OrderPurgeRequestDTO;
+import com.sushi.api.model.dto.order.OrderPurgeStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class OrderPurgeServiceTest {
+    private static final UUID CUSTOMER_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    private OrderPurgeService orderPurgeService;
+    private SimpleMeterRegistry meterRegistry;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderPurgeService = new OrderPurgeService(jdbcTemplate, transactionTemplate, eventPublisher, Runnable::run, meterRegistry, 2, Duration.ofHours(1));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should delete matching orders in chunks with set-based statements until none are left")
+    void startPurge_DeletesInChunks() {
+        when(jdbcTemplate.queryForObject(eq("SELECT COUNT(*) FROM orders WHERE customer_id = ?"), eq(Long.class), any(Object[].class)))
+                .thenReturn(3L);
+        when(jdbcTemplate.queryForList(startsWith("SELECT id FROM orders WHERE customer_id = ?"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM orders"), any(Object[].class))).thenReturn(2, 1);
+
+        OrderPurgeDTO started = orderPurgeService.startPurge(new OrderPurgeRequestDTO(null, CUSTOMER_ID, null, null));
+        OrderPurgeDTO finished = orderPurgeService.findPurge(started.handle());
+
+        assertEquals(OrderPurgeStatus.COMPLETED, finished.status());
+        assertEquals(3, finished.matched());
+        assertEquals(3, finished.deleted());
+        assertNotNull(finished.finishedAt());
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO sales_rollup"), any(Object[].class));
+        verify(jdbcTemplate, times(2)).update(eq("DELETE FROM orders WHERE customer_id = ? AND id = ANY(?)"), any(Object[].class));
+        assertEquals(3, meterRegistry.get("orders.purge.deleted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write DELETED outbox rows and announce each purged chunk")
+    void startPurge_WritesOutboxRowsAndPublishesPurgedIds() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(2L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(1L, 2L), List.of());
+        when(jdbcTemplate.update(startsWith("DELETE FROM orders"), any(Object[].class))).thenReturn(2);
+
+        orderPurgeService.startPurge(new OrderPurgeRequestDTO(List.of(1L, 2L), null, null, null));
+
+        ArgumentCaptor<Object[]> outboxArgs = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO order_outbox"), outboxArgs.capture());
+        assertArrayEquals(new Long[]{1L, 2L}, (Long[]) outboxArgs.getValue()[0]);
+        ArgumentCaptor<OrdersPurgedEvent> event = ArgumentCaptor.forClass(OrdersPurgedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(1L, 2L), event.getValue().orderIds());
+    }
+
+    @Test
+    @DisplayName("Should report a failed purge with the orders deleted before the failure")
+    void startPurge_ReportsFailure() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(4L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM orders"), any(Object[].class)))
+                .thenReturn(2)
+                .thenThrow(new IllegalStateException("canceling statement due to lock timeout"));
+
+        OrderPurgeDTO started = orderPurgeService.startPurge(new OrderPurgeRequestDTO(null, null, LocalDateTime.of(2024, 1, 1, 0, 0), null));
+        OrderPurgeDTO failed = orderPurgeService.findPurge(started.handle());
+
+        assertEquals(OrderPurgeStatus.FAILED, failed.status());
+        assertEquals(2, failed.deleted());
+        assertEquals("canceling statement due to lock timeout", failed.message());
+    }
+
+    @Test
+    @DisplayName("Should reject a purge without criteria or with an empty date range")
+    void startPurge_ThrowsBadRequestException_WhenCriteriaAreInvalid() {
+        assertThrows(BadRequestException.class, () -> orderPurgeService.startPurge(new OrderPurgeRequestDTO(List.of(), null, null, null)));
+        LocalDateTime day = LocalDateTime.of(2024, 1, 1, 0, 0);
+        assertThrows(BadRequestException.class, () -> orderPurgeService.startPurge(new OrderPurgeRequestDTO(null, null, day, day)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
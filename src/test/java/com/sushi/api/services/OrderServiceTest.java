@@ -1,28 +1,45 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.metrics.QueryCountInspector;
 import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.OrderStatus;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.order.OrderBatchResultDTO;
+import com.sushi.api.model.dto.order.OrderBatchStatus;
+import com.sushi.api.model.dto.order.OrderHistoryDTO;
 import com.sushi.api.model.dto.order.OrderRequestDTO;
 import com.sushi.api.model.dto.order.OrderUpdateDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemUpdateDTO;
 import com.sushi.api.repositories.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
 
 import static com.sushi.api.common.CustomerConstants.*;
 import static com.sushi.api.common.CustomerConstants.CUSTOMER;
 import static com.sushi.api.common.OrderConstants.*;
 import static com.sushi.api.common.ProductConstants.PRODUCT;
+import static com.sushi.api.common.ProductConstants.PRODUCT2;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,11 +53,25 @@ public class OrderServiceTest {
     @Mock
     private CustomerRepository customerRepository;
     @Mock
-    private AddressRepository addressRepository;
+    private AddressBookService addressBookService;
     @Mock
     private ProductRepository productRepository;
     @Mock
-    private OrderItemRepository orderItemRepository;
+    private QueryCountInspector queryCountInspector;
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        when(optimisticLockRetry.execute(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(optimisticLockRetry.executeOnce(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
 
     @Test
     @DisplayName("Should return a list of orders inside page object when successful")
@@ -93,7 +124,7 @@ public class OrderServiceTest {
     @Test
     @DisplayName("Should return an order by id when successful")
     void findOrderById_ReturnsOrder_WhenSuccessful() {
-        when(orderRepository.findById(ORDER.getId())).thenReturn(Optional.of(ORDER));
+        when(orderRepository.findByOrderId(ORDER.getId())).thenReturn(Optional.of(ORDER));
 
         Order result = orderService.findOrderById(ORDER.getId());
 
@@ -101,10 +132,19 @@ public class OrderServiceTest {
         assertEquals(ORDER, result);
     }
 
+    @Test
+    @DisplayName("Should fall back to the archive when the order is no longer in the database")
+    void findOrderById_ReturnsArchivedOrder_WhenOrderWasArchived() {
+        when(orderRepository.findByOrderId(ORDER.getId())).thenReturn(Optional.empty());
+        when(orderArchiveService.findOrder(ORDER.getId())).thenReturn(Optional.of(ORDER));
+
+        assertEquals(ORDER, orderService.findOrderById(ORDER.getId()));
+    }
+
     @Test
     @DisplayName("Should throw a ResourceNotFoundException when order id does not exist")
     void findOrderById_ThrowsResourceNotFoundException_WhenOrderIdDoesNotExist() {
-        when(orderRepository.findById(ORDER.getId())).thenReturn(Optional.empty());
+        when(orderRepository.findByOrderId(ORDER.getId())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> orderService.findOrderById(ORDER.getId()));
     }
@@ -115,8 +155,8 @@ public class OrderServiceTest {
         OrderRequestDTO request = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(ORDER_ITEM_REQUEST_DTO));
 
         when(customerRepository.findById(CUSTOMER.getId())).thenReturn(Optional.of(CUSTOMER_ADDRESS));
-        when(addressRepository.findById(ADDRESS.getId())).thenReturn(Optional.of(ADDRESS));
-        when(productRepository.findById(PRODUCT.getId())).thenReturn(Optional.of(PRODUCT));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId()))).thenReturn(List.of(PRODUCT));
         when(orderRepository.save(any(Order.class))).thenReturn(ORDER);
 
         Order result = orderService.createOrder(request);
@@ -126,43 +166,301 @@ public class OrderServiceTest {
         assertEquals(ORDER.getDeliveryAddress(), result.getDeliveryAddress());
         assertEquals(ORDER.getItems(), result.getItems());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(eventPublisher).publishEvent(new OrderEvent(OrderEventType.CREATED, ORDER));
+    }
+
+    @Test
+    @DisplayName("Should resolve all products of the order with a single query")
+    void createOrder_ResolvesAllProductsWithSingleQuery() {
+        OrderRequestDTO request = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(
+                new OrderItemRequestDTO(PRODUCT.getId(), 1),
+                new OrderItemRequestDTO(PRODUCT2.getId(), 3),
+                new OrderItemRequestDTO(PRODUCT.getId(), 2)));
+
+        when(customerRepository.findById(CUSTOMER.getId())).thenReturn(Optional.of(CUSTOMER_ADDRESS));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId(), PRODUCT2.getId()))).thenReturn(List.of(PRODUCT, PRODUCT2));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Order result = orderService.createOrder(request);
+
+        assertEquals(3, result.getItems().size());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException listing every missing product id")
+    void createOrder_ThrowsResourceNotFoundException_WhenProductsDoNotExist() {
+        OrderRequestDTO request = new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(
+                new OrderItemRequestDTO(PRODUCT.getId(), 1),
+                new OrderItemRequestDTO(98L, 1),
+                new OrderItemRequestDTO(99L, 1)));
+
+        when(customerRepository.findById(CUSTOMER.getId())).thenReturn(Optional.of(CUSTOMER_ADDRESS));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(any())).thenReturn(List.of(PRODUCT));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder(request));
+
+        assertEquals("Products not found with these ids: [98, 99].", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should create the valid orders of a batch and report the rejected ones")
+    void createOrders_CreatesValidOrdersAndReportsRejectedOnes() {
+        Map<Integer, OrderRequestDTO> requests = new LinkedHashMap<>();
+        requests.put(0, ORDER_REQUEST_DTO);
+        requests.put(2, new OrderRequestDTO(UUID.randomUUID(), ADDRESS.getId(), List.of(ORDER_ITEM_REQUEST_DTO)));
+        requests.put(3, new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(new OrderItemRequestDTO(99L, 1))));
+
+        when(customerRepository.findAllById(any())).thenReturn(List.of(CUSTOMER));
+        when(addressBookService.findAddresses(any())).thenReturn(Map.of(CUSTOMER.getId(), Map.of(ADDRESS.getId(), ADDRESS)));
+        when(productRepository.findAllById(any())).thenReturn(List.of(PRODUCT));
+
+        List<OrderBatchResultDTO> results = orderService.createOrders(requests);
+
+        assertEquals(3, results.size());
+        assertEquals(OrderBatchStatus.CREATED, results.get(0).status());
+        assertEquals(2, results.get(1).index());
+        assertEquals("Customer not found with this id.", results.get(1).message());
+        assertEquals("Products not found with these ids: [99].", results.get(2).message());
+        verify(orderRepository, times(1)).saveAll(argThat(orders -> ((Collection<Order>) orders).size() == 1));
+        verify(productRepository, times(1)).findAllById(any());
     }
 
     @Test
     @DisplayName("Should replace an existing order when provided with valid OrderUpdateDTO")
     void replaceOrder_WhenSuccessful() {
-        OrderUpdateDTO updateDTO = new OrderUpdateDTO(PRODUCT.getId(), ADDRESS.getId(), List.of(ORDER_ITEM_UPDATE_DTO));
+        OrderUpdateDTO updateDTO = new OrderUpdateDTO(PRODUCT.getId(), ADDRESS.getId(), List.of(ORDER_ITEM_UPDATE_DTO), ORDER.getVersion());
 
-        when(orderRepository.findById(ORDER.getId())).thenReturn(Optional.of(ORDER));
-        when(addressRepository.findById(ADDRESS.getId())).thenReturn(Optional.of(ADDRESS));
-        when(productRepository.findById(PRODUCT.getId())).thenReturn(Optional.of(PRODUCT));
-        when(orderItemRepository.findById(ORDER_ITEM.getId())).thenReturn(Optional.of(ORDER_ITEM));
+        when(orderRepository.findByOrderId(ORDER.getId())).thenReturn(Optional.of(ORDER));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId()))).thenReturn(List.of(PRODUCT));
         when(orderRepository.save(any(Order.class))).thenReturn(ORDER);
+        OrderSnapshot previous = OrderSnapshot.of(ORDER);
 
         Order result = orderService.replaceOrder(updateDTO);
 
         assertNotNull(result);
         assertEquals(ORDER.getId(), result.getId());
 
-        verify(orderRepository).findById(ORDER.getId());
+        verify(orderRepository).findByOrderId(ORDER.getId());
         verify(orderRepository).save(any(Order.class));
+        verify(eventPublisher).publishEvent(new OrderEvent(OrderEventType.UPDATED, ORDER, previous));
+    }
+
+    @Test
+    @DisplayName("Should add, change and remove only the items that differ from the stored order")
+    void replaceOrder_AppliesOnlyItemDifferences() {
+        OrderItem unchanged = orderItem(10L, PRODUCT, 1);
+        OrderItem changed = orderItem(11L, PRODUCT, 1);
+        OrderItem removed = orderItem(12L, PRODUCT2, 1);
+        Order order = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>(List.of(unchanged, changed, removed)));
+        OrderUpdateDTO updateDTO = new OrderUpdateDTO(order.getId(), ADDRESS.getId(), List.of(
+                new OrderItemUpdateDTO(10L, PRODUCT.getId(), 1),
+                new OrderItemUpdateDTO(11L, PRODUCT.getId(), 4),
+                new OrderItemUpdateDTO(null, PRODUCT2.getId(), 2)), order.getVersion());
+
+        when(orderRepository.findByOrderId(order.getId())).thenReturn(Optional.of(order));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId(), PRODUCT2.getId()))).thenReturn(List.of(PRODUCT, PRODUCT2));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        Order result = orderService.replaceOrder(updateDTO);
+
+        assertEquals(3, result.getItems().size());
+        assertFalse(result.getItems().contains(removed));
+        assertSame(unchanged, result.getItems().get(0));
+        assertEquals(4, changed.getQuantity());
+        OrderItem added = result.getItems().get(2);
+        assertNull(added.getId());
+        assertEquals(PRODUCT2, added.getProduct());
+        assertEquals(order, added.getOrder());
+        assertEquals(5 * PRODUCT.getPrice() + 2 * PRODUCT2.getPrice(), result.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Should throw a ResourceNotFoundException when an item does not belong to the order")
+    void replaceOrder_ThrowsResourceNotFoundException_WhenItemIsNotInOrder() {
+        Order order = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>(List.of(orderItem(10L, PRODUCT, 1))));
+        OrderUpdateDTO updateDTO = new OrderUpdateDTO(order.getId(), ADDRESS.getId(), List.of(
+                new OrderItemUpdateDTO(77L, PRODUCT.getId(), 1)), order.getVersion());
+
+        when(orderRepository.findByOrderId(order.getId())).thenReturn(Optional.of(order));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId()))).thenReturn(List.of(PRODUCT));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.replaceOrder(updateDTO));
+
+        assertEquals("OrderItems not found in this order with these ids: [77].", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when an item is sent more than once")
+    void replaceOrder_ThrowsBadRequestException_WhenItemIsRepeated() {
+        Order order = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>(List.of(orderItem(10L, PRODUCT, 1))));
+        OrderUpdateDTO updateDTO = new OrderUpdateDTO(order.getId(), ADDRESS.getId(), List.of(
+                new OrderItemUpdateDTO(10L, PRODUCT.getId(), 1),
+                new OrderItemUpdateDTO(10L, PRODUCT.getId(), 2)), order.getVersion());
+
+        when(orderRepository.findByOrderId(order.getId())).thenReturn(Optional.of(order));
+        when(addressBookService.findAddress(CUSTOMER.getId(), ADDRESS.getId())).thenReturn(ADDRESS);
+        when(productRepository.findAllById(Set.of(PRODUCT.getId()))).thenReturn(List.of(PRODUCT));
+
+        assertThrows(BadRequestException.class, () -> orderService.replaceOrder(updateDTO));
+    }
+
+    @Test
+    @DisplayName("Should throw a ConflictException with the current order when the client version is stale")
+    void replaceOrder_ThrowsConflictException_WhenVersionIsStale() {
+        Order order = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>(List.of(orderItem(10L, PRODUCT, 1))));
+        order.setVersion(4L);
+        OrderUpdateDTO updateDTO = new OrderUpdateDTO(order.getId(), ADDRESS.getId(), List.of(
+                new OrderItemUpdateDTO(10L, PRODUCT.getId(), 3)), 3L);
+
+        when(orderRepository.findByOrderId(order.getId())).thenReturn(Optional.of(order));
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> orderService.replaceOrder(updateDTO));
+
+        assertSame(order, exception.getCurrent());
+        assertEquals(1, order.getItems().get(0).getQuantity());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should return a page of the customer's orders with the cursor of the last one")
+    void findCustomerOrders_ReturnsPageWithNextCursor_WhenMoreOrdersExist() {
+        LocalDateTime now = LocalDateTime.now();
+        Order newest = new Order(7L, CUSTOMER, ADDRESS, new ArrayList<>());
+        newest.setOrderDate(now);
+        Order older = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>());
+        older.setOrderDate(now.minusDays(1));
+        when(customerRepository.existsById(CUSTOMER.getId())).thenReturn(true);
+        when(orderRepository.findHistoryIds(eq(CUSTOMER.getId()), any(Pageable.class))).thenReturn(List.of(7L, 5L, 3L));
+        when(orderRepository.findHistoryByIdIn(List.of(7L, 5L))).thenReturn(List.of(newest, older));
+
+        OrderHistoryDTO result = orderService.findCustomerOrders(CUSTOMER.getId(), null, null, 2);
+
+        assertEquals(List.of(newest, older), result.orders());
+        assertEquals(older.getOrderDate(), result.nextBefore());
+        assertEquals(5L, result.nextBeforeId());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and return no cursor on the last page")
+    void findCustomerOrders_ReturnsLastPageWithoutCursor() {
+        LocalDateTime before = LocalDateTime.now().minusDays(1);
+        Order oldest = new Order(3L, CUSTOMER, ADDRESS, new ArrayList<>());
+        when(customerRepository.existsById(CUSTOMER.getId())).thenReturn(true);
+        when(orderRepository.findHistoryIdsBefore(eq(CUSTOMER.getId()), eq(before), eq(5L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(orderRepository.findHistoryByIdIn(List.of(3L))).thenReturn(List.of(oldest));
+
+        OrderHistoryDTO result = orderService.findCustomerOrders(CUSTOMER.getId(), before, 5L, 2);
+
+        assertEquals(List.of(oldest), result.orders());
+        assertNull(result.nextBefore());
+        assertNull(result.nextBeforeId());
+    }
+
+    @Test
+    @DisplayName("Should continue the history with archived orders once the database runs out")
+    void findCustomerOrders_AppendsArchivedOrders_WhenDatabaseRunsOut() {
+        LocalDateTime now = LocalDateTime.now();
+        Order live = new Order(7L, CUSTOMER, ADDRESS, new ArrayList<>());
+        live.setOrderDate(now);
+        Order archived = new Order(2L, null, ADDRESS, new ArrayList<>());
+        archived.setOrderDate(now.minusYears(3));
+        Order olderArchived = new Order(1L, null, ADDRESS, new ArrayList<>());
+        olderArchived.setOrderDate(now.minusYears(3).minusDays(1));
+        when(customerRepository.existsById(CUSTOMER.getId())).thenReturn(true);
+        when(orderRepository.findHistoryIds(eq(CUSTOMER.getId()), any(Pageable.class))).thenReturn(List.of(7L));
+        when(orderRepository.findHistoryByIdIn(List.of(7L))).thenReturn(List.of(live));
+        when(orderArchiveService.findCustomerOrders(CUSTOMER.getId(), now, 7L, 2)).thenReturn(List.of(archived, olderArchived));
+
+        OrderHistoryDTO result = orderService.findCustomerOrders(CUSTOMER.getId(), null, null, 2);
+
+        assertEquals(List.of(live, archived), result.orders());
+        assertEquals(archived.getOrderDate(), result.nextBefore());
+        assertEquals(2L, result.nextBeforeId());
+    }
+
+    @Test
+    @DisplayName("Should reject an incomplete cursor or an unknown customer")
+    void findCustomerOrders_ThrowsException_WhenCursorIsIncompleteOrCustomerIsUnknown() {
+        when(customerRepository.existsById(CUSTOMER.getId())).thenReturn(false);
+
+        assertThrows(BadRequestException.class,
+                () -> orderService.findCustomerOrders(CUSTOMER.getId(), LocalDateTime.now(), null, 20));
+        assertThrows(BadRequestException.class,
+                () -> orderService.findCustomerOrders(CUSTOMER.getId(), null, null, 0));
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.findCustomerOrders(CUSTOMER.getId(), null, null, 20));
+    }
+
+    @Test
+    @DisplayName("Should move an order forward to the requested status")
+    void updateStatus_MovesOrderForward() {
+        Order order = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>());
+        when(orderRepository.findByOrderId(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        Order result = orderService.updateStatus(order.getId(), OrderStatus.OUT_FOR_DELIVERY);
+
+        assertEquals(OrderStatus.OUT_FOR_DELIVERY, result.getStatus());
+        verify(eventPublisher).publishEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, order));
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException when moving an order back to an earlier status")
+    void updateStatus_ThrowsBadRequestException_WhenMovingBackwards() {
+        Order order = new Order(5L, CUSTOMER, ADDRESS, new ArrayList<>());
+        order.setStatus(OrderStatus.READY);
+        when(orderRepository.findByOrderId(order.getId())).thenReturn(Optional.of(order));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> orderService.updateStatus(order.getId(), OrderStatus.PREPARING));
+
+        assertEquals("Order cannot move from READY to PREPARING.", exception.getMessage());
+        assertEquals(OrderStatus.READY, order.getStatus());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     @DisplayName("Should delete an order by id when successful")
     void deleteOrder_WithExistingId_WhenSuccessful() {
-        when(orderRepository.findById(PRODUCT.getId())).thenReturn(Optional.of(ORDER));
+        when(orderRepository.findByOrderId(PRODUCT.getId())).thenReturn(Optional.of(ORDER));
 
         assertThatCode(() -> orderService.deleteOrder(ORDER.getId())).doesNotThrowAnyException();
 
         verify(orderRepository, times(1)).delete(ORDER);
+        verify(eventPublisher).publishEvent(new OrderEvent(OrderEventType.DELETED, ORDER));
+    }
+
+    @Test
+    @DisplayName("Should not delete archived orders")
+    void deleteOrder_ThrowsResourceNotFoundException_WhenOrderWasArchived() {
+        when(orderRepository.findByOrderId(ORDER.getId())).thenReturn(Optional.empty());
+        when(orderArchiveService.findOrder(ORDER.getId())).thenReturn(Optional.of(ORDER));
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(ORDER.getId()));
+        verify(orderRepository, never()).delete(any(Order.class));
     }
 
     @Test
     @DisplayName("Should throw a ResourceNotFoundException when order id does not exist")
     void deleteOrder_ThrowsResourceNotFoundException_WhenIdDoesNotExist() {
-        when(orderRepository.findById(ORDER.getId())).thenReturn(Optional.empty());
+        when(orderRepository.findByOrderId(ORDER.getId())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(ORDER.getId()));
     }
-}
\ No newline at end of file
+
+    private static OrderItem orderItem(Long id, Product product, int quantity) {
+        OrderItem item = new OrderItem(id, quantity, product.getPrice());
+        item.setProduct(product);
+        item.calculateTotalPrice();
+        return item;
+    }
+}
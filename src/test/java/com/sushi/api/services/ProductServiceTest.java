@@ -1,26 +1,37 @@
 package com.sushi.api.services;
 
+import com.sushi.api.events.ProductChangedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.exceptions.ConflictException;
 import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.KitchenStation;
+import com.sushi.api.model.Money;
 import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.CursorPageDTO;
 import com.sushi.api.model.dto.product.ProductRequestDTO;
 import com.sushi.api.model.dto.product.ProductUpdateDTO;
 import com.sushi.api.repositories.CategoryRepository;
 import com.sushi.api.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static com.sushi.api.common.CategoryConstants.CATEGORY;
 import static com.sushi.api.common.CategoryConstants.CATEGORY2;
@@ -38,6 +49,16 @@ public class ProductServiceTest {
     private ProductRepository productRepository;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        when(optimisticLockRetry.executeOnce(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
 
     @Test
     @DisplayName("Should return a list of products inside page object when successful")
@@ -134,8 +155,8 @@ public class ProductServiceTest {
     @DisplayName("Should create a new product when provided with valid ProductRequestDTO")
     void createProduct_WithValidData_CreatesProduct() {
         ProductRequestDTO dto = new ProductRequestDTO(
-                "newName", "newDescription", 10.49, 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
-                Set.of(1L, 2L)
+                "newName", "newDescription", new BigDecimal("10.49"), 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
+                Set.of(1L, 2L), KitchenStation.SUSHI_BAR
         );
 
         when(productRepository.findByNameContainingIgnoreCase(dto.name())).thenReturn(List.of());
@@ -152,7 +173,7 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Should throw a DataIntegrityViolationException when name already exists")
     void createProduct_WithExistingName_ThrowsDataIntegrityViolationException() {
-        ProductRequestDTO request = new ProductRequestDTO(PRODUCT.getName(), PRODUCT.getDescription(), PRODUCT.getPrice(), PRODUCT.getPortionQuantity(), PRODUCT.getPortionUnit(), PRODUCT.getUrlImage(), Set.of(CATEGORY.getId(), CATEGORY2.getId()));
+        ProductRequestDTO request = new ProductRequestDTO(PRODUCT.getName(), PRODUCT.getDescription(), Money.fromCents(PRODUCT.getPrice()), PRODUCT.getPortionQuantity(), PRODUCT.getPortionUnit(), PRODUCT.getUrlImage(), Set.of(CATEGORY.getId(), CATEGORY2.getId()), null);
         Product existingProduct = new Product(2L, PRODUCT.getName(), PRODUCT.getDescription());
 
         when(productRepository.findByNameContainingIgnoreCase(request.name())).thenReturn(List.of(existingProduct));
@@ -169,8 +190,8 @@ public class ProductServiceTest {
 
         ProductUpdateDTO updateDTO = new ProductUpdateDTO(
                 PRODUCT.getId(),
-                "newName", "newDescription", 10.49, 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
-                Set.of(CATEGORY.getId(), CATEGORY2.getId())
+                "newName", "newDescription", new BigDecimal("10.49"), 6, "pieces", "http://example.com/images/spicy_tuna_roll.jpg",
+                Set.of(CATEGORY.getId(), CATEGORY2.getId()), null, PRODUCT.getVersion()
         );
 
         productService.replaceProduct(updateDTO);
@@ -181,6 +202,26 @@ public class ProductServiceTest {
         verify(productRepository).save(any(Product.class));
     }
 
+    @Test
+    @DisplayName("Should throw a ConflictException with the current product when the client version is stale")
+    void replaceProduct_ThrowsConflictException_WhenVersionIsStale() {
+        Product product = new Product(7L, "Miso Soup", "Traditional Japanese miso soup", 599L, 1, "bowl", "http://example.com/images/miso_soup.jpg");
+        product.setVersion(4L);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+
+        ProductUpdateDTO updateDTO = new ProductUpdateDTO(
+                product.getId(),
+                "newName", "newDescription", new BigDecimal("10.49"), 1, "bowl", "http://example.com/images/miso_soup.jpg",
+                Set.of(), null, 3L
+        );
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> productService.replaceProduct(updateDTO));
+
+        assertSame(product, exception.getCurrent());
+        assertEquals("Miso Soup", product.getName());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
     @Test
     @DisplayName("Should delete a product by id when successful")
     void deleteProduct_WithExistingId_WhenSuccessful() {
@@ -189,6 +230,7 @@ public class ProductServiceTest {
         assertThatCode(() -> productService.deleteProduct(PRODUCT.getId())).doesNotThrowAnyException();
 
         verify(productRepository, times(1)).delete(PRODUCT);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(PRODUCT, true));
     }
 
     @Test
@@ -198,4 +240,28 @@ public class ProductServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(PRODUCT.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return a cursor for the next page when more products follow")
+    void scroll_ReturnsNextCursor_WhenMoreProductsFollow() {
+        Pageable page = CursorPagination.firstPage(2);
+        when(productRepository.findAllBy(page)).thenReturn(new SliceImpl<>(PRODUCTS, page, true));
+        when(productRepository.findByIdGreaterThan(PRODUCT2.getId(), page)).thenReturn(new SliceImpl<>(List.of(), page, false));
+
+        CursorPageDTO<Product> first = productService.scroll(null, 2);
+        CursorPageDTO<Product> last = productService.scroll(first.nextCursor(), 2);
+
+        assertEquals(PRODUCTS, first.content());
+        assertNotNull(first.nextCursor());
+        assertTrue(last.content().isEmpty());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should throw a BadRequestException for a malformed cursor or page size")
+    void scroll_ThrowsBadRequestException_WhenCursorOrSizeIsInvalid() {
+        assertThrows(BadRequestException.class, () -> productService.scroll("not a cursor!", 20));
+        assertThrows(BadRequestException.class, () -> productService.scroll(null, CursorPagination.MAX_SIZE + 1));
+        verifyNoInteractions(productRepository);
+    }
+}
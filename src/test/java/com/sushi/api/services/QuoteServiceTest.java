@@ -0,0 +1,87 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.ProductChangedEvent;
+import com.sushi.api.exceptions.ResourceNotFoundException;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.order.OrderQuoteDTO;
+import com.sushi.api.model.dto.order.OrderQuoteLineDTO;
+import com.sushi.api.model.dto.order.OrderRequestDTO;
+import com.sushi.api.model.dto.order_item.OrderItemRequestDTO;
+import com.sushi.api.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class QuoteServiceTest {
+    @InjectMocks
+    private QuoteService quoteService;
+    @Mock
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "California Roll", 899L, 0L),
+                product(2L, "Spicy Tuna Roll", 1049L, 0L)));
+        quoteService.reload();
+    }
+
+    @Test
+    @DisplayName("Should price every line and the total from memory")
+    void quote_ReturnsLineTotalsAndTotal() {
+        OrderQuoteDTO quote = quoteService.quote(request(new OrderItemRequestDTO(1L, 2), new OrderItemRequestDTO(2L, 1)));
+
+        assertEquals(List.of(new OrderQuoteLineDTO(1L, "California Roll", 2, 899L, 1798L),
+                new OrderQuoteLineDTO(2L, "Spicy Tuna Roll", 1, 1049L, 1049L)), quote.items());
+        assertEquals(2847L, quote.totalAmount());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should pick up price changes made on other nodes on refresh, keeping newer local versions")
+    void refresh_ReloadsPricesFromDatabase() {
+        quoteService.onProductChanged(new ProductChangedEvent(product(2L, "Spicy Tuna Roll", 1149L, 3L), false));
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "California Roll", 949L, 1L),
+                product(2L, "Spicy Tuna Roll", 1099L, 2L)));
+
+        quoteService.refresh();
+
+        assertEquals(949L, quoteService.quote(request(new OrderItemRequestDTO(1L, 1))).totalAmount());
+        assertEquals(1149L, quoteService.quote(request(new OrderItemRequestDTO(2L, 1))).totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should apply committed product changes and ignore stale versions")
+    void onProductChanged_UpdatesPriceTable() {
+        quoteService.onProductChanged(new ProductChangedEvent(product(1L, "California Roll", 999L, 2L), false));
+        quoteService.onProductChanged(new ProductChangedEvent(product(1L, "California Roll", 899L, 1L), false));
+        quoteService.onProductChanged(new ProductChangedEvent(product(2L, "Spicy Tuna Roll", 1049L, 0L), true));
+
+        assertEquals(999L, quoteService.quote(request(new OrderItemRequestDTO(1L, 1))).totalAmount());
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> quoteService.quote(request(new OrderItemRequestDTO(2L, 1), new OrderItemRequestDTO(9L, 1))));
+        assertEquals("Products not found with these ids: [2, 9].", exception.getMessage());
+    }
+
+    private static OrderRequestDTO request(OrderItemRequestDTO... items) {
+        return new OrderRequestDTO(CUSTOMER.getId(), ADDRESS.getId(), List.of(items));
+    }
+
+    private static Product product(Long id, String name, long price, long version) {
+        Product product = new Product(id, name, name);
+        product.setPrice(price);
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -0,0 +1,177 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.report.SalesPeriod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class SalesRollupServiceTest {
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 5, 3, 19, 42);
+
+    private static final Timestamp HOUR = Timestamp.valueOf(LocalDateTime.of(2024, 5, 3, 19, 0));
+    private static final Timestamp DAY = Timestamp.valueOf(LocalDateTime.of(2024, 5, 3, 0, 0));
+
+    private SalesRollupService salesRollupService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupService = new SalesRollupService(jdbcTemplate, transactionTemplate, 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should append a new order's contribution to its hourly and daily buckets")
+    @SuppressWarnings("unchecked")
+    void onOrderEvent_AppendsCreatedOrderDelta() {
+        Order order = order(item(1L, 2, 1000), item(2L, 1, 500));
+
+        salesRollupService.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO sales_rollup_delta"), rows.capture());
+        assertEquals(6, rows.getValue().size());
+        assertArrayEquals(new Object[]{"HOUR", HOUR, null, 2500L, 1L, 3L}, rows.getValue().get(0));
+        assertArrayEquals(new Object[]{"DAY", DAY, null, 2500L, 1L, 3L}, rows.getValue().get(1));
+        assertArrayEquals(new Object[]{"HOUR", HOUR, 1L, 2000L, 0L, 2L}, rows.getValue().get(2));
+        verify(jdbcTemplate, never()).batchUpdate(contains("INSERT INTO sales_rollup "), anyList());
+    }
+
+    @Test
+    @DisplayName("Should append the orders of a transaction once, just before it commits")
+    @SuppressWarnings("unchecked")
+    void onOrderEvent_AppendsOncePerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            salesRollupService.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order(item(1L, 2, 1000))));
+            salesRollupService.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order(item(1L, 1, 1000))));
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("INSERT INTO sales_rollup_delta"), rows.capture());
+        assertArrayEquals(new Object[]{"HOUR", HOUR, null, 3000L, 2L, 3L}, rows.getValue().get(0));
+        assertFalse(TransactionSynchronizationManager.hasResource(salesRollupService));
+    }
+
+    @Test
+    @DisplayName("Should fold appended deltas into the rollups until none are left")
+    @SuppressWarnings("unchecked")
+    void foldDeltas_UpsertsSummedDeltasIntoRollups() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("period")).thenReturn("HOUR");
+        when(rs.getTimestamp("bucket")).thenReturn(HOUR);
+        when(rs.getObject("product_id", Long.class)).thenReturn(null, null, 1L);
+        when(rs.getLong("revenue")).thenReturn(1000L, 500L, 1500L);
+        when(rs.getLong("order_count")).thenReturn(1L, 1L, 0L);
+        when(rs.getLong("items_sold")).thenReturn(2L, 1L, 3L);
+        int[] calls = {0};
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            // A full batch of two, then the last one, then nothing left.
+            int rows = calls[0]++ == 0 ? 2 : 1;
+            for (int i = 0; i < rows; i++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("DELETE FROM sales_rollup_delta"), any(RowCallbackHandler.class), eq(2));
+
+        salesRollupService.foldDeltas();
+
+        ArgumentCaptor<List<Object[]>> sales = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO sales_rollup "), sales.capture());
+        assertArrayEquals(new Object[]{"HOUR", HOUR, 1500L, 2L, 3L}, sales.getValue().get(0));
+        ArgumentCaptor<List<Object[]>> productSales = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO product_sales_rollup"), productSales.capture());
+        assertArrayEquals(new Object[]{"HOUR", HOUR, 1L, 1500L, 3L}, productSales.getValue().get(0));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should write only the difference when an order is replaced")
+    @SuppressWarnings("unchecked")
+    void onOrderEvent_WritesNetChangeOfReplacedOrder() {
+        Order order = order(item(1L, 2, 1000), item(2L, 1, 500));
+        OrderSnapshot previous = OrderSnapshot.of(order);
+        order.getItems().get(0).setQuantity(3);
+        order.getItems().get(0).calculateTotalPrice();
+        order.calculateTotalAmount();
+
+        salesRollupService.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, order, previous));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO sales_rollup_delta"), rows.capture());
+        assertArrayEquals(new Object[]{"HOUR", HOUR, null, 1000L, 0L, 1L}, rows.getValue().get(0));
+        List<Object[]> productRows = rows.getValue().stream().filter(row -> row[2] != null).toList();
+        assertEquals(2, productRows.size());
+        assertTrue(productRows.stream().allMatch(row -> row[2].equals(1L)));
+    }
+
+    @Test
+    @DisplayName("Should ignore status changes and reject empty ranges")
+    void onOrderEventAndFindSales_IgnoreStatusChangesAndRejectEmptyRanges() {
+        salesRollupService.onOrderEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, order(item(1L, 1, 1000))));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertThrows(BadRequestException.class, () -> salesRollupService.findSales(SalesPeriod.DAY, ORDER_DATE, ORDER_DATE));
+    }
+
+    private static Order order(OrderItem... items) {
+        Order order = new Order(1L, CUSTOMER, ADDRESS, new ArrayList<>(List.of(items)));
+        order.setOrderDate(ORDER_DATE);
+        order.calculateTotalAmount();
+        return order;
+    }
+
+    private static OrderItem item(Long productId, int quantity, long price) {
+        Product product = new Product(productId, "Product " + productId, "Product " + productId);
+        OrderItem item = new OrderItem(productId * 10, quantity, price);
+        item.setProduct(product);
+        item.calculateTotalPrice();
+        return item;
+    }
+}
@@ -0,0 +1,176 @@
+package com.sushi.api.services;
+
+import com.sushi.api.events.OrderEvent;
+import com.sushi.api.events.OrderEventType;
+import com.sushi.api.events.OrderSnapshot;
+import com.sushi.api.events.OrdersPurgedEvent;
+import com.sushi.api.exceptions.BadRequestException;
+import com.sushi.api.model.Order;
+import com.sushi.api.model.OrderItem;
+import com.sushi.api.model.Product;
+import com.sushi.api.model.dto.analytics.SalesWindow;
+import com.sushi.api.model.dto.analytics.TopProductDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sushi.api.common.CustomerConstants.ADDRESS;
+import static com.sushi.api.common.CustomerConstants.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopProductsServiceTest {
+    private static final Product ROLL = product(1L, "California Roll");
+    private static final Product TEMPURA = product(2L, "Tempura Shrimp");
+    private static final Product GYOZA = product(3L, "Gyoza");
+
+    private MutableClock clock;
+    private TopProductsService topProductsService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDateTime.of(2024, 5, 3, 19, 0).toInstant(ZoneOffset.UTC));
+        topProductsService = new TopProductsService(clock, new SimpleMeterRegistry(), 16);
+    }
+
+    @Test
+    @DisplayName("Should rank products by quantity sold, best first")
+    void findTopProducts_RanksByQuantity() {
+        place(item(ROLL, 2), item(TEMPURA, 1));
+        place(item(GYOZA, 4), item(ROLL, 1));
+
+        List<TopProductDTO> top = topProductsService.findTopProducts(SalesWindow.LAST_5_MINUTES, 2);
+
+        assertEquals(List.of(new TopProductDTO(3L, "Gyoza", 4), new TopProductDTO(1L, "California Roll", 3)), top);
+    }
+
+    @Test
+    @DisplayName("Should drop sales that slid out of a window but keep them for the day")
+    void findTopProducts_ForgetsSalesOutsideWindow() {
+        place(item(ROLL, 5));
+        clock.advance(Duration.ofMinutes(6));
+        place(item(TEMPURA, 1));
+
+        assertEquals(List.of(new TopProductDTO(2L, "Tempura Shrimp", 1)),
+                topProductsService.findTopProducts(SalesWindow.LAST_5_MINUTES, 10));
+        assertEquals(2, topProductsService.findTopProducts(SalesWindow.LAST_HOUR, 10).size());
+
+        clock.advance(Duration.ofMinutes(55));
+        assertEquals(List.of(new TopProductDTO(2L, "Tempura Shrimp", 1)),
+                topProductsService.findTopProducts(SalesWindow.LAST_HOUR, 10));
+        assertEquals(new TopProductDTO(1L, "California Roll", 5),
+                topProductsService.findTopProducts(SalesWindow.TODAY, 10).get(0));
+    }
+
+    @Test
+    @DisplayName("Should take deleted and purged orders back out of every window")
+    void onOrderEventAndOnOrdersPurged_RemoveOrders() {
+        Order deleted = place(item(ROLL, 2), item(TEMPURA, 1));
+        Order purged = place(item(ROLL, 3));
+        place(item(GYOZA, 1));
+        clock.advance(Duration.ofMinutes(2));
+
+        topProductsService.onOrderEvent(new OrderEvent(OrderEventType.DELETED, deleted));
+        topProductsService.onOrdersPurged(new OrdersPurgedEvent(List.of(2L), List.of(OrderSnapshot.of(purged))));
+
+        List<TopProductDTO> expected = List.of(new TopProductDTO(3L, "Gyoza", 1));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.LAST_5_MINUTES, 10));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.LAST_HOUR, 10));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.TODAY, 10));
+    }
+
+    @Test
+    @DisplayName("Should swap the previous lines of a replaced order for the new ones")
+    void onOrderEvent_WithUpdatedOrder_ReplacesLines() {
+        Order order = place(item(ROLL, 2), item(TEMPURA, 1));
+        OrderSnapshot previous = OrderSnapshot.of(order);
+        order.setItems(new ArrayList<>(List.of(item(ROLL, 1), item(GYOZA, 3))));
+        clock.advance(Duration.ofMinutes(2));
+
+        topProductsService.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, order, previous));
+
+        List<TopProductDTO> expected = List.of(new TopProductDTO(3L, "Gyoza", 3), new TopProductDTO(1L, "California Roll", 1));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.LAST_5_MINUTES, 10));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.TODAY, 10));
+    }
+
+    @Test
+    @DisplayName("Should leave counts alone when an order placed before the restart is changed or deleted")
+    void onOrderEvent_IgnoresOrdersPlacedBeforeStart() {
+        Order beforeStart = order(item(ROLL, 4));
+        OrderSnapshot previous = OrderSnapshot.of(beforeStart);
+        clock.advance(Duration.ofSeconds(30));
+        topProductsService = new TopProductsService(clock, new SimpleMeterRegistry(), 16);
+        place(item(ROLL, 1));
+
+        beforeStart.setItems(new ArrayList<>(List.of(item(ROLL, 1))));
+        topProductsService.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, beforeStart, previous));
+        topProductsService.onOrderEvent(new OrderEvent(OrderEventType.DELETED, beforeStart));
+
+        List<TopProductDTO> expected = List.of(new TopProductDTO(1L, "California Roll", 1));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.LAST_5_MINUTES, 10));
+        assertEquals(expected, topProductsService.findTopProducts(SalesWindow.TODAY, 10));
+    }
+
+    @Test
+    @DisplayName("Should count only created orders and reject invalid limits")
+    void onOrderEvent_IgnoresOtherEvents() {
+        topProductsService.onOrderEvent(new OrderEvent(OrderEventType.DELETED, order(item(ROLL, 1))));
+
+        assertTrue(topProductsService.findTopProducts(SalesWindow.TODAY, 10).isEmpty());
+        assertThrows(BadRequestException.class, () -> topProductsService.findTopProducts(SalesWindow.TODAY, 0));
+    }
+
+    private Order place(OrderItem... items) {
+        Order order = order(items);
+        topProductsService.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order));
+        return order;
+    }
+
+    private Order order(OrderItem... items) {
+        Order order = new Order(1L, CUSTOMER, ADDRESS, new ArrayList<>(List.of(items)));
+        order.setOrderDate(LocalDateTime.now(clock));
+        return order;
+    }
+
+    private static OrderItem item(Product product, int quantity) {
+        OrderItem item = new OrderItem(null, quantity, 999L);
+        item.setProduct(product);
+        return item;
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, name);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}